@@ -0,0 +1,37 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "target/jmh/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON);
+        if (commandLineOptions.getBenchModes().isEmpty()) {
+            options.mode(Mode.Throughput).mode(Mode.AverageTime);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            File resultFile = new File(System.getProperty("jmh.result.file", DEFAULT_RESULT_FILE));
+            resultFile.getAbsoluteFile().getParentFile().mkdirs();
+            options.result(resultFile.getPath());
+        }
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+import vs_fundos.challenge.util.Convert;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvertBenchmark {
+    private Convert convert;
+    private Order order;
+    private OrderDTO orderDTO;
+    private String orderJson;
+
+    @Setup
+    public void setUp() {
+        convert = new Convert(Jackson2ObjectMapperBuilder.json().build());
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 30, 15);
+        order = new Order();
+        order.setId(1L);
+        order.setOrderNumber("ORDER-123456");
+        order.setTotalValue(new BigDecimal("57.42"));
+        order.setStatus(OrderStatus.UNPROCESSED);
+        order.setNotificationType(NotificationType.EMAIL);
+        order.setOrderDateCreated(now);
+        order.setOrderDateUpdated(now);
+        orderDTO = OrderDTO.builder()
+                .orderNumber("ORDER-123456")
+                .totalValue(new BigDecimal("57.42"))
+                .status(OrderStatus.UNPROCESSED)
+                .notificationType(NotificationType.EMAIL)
+                .orderDateCreated(now)
+                .orderDateUpdated(now)
+                .build();
+        orderJson = convert.objectToJson(orderDTO);
+    }
+
+    @Benchmark
+    public OrderDTO orderModelToDTO() {
+        return convert.orderModelToDTO(order);
+    }
+
+    @Benchmark
+    public String objectToJson() {
+        return convert.objectToJson(orderDTO);
+    }
+
+    @Benchmark
+    public OrderDTO jsonToObject() {
+        return convert.jsonToObject(orderJson, OrderDTO.class);
+    }
+}
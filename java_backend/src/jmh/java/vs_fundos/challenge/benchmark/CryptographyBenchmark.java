@@ -0,0 +1,54 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.util.Cryptography;
+import vs_fundos.challenge.util.CryptographyKeyManager;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptographyBenchmark {
+    private static final String ORDER_NUMBER = "ORDER-6f1c2a7e-93d4-4b8e-a1f0-2c5d8e9b7a31";
+    private Cryptography cryptography;
+    private String encryptedOrderNumber;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        String key = Base64.getEncoder().encodeToString(new byte[32]);
+        cryptography = new Cryptography(new CryptographyKeyManager("bench:" + key, "bench"));
+        encryptedOrderNumber = cryptography.encrypt(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    public String legacyEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        KeyGenerator keyGen = KeyGenerator.getInstance("AES");
+        keyGen.init(128);
+        cipher.init(Cipher.ENCRYPT_MODE, keyGen.generateKey());
+        return Base64.getEncoder().encodeToString(cipher.doFinal(ORDER_NUMBER.getBytes()));
+    }
+
+    @Benchmark
+    public String encrypt() throws GeneralSecurityException {
+        return cryptography.encrypt(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String encryptContended() throws GeneralSecurityException {
+        return cryptography.encrypt(ORDER_NUMBER);
+    }
+
+    @Benchmark
+    public String decrypt() throws GeneralSecurityException {
+        return cryptography.decrypt(encryptedOrderNumber);
+    }
+}
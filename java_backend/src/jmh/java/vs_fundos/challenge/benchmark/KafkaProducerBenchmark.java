@@ -0,0 +1,122 @@
+package vs_fundos.challenge.benchmark;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Keyed OrderDTO sends per second against an embedded KRaft broker, with the producer settings from
+// application.properties (acks=all, idempotence) and the linger/compression under test. At most MAX_IN_FLIGHT
+// records are unacknowledged, so the send rate tracks the ack rate. wireBytes is the producer's outgoing-byte-total
+// over the iteration: divide it by messages for bytes per message on the wire.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaProducerBenchmark {
+    private static final String TOPIC = "bench_orders";
+    private static final int PARTITIONS = 6;
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final int DISTINCT_ORDERS = 100_000;
+    @Param({"none", "lz4", "zstd"})
+    private String compression;
+    @Param({"0", "10"})
+    private int lingerMs;
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, OrderDTO> producer;
+    private OrderDTO[] orders;
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Traffic {
+        public long messages;
+        public long wireBytes;
+        private double bytesAtStart;
+
+        @Setup(Level.Iteration)
+        public void start(KafkaProducerBenchmark benchmark) {
+            bytesAtStart = benchmark.outgoingBytes();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(KafkaProducerBenchmark benchmark) throws InterruptedException {
+            benchmark.awaitAcks();
+            wireBytes = (long) (benchmark.outgoingBytes() - bytesAtStart);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+        JsonSerializer<OrderDTO> serializer = new JsonSerializer<>(Jackson2ObjectMapperBuilder.json().build());
+        serializer.setAddTypeInfo(false);
+        producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+                ProducerConfig.BATCH_SIZE_CONFIG, 65536,
+                ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, compression),
+                new StringSerializer(), serializer);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 30, 15);
+        orders = new OrderDTO[DISTINCT_ORDERS];
+        for (int i = 0; i < DISTINCT_ORDERS; i++) {
+            orders[i] = OrderDTO.builder()
+                    .orderNumber(String.format("ORDER-%013d", i))
+                    .totalValue(BigDecimal.valueOf(1000 + i % 9000, 2))
+                    .status(OrderStatus.UNPROCESSED)
+                    .notificationType(i % 2 == 0 ? NotificationType.EMAIL : NotificationType.SMS)
+                    .orderDateCreated(now)
+                    .orderDateUpdated(now)
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public void send(Traffic traffic) throws InterruptedException {
+        OrderDTO order = orders[next++ % DISTINCT_ORDERS];
+        inFlight.acquire();
+        producer.send(new ProducerRecord<>(TOPIC, order.getOrderNumber(), order), (metadata, exception) -> inFlight.release());
+        traffic.messages++;
+    }
+
+    private void awaitAcks() throws InterruptedException {
+        producer.flush();
+        inFlight.acquire(MAX_IN_FLIGHT);
+        inFlight.release(MAX_IN_FLIGHT);
+    }
+
+    private double outgoingBytes() {
+        return producer.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals("outgoing-byte-total") && entry.getKey().group().equals("producer-metrics"))
+                .map(Map.Entry::getValue)
+                .mapToDouble(metric -> ((Number) ((Metric) metric).metricValue()).doubleValue())
+                .sum();
+    }
+}
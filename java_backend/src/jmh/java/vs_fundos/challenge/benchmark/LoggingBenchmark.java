@@ -0,0 +1,119 @@
+package vs_fundos.challenge.benchmark;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerContextSelector;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.AppenderComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.apache.logging.log4j.core.selector.ClassLoaderContextSelector;
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.util.LogSampler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Latency the log statements of one order add to its request and consumer threads (creation, Kafka ack, processing),
+// with the shipped setup (ASYNC: async loggers, buffered rolling file) against the previous synchronous File appender
+// (SYNC) and logging off (OFF). sampleRate is order.*.log.sample-rate: 1 writes every success line at INFO. Each fork
+// logs to a fresh temporary directory and skips the console; -t sets how many threads contend for the appender.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{DEFAULT} [%t] %-5level %logger{36} - %msg%n";
+    private static final String TOPIC = "first_topic";
+    private static final int DISTINCT_ORDERS = 1024;
+    // Logger names only: loading the classes would create their loggers before the configuration under test
+    private static final String SERVICE_LOGGER = "vs_fundos.challenge.service.impl.OrderServiceImpl";
+    private static final String PRODUCER_LOGGER = "vs_fundos.challenge.producer.impl.KafkaOrderProducerServiceImpl";
+    private static final String PROCESSING_LOGGER = "vs_fundos.challenge.service.impl.OrderProcessingServiceImpl";
+    @Param({"OFF", "SYNC", "ASYNC"})
+    private String logging;
+    @Param({"1", "100"})
+    private long sampleRate;
+    private final LogSampler created = new LogSampler();
+    private final LogSampler acknowledged = new LogSampler();
+    private final LogSampler processed = new LogSampler();
+    private Path logDir;
+    private LoggerContext context;
+    private Logger serviceLogger;
+    private Logger producerLogger;
+    private Logger processingLogger;
+    private String[] orderNumbers;
+
+    @State(Scope.Thread)
+    public static class Request {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("log4j2.contextSelector", "ASYNC".equals(logging)
+                ? AsyncLoggerContextSelector.class.getName()
+                : ClassLoaderContextSelector.class.getName());
+        logDir = Files.createTempDirectory("logging-benchmark");
+        context = Configurator.initialize(configuration());
+        serviceLogger = context.getLogger(SERVICE_LOGGER);
+        producerLogger = context.getLogger(PRODUCER_LOGGER);
+        processingLogger = context.getLogger(PROCESSING_LOGGER);
+        orderNumbers = new String[DISTINCT_ORDERS];
+        for (int i = 0; i < DISTINCT_ORDERS; i++) {
+            orderNumbers[i] = String.format("ORDER-%013d", i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Configurator.shutdown(context);
+        try (Stream<Path> files = Files.walk(logDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void order(Request request) {
+        int next = request.next++;
+        String orderNumber = orderNumbers[next & (DISTINCT_ORDERS - 1)];
+        serviceLogger.debug("Starting order creation: {}", orderNumber);
+        serviceLogger.log(created.next(sampleRate), "Order created successfully: {}", orderNumber);
+        producerLogger.log(acknowledged.next(sampleRate), "Message acknowledged by Kafka topic [{}], orderNumber={}, partition={}, offset={}",
+                TOPIC, orderNumber, next % 6, next);
+        processingLogger.debug("Starting order process: {}", orderNumber);
+        processingLogger.log(processed.next(sampleRate), "Order processed successfully: {}", orderNumber);
+    }
+
+    // Mirrors log4j2.xml (ASYNC) or its previous File appender (SYNC), without the console
+    // (log4j's Level is spelled out: Level here is JMH's)
+    private BuiltConfiguration configuration() {
+        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setStatusLevel(org.apache.logging.log4j.Level.WARN);
+        String fileName = logDir.resolve("app.log").toString();
+        AppenderComponentBuilder appender = "SYNC".equals(logging)
+                ? builder.newAppender("File", "File")
+                        .addAttribute("fileName", fileName)
+                : builder.newAppender("File", "RollingRandomAccessFile")
+                        .addAttribute("fileName", fileName)
+                        .addAttribute("filePattern", logDir.resolve("app-%i.log.gz").toString())
+                        .addAttribute("immediateFlush", false)
+                        .addAttribute("bufferSize", 262144)
+                        .addComponent(builder.newComponent("Policies")
+                                .addComponent(builder.newComponent("SizeBasedTriggeringPolicy").addAttribute("size", "100 MB")));
+        builder.add(appender.add(builder.newLayout("PatternLayout").addAttribute("pattern", PATTERN)));
+        org.apache.logging.log4j.Level level = "OFF".equals(logging) ? org.apache.logging.log4j.Level.OFF : org.apache.logging.log4j.Level.INFO;
+        builder.add(builder.newRootLogger(level).add(builder.newAppenderRef("File")));
+        return builder.build();
+    }
+}
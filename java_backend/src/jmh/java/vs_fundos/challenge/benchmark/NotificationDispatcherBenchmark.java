@@ -0,0 +1,51 @@
+package vs_fundos.challenge.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.metrics.OrderMetrics;
+import vs_fundos.challenge.service.notification.NotificationService;
+import vs_fundos.challenge.service.notification.impl.NotificationDispatcherServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationDispatcherBenchmark {
+    private static final String ORDER_NUMBER = "ORDER-123456";
+    private static final String MESSAGE = "Order " + ORDER_NUMBER + " processed";
+    @Param({"EMAIL", "SMS", "ALL"})
+    private NotificationType type;
+    private NotificationDispatcherServiceImpl dispatcher;
+
+    // The real strategies print to stdout; sinking into a Blackhole isolates the dispatch cost itself.
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        dispatcher = new NotificationDispatcherServiceImpl(List.of(
+                new BlackholeNotificationService(NotificationType.EMAIL, blackhole),
+                new BlackholeNotificationService(NotificationType.SMS, blackhole)),
+                new OrderMetrics(new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void dispatch() {
+        dispatcher.dispatch(type, ORDER_NUMBER, MESSAGE);
+    }
+
+    private record BlackholeNotificationService(NotificationType strategy, Blackhole blackhole) implements NotificationService {
+        @Override
+        public void send(String message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public NotificationType getStrategy() {
+            return strategy;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.generator.impl.SnowflakeOrderNumberGenerator;
+import vs_fundos.challenge.util.OrderFactory;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderFactoryBenchmark {
+    private final OrderFactory orderFactory = new OrderFactory(new SnowflakeOrderNumberGenerator("ORDER-", 1, Clock.systemUTC()));
+
+    @Benchmark
+    public OrderDTO createRandomOrder() {
+        return orderFactory.createRandomOrder();
+    }
+}
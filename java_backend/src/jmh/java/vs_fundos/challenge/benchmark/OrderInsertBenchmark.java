@@ -0,0 +1,123 @@
+package vs_fundos.challenge.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Inserts per second for IDENTITY keys vs the pooled "orders_seq" sequence, one order per transaction (createOrder)
+// and 50 per transaction (batch ingestion), with the application's JDBC batching settings.
+// Defaults to an in-process H2 TCP server, so every statement pays a loopback round trip like a real database would;
+// pass -jvmArgsAppend "-Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres" to measure PostgreSQL.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+    private static final int JDBC_BATCH_SIZE = 50;
+    @Param({"IDENTITY", "POOLED_SEQUENCE"})
+    private String idGeneration;
+    @Param({"1", "50"})
+    private int ordersPerTransaction;
+    private final AtomicLong sequence = new AtomicLong();
+    private Server h2Server;
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Inserts {
+        public long inserts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            h2Server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/mem:orders;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        }
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("bench.jdbc.user", url.startsWith("jdbc:h2") ? "sa" : "postgres"));
+        dataSource.setPassword(System.getProperty("bench.jdbc.password", url.startsWith("jdbc:h2") ? "" : "pass"));
+        if (url.startsWith("jdbc:postgresql")) {
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(IdentityOrder.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(JDBC_BATCH_SIZE))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from Order").executeUpdate();
+            session.createMutationQuery("delete from IdentityOrder").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+        if (h2Server != null) {
+            h2Server.stop();
+        }
+    }
+
+    @Benchmark
+    public void insert(Inserts inserts) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ordersPerTransaction; i++) {
+                session.persist("IDENTITY".equals(idGeneration) ? identityOrder() : order());
+            }
+            session.getTransaction().commit();
+        }
+        inserts.inserts += ordersPerTransaction;
+    }
+
+    private Order order() {
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order();
+        order.setOrderNumber("BENCH-" + sequence.incrementAndGet());
+        order.setTotalValue(BigDecimal.TEN);
+        order.setStatus(OrderStatus.UNPROCESSED);
+        order.setNotificationType(NotificationType.EMAIL);
+        order.setOrderDateCreated(now);
+        order.setOrderDateUpdated(now);
+        return order;
+    }
+
+    private IdentityOrder identityOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        IdentityOrder order = new IdentityOrder();
+        order.setOrderNumber("BENCH-" + sequence.incrementAndGet());
+        order.setTotalValue(BigDecimal.TEN);
+        order.setStatus(OrderStatus.UNPROCESSED);
+        order.setNotificationType(NotificationType.EMAIL);
+        order.setOrderDateCreated(now);
+        order.setOrderDateUpdated(now);
+        return order;
+    }
+}
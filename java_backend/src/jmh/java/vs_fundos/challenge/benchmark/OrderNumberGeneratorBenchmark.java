@@ -0,0 +1,33 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.generator.impl.SnowflakeOrderNumberGenerator;
+
+import java.time.Clock;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compare with -t 1 and -t <cores>: the contended case shows the cost of the CAS on the shared sequence.
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNumberGeneratorBenchmark {
+    private final SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator("ORDER-", 1, Clock.systemUTC());
+
+    @Benchmark
+    public String legacyRandomOrderNumber() {
+        return String.format("ORDER-%06d", new Random().nextInt(1000000));
+    }
+
+    @Benchmark
+    public String snowflakeOrderNumber() {
+        return generator.nextOrderNumber();
+    }
+
+    @Benchmark
+    public long snowflakeId() {
+        return generator.nextId();
+    }
+}
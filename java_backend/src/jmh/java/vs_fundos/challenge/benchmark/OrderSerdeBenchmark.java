@@ -0,0 +1,67 @@
+package vs_fundos.challenge.benchmark;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.serialization.OrderDTODeserializer;
+import vs_fundos.challenge.serialization.OrderDTOSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Kafka value serde cost per OrderDTO for each wire format, through the same serializer/deserializer the application
+// configures (JSON adds the __TypeId__ header like before). payloadBytes counts serialized bytes: in throughput mode,
+// payloadBytes / ops is the record value size.
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSerdeBenchmark {
+    private static final String TOPIC = "first_topic";
+    @Param({"JSON", "BINARY"})
+    private String wireFormat;
+    private OrderDTOSerializer serializer;
+    private OrderDTODeserializer deserializer;
+    private OrderDTO orderDTO;
+    private byte[] payload;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        serializer = new OrderDTOSerializer();
+        serializer.configure(Map.of(OrderDTOSerializer.WIRE_FORMAT_CONFIG, wireFormat), false);
+        deserializer = new OrderDTODeserializer();
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 30, 15);
+        orderDTO = OrderDTO.builder()
+                .orderNumber("ORDER-0C8N2R5W6XAZ4")
+                .totalValue(new BigDecimal("57.42"))
+                .status(OrderStatus.UNPROCESSED)
+                .notificationType(NotificationType.EMAIL)
+                .orderDateCreated(now)
+                .orderDateUpdated(now)
+                .build();
+        payload = serializer.serialize(TOPIC, new RecordHeaders(), orderDTO);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload counters) {
+        byte[] serialized = serializer.serialize(TOPIC, new RecordHeaders(), orderDTO);
+        counters.payloadBytes += serialized.length;
+        return serialized;
+    }
+
+    @Benchmark
+    public OrderDTO deserialize() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(), payload);
+    }
+}
@@ -0,0 +1,84 @@
+package vs_fundos.challenge.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+// A burst of requests that each wait on a bounded connection pool, run a short query, then wait on a remote call
+// (a Kafka ack). PLATFORM mirrors Tomcat's default 200 workers; VIRTUAL runs one virtual thread per request and
+// needs a JDK 21 build (-Pjmh,java21).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadingModelBenchmark {
+    private static final int PLATFORM_WORKERS = 200;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threads;
+
+    @Param({"200", "2000"})
+    public int concurrentRequests;
+
+    @Param({"20"})
+    public int poolSize;
+
+    @Param({"2"})
+    public long queryMillis;
+
+    @Param({"20"})
+    public long remoteMillis;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        executor = "VIRTUAL".equals(threads) ? virtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_WORKERS);
+        connections = new Semaphore(poolSize, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            executor.execute(() -> {
+                try {
+                    handleRequest();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return concurrentRequests;
+    }
+
+    private void handleRequest() throws InterruptedException {
+        connections.acquire();
+        try {
+            Thread.sleep(queryMillis);
+        } finally {
+            connections.release();
+        }
+        Thread.sleep(remoteMillis);
+    }
+
+    // Looked up reflectively so the benchmark sources still compile on the default JDK 17 build.
+    private static ExecutorService virtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("VIRTUAL threads need JDK 21, run with -Pjmh,java21", e);
+        }
+    }
+}
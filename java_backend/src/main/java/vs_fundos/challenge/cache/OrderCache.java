@@ -0,0 +1,11 @@
+package vs_fundos.challenge.cache;
+
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.function.Function;
+
+public interface OrderCache {
+    OrderDTO get(Long id, Function<Long, OrderDTO> loader);
+    void evict(Long id);
+    void evictByOrderNumber(String orderNumber);
+}
@@ -0,0 +1,72 @@
+package vs_fundos.challenge.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import vs_fundos.challenge.util.RecentKeySet;
+
+import java.time.Duration;
+
+// Orders this instance recently saw as PROCESSED: the consumer acks their redeliveries without touching the database,
+// and an update forgets the order so its next message reaches the database again
+@Component
+@RequiredArgsConstructor
+public class RecentlyProcessedOrders {
+    public static final String DEDUP = "order.consumer.dedup";
+    public static final String DEDUP_SIZE = "order.consumer.dedup.size";
+    public static final String DEDUP_MEMORY = "order.consumer.dedup.memory";
+    @Value("${kafka.consumer.dedup.enabled:true}")
+    private boolean enabled;
+    @Value("${kafka.consumer.dedup.capacity:200000}")
+    private int capacity = 200_000;
+    @Value("${kafka.consumer.dedup.window:10m}")
+    private Duration window = Duration.ofMinutes(10);
+    private static final int STRIPES = 16;
+    private final MeterRegistry meterRegistry;
+    private RecentKeySet orderNumbers;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        orderNumbers = new RecentKeySet(capacity, STRIPES, window.toMillis());
+        hits = Counter.builder(DEDUP).tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder(DEDUP).tag("result", "miss").register(meterRegistry);
+        Gauge.builder(DEDUP_SIZE, orderNumbers, RecentKeySet::size)
+                .description("Recently processed order numbers held by the consumer dedup set")
+                .register(meterRegistry);
+        Gauge.builder(DEDUP_MEMORY, orderNumbers, RecentKeySet::memoryBytes)
+                .description("Memory allocated by the consumer dedup set")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean contains(String orderNumber) {
+        if (orderNumbers == null || orderNumber == null) {
+            return false;
+        }
+        boolean hit = orderNumbers.contains(orderNumber);
+        (hit ? hits : misses).increment();
+        return hit;
+    }
+
+    public void add(String orderNumber) {
+        if (orderNumbers != null && orderNumber != null) {
+            orderNumbers.add(orderNumber);
+        }
+    }
+
+    // Only this instance's set is cleared; another instance may skip the order until its window passes
+    public void forget(String orderNumber) {
+        if (orderNumbers != null && orderNumber != null) {
+            orderNumbers.remove(orderNumber);
+        }
+    }
+}
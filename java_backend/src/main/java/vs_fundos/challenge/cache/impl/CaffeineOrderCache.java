@@ -0,0 +1,95 @@
+package vs_fundos.challenge.cache.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+public class CaffeineOrderCache implements OrderCache, MeterBinder {
+    public static final String CACHE_NAME = "orders";
+    private final Cache<Long, OrderDTO> cache;
+    private final ConcurrentMap<String, Long> idsByOrderNumber = new ConcurrentHashMap<>();
+
+    public CaffeineOrderCache(long maximumSize, Duration expireAfterWrite) {
+        this(maximumSize, expireAfterWrite, null);
+    }
+
+    public CaffeineOrderCache(long maximumSize, Duration expireAfterWrite, Executor executor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.cache = builder
+                .<Long, OrderDTO>removalListener((id, orderDTO, cause) -> {
+                    if (id != null && orderDTO != null && cause.wasEvicted()) {
+                        idsByOrderNumber.remove(orderDTO.getOrderNumber(), id);
+                    }
+                })
+                .build();
+    }
+
+    // Entries are copied on the way in and out: OrderResponseAdvice rewrites orderNumber on the returned DTO.
+    @Override
+    public OrderDTO get(Long id, Function<Long, OrderDTO> loader) {
+        OrderDTO cached = cache.get(id, key -> index(key, loader.apply(key)));
+        return cached == null ? null : copy(cached);
+    }
+
+    @Override
+    public void evict(Long id) {
+        OrderDTO removed = cache.asMap().remove(id);
+        if (removed != null) {
+            idsByOrderNumber.remove(removed.getOrderNumber(), id);
+        }
+    }
+
+    @Override
+    public void evictByOrderNumber(String orderNumber) {
+        Long id = idsByOrderNumber.remove(orderNumber);
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private OrderDTO index(Long id, OrderDTO orderDTO) {
+        if (orderDTO == null) {
+            return null;
+        }
+        OrderDTO snapshot = copy(orderDTO);
+        if (snapshot.getOrderNumber() != null) {
+            idsByOrderNumber.put(snapshot.getOrderNumber(), id);
+        }
+        return snapshot;
+    }
+
+    private static OrderDTO copy(OrderDTO orderDTO) {
+        return orderDTO.toBuilder().build();
+    }
+}
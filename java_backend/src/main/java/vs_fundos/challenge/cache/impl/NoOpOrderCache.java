@@ -0,0 +1,21 @@
+package vs_fundos.challenge.cache.impl;
+
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.function.Function;
+
+public class NoOpOrderCache implements OrderCache {
+    @Override
+    public OrderDTO get(Long id, Function<Long, OrderDTO> loader) {
+        return loader.apply(id);
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void evictByOrderNumber(String orderNumber) {
+    }
+}
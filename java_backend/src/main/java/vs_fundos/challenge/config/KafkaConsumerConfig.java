@@ -0,0 +1,83 @@
+package vs_fundos.challenge.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import vs_fundos.challenge.consumer.OrderParallelConsumerService;
+import vs_fundos.challenge.producer.OrderProcessedProducerService;
+
+import java.util.Collection;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            KafkaTemplate<Object, Object> kafkaTemplate,
+            @Value("${kafka.retry.attempts:4}") int attempts,
+            @Value("${kafka.retry.backoff.delay-ms:1000}") long delayMs,
+            @Value("${kafka.retry.backoff.multiplier:2.0}") double multiplier,
+            @Value("${kafka.retry.backoff.max-delay-ms:30000}") long maxDelayMs,
+            @Value("${kafka.retry.dlt-suffix:-dlt}") String dltSuffix,
+            ObjectProvider<OrderProcessedProducerService> orderProcessedProducer) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        // Batch listeners can't use retry topics: a failed batch is retried in place with the same backoff, then its
+        // records go to the same DLT the single-record listener uses
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(Math.max(0, attempts - 1));
+        backOff.setInitialInterval(delayMs);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxDelayMs);
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + dltSuffix, -1));
+        OrderProcessedProducerService processedProducer = orderProcessedProducer.getIfAvailable();
+        if (processedProducer == null) {
+            factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, backOff));
+            return factory;
+        }
+        // One Kafka transaction per poll: processed events and the consumed offsets commit together. A failed batch
+        // is rolled back, retried and recovered by the after-rollback processor instead of the error handler
+        factory.getContainerProperties().setKafkaAwareTransactionManager(processedProducer.transactionManager());
+        factory.setAfterRollbackProcessor(new DefaultAfterRollbackProcessor<>(recoverer, backOff));
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "kafka.consumer.parallel.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            ObjectProvider<OrderParallelConsumerService> parallelConsumer) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        // Workers acknowledge from their own threads once the low-water mark moves; the container commits on the next poll
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // Looked up lazily: the consumer's @KafkaListener resolves this factory while the consumer is still being created.
+        // Runs before the container commits on a rebalance, so records finished in time are committed by this owner
+        factory.getContainerProperties().setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                parallelConsumer.getObject().drainRevoked(partitions);
+            }
+        });
+        return factory;
+    }
+}
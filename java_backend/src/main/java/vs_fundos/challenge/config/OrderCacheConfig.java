@@ -0,0 +1,30 @@
+package vs_fundos.challenge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.cache.impl.CaffeineOrderCache;
+import vs_fundos.challenge.cache.impl.NoOpOrderCache;
+
+import java.time.Duration;
+
+@Configuration
+public class OrderCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CaffeineOrderCache caffeineOrderCache(
+            @Value("${order.cache.maximum-size:10000}") long maximumSize,
+            @Value("${order.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        return new CaffeineOrderCache(maximumSize, expireAfterWrite);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OrderCache.class)
+    public OrderCache noOpOrderCache() {
+        return new NoOpOrderCache();
+    }
+}
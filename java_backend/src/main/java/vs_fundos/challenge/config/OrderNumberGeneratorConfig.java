@@ -0,0 +1,29 @@
+package vs_fundos.challenge.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import vs_fundos.challenge.generator.OrderNumberGenerator;
+import vs_fundos.challenge.generator.impl.SnowflakeOrderNumberGenerator;
+
+import java.time.Clock;
+
+@Configuration
+public class OrderNumberGeneratorConfig {
+    private static final Logger logger = LogManager.getLogger(OrderNumberGeneratorConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean(OrderNumberGenerator.class)
+    public OrderNumberGenerator snowflakeOrderNumberGenerator(
+            @Value("${order.number.prefix:ORDER-}") String prefix,
+            @Value("${order.number.node-id:-1}") int nodeId) {
+        if (nodeId < 0) {
+            nodeId = SnowflakeOrderNumberGenerator.defaultNodeId();
+            logger.warn("order.number.node-id is not set, derived node id {} from the host name; set it explicitly when running several instances", nodeId);
+        }
+        return new SnowflakeOrderNumberGenerator(prefix, nodeId, Clock.systemUTC());
+    }
+}
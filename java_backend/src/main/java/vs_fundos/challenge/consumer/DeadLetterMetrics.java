@@ -0,0 +1,27 @@
+package vs_fundos.challenge.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Shared by every consumer mode and the DLT replay, so the counts add up whichever listener is active
+@Component
+public class DeadLetterMetrics {
+    public static final String DEAD_LETTERED = "order.consumer.dead.lettered";
+    public static final String DEAD_LETTER_REPLAYED = "order.consumer.dead.letter.replayed";
+    private final Counter deadLettered;
+    private final Counter deadLetterReplayed;
+
+    public DeadLetterMetrics(MeterRegistry meterRegistry) {
+        deadLettered = Counter.builder(DEAD_LETTERED).register(meterRegistry);
+        deadLetterReplayed = Counter.builder(DEAD_LETTER_REPLAYED).register(meterRegistry);
+    }
+
+    public void recordDeadLettered() {
+        deadLettered.increment();
+    }
+
+    public void recordDeadLettersReplayed(int count) {
+        deadLetterReplayed.increment(count);
+    }
+}
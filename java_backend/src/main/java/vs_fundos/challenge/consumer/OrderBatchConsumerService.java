@@ -0,0 +1,10 @@
+package vs_fundos.challenge.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.List;
+
+public interface OrderBatchConsumerService {
+    void listen(List<ConsumerRecord<String, OrderDTO>> records);
+}
@@ -3,5 +3,5 @@ package vs_fundos.challenge.consumer;
 import vs_fundos.challenge.dto.OrderDTO;
 
 public interface OrderConsumerService {
-    void listen(OrderDTO orderDTO);
+    void listen(OrderDTO orderDTO, long timestamp);
 }
@@ -0,0 +1,14 @@
+package vs_fundos.challenge.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.Collection;
+
+public interface OrderParallelConsumerService {
+    void listen(ConsumerRecord<String, OrderDTO> record, Acknowledgment acknowledgment) throws InterruptedException;
+
+    void drainRevoked(Collection<TopicPartition> partitions);
+}
@@ -0,0 +1,98 @@
+package vs_fundos.challenge.consumer.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Service;
+import vs_fundos.challenge.consumer.DeadLetterMetrics;
+import vs_fundos.challenge.consumer.OrderBatchConsumerService;
+import vs_fundos.challenge.dto.OrderBatchOutcome;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.KafkaProcessingException;
+import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
+import vs_fundos.challenge.producer.OrderProcessedProducerService;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression("${kafka.consumer.batch.enabled:false} and !${kafka.consumer.parallel.enabled:false}")
+public class KafkaOrderBatchConsumerServiceImpl implements OrderBatchConsumerService {
+    private final Logger logger = LogManager.getLogger(KafkaOrderBatchConsumerServiceImpl.class);
+    @Value("${kafka.retry.dlt-suffix:-dlt}")
+    private String dltSuffix;
+    private final OrderConsumerHandler orderConsumerHandler;
+    private final OrderMetrics orderMetrics;
+    private final DeadLetterMetrics deadLetterMetrics;
+    private final ObjectProvider<OrderProcessedProducerService> orderProcessedProducer;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @PostConstruct
+    public void start() {
+        deadLetterRecoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + dltSuffix, -1));
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.name}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${kafka.consumer.concurrency}",
+            properties = "max.poll.records=${kafka.consumer.batch.size}"
+    )
+    public void listen(List<ConsumerRecord<String, OrderDTO>> records) {
+        logger.info("Listened batch of {} orders for handle", records.size());
+        List<OrderDTO> orders = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, OrderDTO> record : records) {
+            orderMetrics.recordConsumerLag(record.timestamp());
+            orders.add(record.value());
+        }
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            OrderBatchOutcome outcome = orderConsumerHandler.handleBatch(orders);
+            deadLetter(records, outcome.rejected());
+            // Inside the poll's Kafka transaction when processed events are enabled, committed with the offsets
+            OrderProcessedProducerService processedProducer = orderProcessedProducer.getIfAvailable();
+            if (processedProducer != null && !outcome.processed().isEmpty()) {
+                processedProducer.publishProcessed(outcome.processed());
+            }
+            succeeded = true;
+        } finally {
+            orderMetrics.recordConsumerProcess(start, succeeded);
+        }
+    }
+
+    // Rejected records skip the error handler's retries, like business failures in single-record mode. A failed publish
+    // fails the whole batch, which is then retried and recovered by the container
+    private void deadLetter(List<ConsumerRecord<String, OrderDTO>> records, List<OrderBatchOutcome.Rejected> rejected) {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        Map<OrderDTO, KafkaProcessingException> failures = new IdentityHashMap<>(rejected.size());
+        for (OrderBatchOutcome.Rejected rejection : rejected) {
+            failures.put(rejection.order(), rejection.failure());
+        }
+        for (ConsumerRecord<String, OrderDTO> record : records) {
+            KafkaProcessingException failure = failures.get(record.value());
+            if (failure != null) {
+                deadLetterRecoverer.accept(record, failure);
+                logger.error("Order {} moved to dead-letter topic {}{}", record.value().getOrderNumber(), record.topic(), dltSuffix);
+                deadLetterMetrics.recordDeadLettered();
+            }
+        }
+    }
+}
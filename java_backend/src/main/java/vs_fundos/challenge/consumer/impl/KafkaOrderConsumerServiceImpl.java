@@ -3,21 +3,64 @@ package vs_fundos.challenge.consumer.impl;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
+import vs_fundos.challenge.consumer.DeadLetterMetrics;
 import vs_fundos.challenge.consumer.OrderConsumerService;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.OrderAlreadyProcessedException;
+import vs_fundos.challenge.exception.OrderNotFoundException;
 import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnExpression("!${kafka.consumer.batch.enabled:false} and !${kafka.consumer.parallel.enabled:false}")
 public class KafkaOrderConsumerServiceImpl implements OrderConsumerService {
     private final Logger logger = LogManager.getLogger(KafkaOrderConsumerServiceImpl.class);
     private final OrderConsumerHandler orderConsumerHandler;
+    private final OrderMetrics orderMetrics;
+    private final DeadLetterMetrics deadLetterMetrics;
 
+    // Failed records move to <topic>-retry-N with exponential backoff, off the main partition, and end in <topic>-dlt.
+    // Business failures are not retryable and skip straight to the DLT.
+    @RetryableTopic(
+            kafkaTemplate = "kafkaTemplate",
+            attempts = "${kafka.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.retry.backoff.delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.backoff.multiplier:2.0}",
+                    maxDelayExpression = "${kafka.retry.backoff.max-delay-ms:30000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltTopicSuffix = "${kafka.retry.dlt-suffix:-dlt}",
+            exclude = {OrderNotFoundException.class, OrderAlreadyProcessedException.class},
+            traversingCauses = "true",
+            autoCreateTopics = "${kafka.retry.auto-create-topics:true}"
+    )
     @KafkaListener(topics = "${kafka.topic.name}")
-    public void listen(OrderDTO orderDTO) {
+    public void listen(OrderDTO orderDTO, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
         logger.info("Listened order number for handle: {}", orderDTO.getOrderNumber());
-        orderConsumerHandler.handleMessage(orderDTO);
+        orderMetrics.recordConsumerLag(timestamp);
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            orderConsumerHandler.handleMessage(orderDTO);
+            succeeded = true;
+        } finally {
+            orderMetrics.recordConsumerProcess(start, succeeded);
+        }
     }
-}
\ No newline at end of file
+
+    @DltHandler
+    public void handleDeadLetter(OrderDTO orderDTO, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        logger.error("Order {} moved to dead-letter topic {}", orderDTO.getOrderNumber(), topic);
+        deadLetterMetrics.recordDeadLettered();
+    }
+}
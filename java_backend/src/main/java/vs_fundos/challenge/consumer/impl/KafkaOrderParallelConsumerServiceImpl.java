@@ -0,0 +1,211 @@
+package vs_fundos.challenge.consumer.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+import vs_fundos.challenge.consumer.DeadLetterMetrics;
+import vs_fundos.challenge.consumer.OrderParallelConsumerService;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.OrderAlreadyProcessedException;
+import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
+
+import java.util.Collection;
+
+// Fans each partition's records out to key-ordered worker lanes, so processing scales past the partition count while
+// records of the same order still run one at a time, in offset order. Offsets are committed up to the contiguous
+// low-water mark only; a crash redelivers everything above it, never skips a record.
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.parallel.enabled", havingValue = "true")
+public class KafkaOrderParallelConsumerServiceImpl implements OrderParallelConsumerService {
+    public static final String IN_FLIGHT = "order.consumer.parallel.in.flight";
+    public static final String UNCOMMITTED = "order.consumer.parallel.uncommitted";
+    public static final String LANE_DEPTH = "order.consumer.parallel.lane.depth";
+    private final Logger logger = LogManager.getLogger(KafkaOrderParallelConsumerServiceImpl.class);
+    @Value("${kafka.consumer.parallel.workers:16}")
+    private int workers;
+    @Value("${kafka.consumer.parallel.lane-capacity:500}")
+    private int laneCapacity;
+    @Value("${kafka.consumer.parallel.max-uncommitted:10000}")
+    private int maxUncommitted;
+    @Value("${kafka.consumer.parallel.revoke-timeout-ms:10000}")
+    private long revokeTimeoutMs;
+    @Value("${kafka.retry.attempts:4}")
+    private int attempts;
+    @Value("${kafka.retry.backoff.delay-ms:1000}")
+    private long delayMs;
+    @Value("${kafka.retry.backoff.multiplier:2.0}")
+    private double multiplier;
+    @Value("${kafka.retry.backoff.max-delay-ms:30000}")
+    private long maxDelayMs;
+    @Value("${kafka.retry.dlt-suffix:-dlt}")
+    private String dltSuffix;
+    private final OrderConsumerHandler orderConsumerHandler;
+    private final OrderMetrics orderMetrics;
+    private final DeadLetterMetrics deadLetterMetrics;
+    private final MeterRegistry meterRegistry;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private KeyOrderedWorkerPool workerPool;
+    private PartitionOffsetTracker offsetTracker;
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        offsetTracker = new PartitionOffsetTracker(maxUncommitted);
+        workerPool = new KeyOrderedWorkerPool("order-consumer", workers, laneCapacity);
+        deadLetterRecoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + dltSuffix, -1));
+        bindGauges();
+        running = true;
+        workerPool.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workerPool.shutdown(revokeTimeoutMs);
+    }
+
+    @Override
+    @KafkaListener(
+            topics = "${kafka.topic.name}",
+            containerFactory = "parallelKafkaListenerContainerFactory",
+            concurrency = "${kafka.consumer.concurrency}"
+    )
+    public void listen(ConsumerRecord<String, OrderDTO> record, Acknowledgment acknowledgment) throws InterruptedException {
+        orderMetrics.recordConsumerLag(record.timestamp());
+        if (record.value() == null) {
+            // Never tracked, so it cannot hold back the low-water mark; the next completed record commits past it
+            logger.warn("Skipping record without an order value at {}-{} offset {}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        String key = record.key() != null ? record.key() : record.value().getOrderNumber();
+        offsetTracker.track(partition, record.offset(), acknowledgment);
+        try {
+            workerPool.submit(key, () -> process(partition, record));
+        } catch (InterruptedException | RuntimeException e) {
+            // Not queued (shut down or interrupted): without this the offset would pin the partition's mark for good
+            offsetTracker.untrack(partition, record.offset());
+            throw e;
+        }
+    }
+
+    @Override
+    public void drainRevoked(Collection<TopicPartition> partitions) {
+        try {
+            if (!offsetTracker.awaitCompletion(partitions, revokeTimeoutMs)) {
+                logger.warn("Revoked partitions {} still had records in flight after {} ms, they will be redelivered to the new owner", partitions, revokeTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        offsetTracker.forget(partitions);
+    }
+
+    private void process(TopicPartition partition, ConsumerRecord<String, OrderDTO> record) {
+        if (!offsetTracker.isTracked(partition, record.offset())) {
+            // Partition revoked while the record was queued; the new owner reads it again from the committed offset
+            return;
+        }
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            handle(record.value());
+            succeeded = true;
+        } catch (RuntimeException e) {
+            if (!deadLetter(record, e)) {
+                return;
+            }
+        } finally {
+            orderMetrics.recordConsumerProcess(start, succeeded);
+        }
+        Acknowledgment committable = offsetTracker.complete(partition, record.offset());
+        if (committable != null) {
+            committable.acknowledge();
+        }
+    }
+
+    // Retried in place on the worker: a retry topic would let a later update of the same order overtake this one
+    private void handle(OrderDTO orderDTO) {
+        long backoffMs = delayMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                orderConsumerHandler.handleMessage(orderDTO);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts || isBusinessFailure(e) || !running) {
+                    throw e;
+                }
+                logger.warn("Failed to process order {} (attempt {}/{}), retrying in {} ms. Error: {}", orderDTO.getOrderNumber(), attempt, attempts, backoffMs, e.getMessage());
+                if (!sleep(backoffMs)) {
+                    throw e;
+                }
+                backoffMs = Math.min(maxDelayMs, (long) (backoffMs * multiplier));
+            }
+        }
+    }
+
+    // The offset may only move past the record once it is safely on the DLT, so publishing is retried until shutdown
+    private boolean deadLetter(ConsumerRecord<String, OrderDTO> record, RuntimeException failure) {
+        while (true) {
+            try {
+                deadLetterRecoverer.accept(record, failure);
+                logger.error("Order {} moved to dead-letter topic {}{}", record.value().getOrderNumber(), record.topic(), dltSuffix);
+                deadLetterMetrics.recordDeadLettered();
+                return true;
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish order {} to the dead-letter topic. Error: {}", record.value().getOrderNumber(), e.getMessage(), e);
+                if (!running || !sleep(maxDelayMs)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void bindGauges() {
+        Gauge.builder(IN_FLIGHT, offsetTracker, PartitionOffsetTracker::running)
+                .description("Records handed to a worker lane and not yet processed")
+                .register(meterRegistry);
+        Gauge.builder(UNCOMMITTED, offsetTracker, PartitionOffsetTracker::uncommitted)
+                .description("Records received and not yet committed, waiting on themselves or a lower offset")
+                .register(meterRegistry);
+        for (int lane = 0; lane < workerPool.laneCount(); lane++) {
+            int index = lane;
+            Gauge.builder(LANE_DEPTH, workerPool, pool -> pool.depth(index))
+                    .description("Records queued on a worker lane")
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+    }
+
+    private static boolean isBusinessFailure(RuntimeException e) {
+        return e.getCause() instanceof OrderNotFoundException || e.getCause() instanceof OrderAlreadyProcessedException;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
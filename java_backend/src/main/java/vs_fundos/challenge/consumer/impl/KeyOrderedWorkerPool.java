@@ -0,0 +1,91 @@
+package vs_fundos.challenge.consumer.impl;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Fixed lanes, one worker thread and one bounded FIFO queue each. A key always maps to the same lane, so tasks for the
+// same key run one at a time in submission order while different keys run in parallel across lanes.
+public class KeyOrderedWorkerPool {
+    private static final long IDLE_POLL_MS = 100;
+    private static final Logger logger = LogManager.getLogger(KeyOrderedWorkerPool.class);
+    private final List<BlockingQueue<Runnable>> lanes;
+    private final List<Thread> workers;
+    private volatile boolean running = true;
+
+    public KeyOrderedWorkerPool(String name, int laneCount, int laneCapacity) {
+        this.lanes = new ArrayList<>(laneCount);
+        this.workers = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(laneCapacity);
+            Thread worker = new Thread(() -> run(queue), name + "-" + lane);
+            worker.setDaemon(true);
+            lanes.add(queue);
+            workers.add(worker);
+        }
+    }
+
+    public void start() {
+        workers.forEach(Thread::start);
+    }
+
+    // Blocks while the key's lane is full
+    public void submit(String key, Runnable task) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("Worker pool is shut down");
+        }
+        lanes.get(lane(key)).put(task);
+    }
+
+    public int lane(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+    }
+
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    public int depth(int lane) {
+        return lanes.get(lane).size();
+    }
+
+    public void shutdown(long timeoutMs) {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int undrained = lanes.stream().mapToInt(BlockingQueue::size).sum();
+        if (undrained > 0) {
+            logger.warn("Worker pool stopped with {} queued tasks, their records are redelivered after restart", undrained);
+        }
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void run(BlockingQueue<Runnable> queue) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable task = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in worker {}: {}", Thread.currentThread().getName(), e.getMessage(), e);
+            }
+        }
+    }
+}
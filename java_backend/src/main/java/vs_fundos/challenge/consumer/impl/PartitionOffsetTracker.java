@@ -0,0 +1,132 @@
+package vs_fundos.challenge.consumer.impl;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Records of a partition complete out of order once they fan out to workers. complete() only hands back an
+// acknowledgment when the partition's contiguous low-water mark moves, i.e. for the highest completed record below the
+// lowest one still running, so a commit never skips an unfinished record. At most maxUncommitted records are tracked:
+// track() blocks the consumer thread until the mark catches up.
+public class PartitionOffsetTracker {
+    private static final long AWAIT_POLL_MS = 10;
+    private final Map<TopicPartition, Offsets> partitions = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+
+    public PartitionOffsetTracker(int maxUncommitted) {
+        this.permits = new Semaphore(maxUncommitted);
+    }
+
+    public void track(TopicPartition partition, long offset, Acknowledgment acknowledgment) throws InterruptedException {
+        permits.acquire();
+        partitions.computeIfAbsent(partition, key -> new Offsets()).track(offset, acknowledgment);
+    }
+
+    public boolean isTracked(TopicPartition partition, long offset) {
+        Offsets offsets = partitions.get(partition);
+        return offsets != null && offsets.isRunning(offset);
+    }
+
+    public Acknowledgment complete(TopicPartition partition, long offset) {
+        Offsets offsets = partitions.get(partition);
+        if (offsets == null) {
+            return null;
+        }
+        NavigableMap<Long, Acknowledgment> committable = offsets.complete(offset);
+        if (committable.isEmpty()) {
+            return null;
+        }
+        permits.release(committable.size());
+        return committable.lastEntry().getValue();
+    }
+
+    // For a record that was tracked but never handed to a worker: it stops holding back the mark and its capacity is
+    // released. The listener rethrows, so the container seeks back and the record is tracked again when redelivered
+    public void untrack(TopicPartition partition, long offset) {
+        Offsets offsets = partitions.get(partition);
+        if (offsets != null && offsets.untrack(offset)) {
+            permits.release();
+        }
+    }
+
+    public boolean awaitCompletion(Collection<TopicPartition> revoked, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (running(revoked) > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(AWAIT_POLL_MS);
+        }
+        return true;
+    }
+
+    public void forget(Collection<TopicPartition> revoked) {
+        for (TopicPartition partition : revoked) {
+            Offsets offsets = partitions.remove(partition);
+            if (offsets != null) {
+                permits.release(offsets.uncommitted());
+            }
+        }
+    }
+
+    public int running() {
+        return running(partitions.keySet());
+    }
+
+    public int uncommitted() {
+        return partitions.values().stream().mapToInt(Offsets::uncommitted).sum();
+    }
+
+    private int running(Collection<TopicPartition> selected) {
+        int running = 0;
+        for (TopicPartition partition : selected) {
+            Offsets offsets = partitions.get(partition);
+            running += offsets == null ? 0 : offsets.running();
+        }
+        return running;
+    }
+
+    private static final class Offsets {
+        private final TreeMap<Long, Acknowledgment> running = new TreeMap<>();
+        private final TreeMap<Long, Acknowledgment> completed = new TreeMap<>();
+
+        private synchronized void track(long offset, Acknowledgment acknowledgment) {
+            running.put(offset, acknowledgment);
+        }
+
+        private synchronized boolean isRunning(long offset) {
+            return running.containsKey(offset);
+        }
+
+        private synchronized NavigableMap<Long, Acknowledgment> complete(long offset) {
+            Acknowledgment acknowledgment = running.remove(offset);
+            if (acknowledgment == null) {
+                return new TreeMap<>();
+            }
+            completed.put(offset, acknowledgment);
+            NavigableMap<Long, Acknowledgment> belowMark = running.isEmpty() ? completed : completed.headMap(running.firstKey(), false);
+            NavigableMap<Long, Acknowledgment> committable = new TreeMap<>(belowMark);
+            belowMark.clear();
+            return committable;
+        }
+
+        private synchronized boolean untrack(long offset) {
+            return running.remove(offset) != null;
+        }
+
+        private synchronized int running() {
+            return running.size();
+        }
+
+        private synchronized int uncommitted() {
+            return running.size() + completed.size();
+        }
+    }
+}
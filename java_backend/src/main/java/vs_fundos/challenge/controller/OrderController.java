@@ -1,21 +1,52 @@
 package vs_fundos.challenge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+import vs_fundos.challenge.dto.IdempotentResult;
+import vs_fundos.challenge.dto.OrderBatchResultDTO;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderExportFormat;
+import vs_fundos.challenge.enums.OrderSortField;
 import org.springframework.http.HttpStatus;
+import vs_fundos.challenge.service.DeadLetterReplayService;
+import vs_fundos.challenge.service.IdempotencyService;
+import vs_fundos.challenge.service.OrderBatchService;
+import vs_fundos.challenge.service.OrderExportService;
 import vs_fundos.challenge.service.OrderService;
+import vs_fundos.challenge.util.OrderFilters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/order")
 @RequiredArgsConstructor
 public class OrderController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderExportService orderExportService;
+    private final IdempotencyService idempotencyService;
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get order by id.")
@@ -32,27 +63,106 @@ public class OrderController {
         return new ResponseEntity<>(orderDTO, HttpStatus.OK);
     }
 
+    @GetMapping
+    @Operation(summary = "List orders with cursor (keyset) pagination and filters.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of orders; pass nextCursor back to fetch the following page"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<OrderPageDTO> listOrders(
+            @ParameterObject OrderFilterDTO filter,
+            @Parameter(description = "Sort key; ties are broken by id")
+            @RequestParam(defaultValue = "ID") OrderSortField sort,
+            @Parameter(description = "Sort direction")
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "nextCursor from the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by order.listing.max-page-size")
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        OrderPageDTO page = orderService.listOrders(filter, sort, direction, cursor, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream every matching order as NDJSON or CSV, optionally gzipped.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed as an attachment"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public void exportOrders(
+            @ParameterObject OrderFilterDTO filter,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+            @Parameter(description = "Gzip the export")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        // Rejected before the attachment headers are set, so the error can still be rendered as JSON.
+        OrderFilters.validate(filter);
+        String filename = "orders-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        orderExportService.export(filter, format, gzip, response.getOutputStream());
+    }
+
     @PostMapping("/")
     @Operation(summary = "Create a new order.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "201", description = "Order created successfully, or replayed for a repeated Idempotency-Key"),
+            @ApiResponse(responseCode = "400", description = "Invalid request payload or Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<OrderDTO> createOrder(
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody OrderDTO orderDTO
+    ) {
+        return created(idempotencyService.execute(idempotencyKey, "POST /order/", orderDTO, OrderDTO.class,
+                () -> orderService.createOrder(orderDTO)));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create orders in batch from a JSON array.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All orders created successfully"),
+            @ApiResponse(responseCode = "207", description = "Some orders failed, see the per-item results"),
             @ApiResponse(responseCode = "400", description = "Invalid request payload"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<OrderDTO> createOrder(@RequestBody OrderDTO orderDTO) {
-        OrderDTO createdOrder  = orderService.createOrder(orderDTO);
-        return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+    public ResponseEntity<OrderBatchResultDTO> createOrders(@RequestBody List<OrderDTO> orders) {
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders.iterator());
+        return new ResponseEntity<>(result, batchStatus(result));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create orders in batch from an NDJSON stream.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All orders created successfully"),
+            @ApiResponse(responseCode = "207", description = "Some orders failed, see the per-item results"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<OrderBatchResultDTO> createOrdersStream(InputStream body) throws IOException {
+        OrderBatchResultDTO result = orderBatchService.createOrders(objectMapper.readerFor(OrderDTO.class).readValues(body));
+        return new ResponseEntity<>(result, batchStatus(result));
     }
 
     @PostMapping("/random")
     @Operation(summary = "Create a new random order.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "201", description = "Order created successfully, or replayed for a repeated Idempotency-Key"),
+            @ApiResponse(responseCode = "400", description = "Invalid Idempotency-Key"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<OrderDTO> createRandomOrder() {
-        OrderDTO createdOrder  = orderService.createRandomOrder();
-        return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+    public ResponseEntity<OrderDTO> createRandomOrder(
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return created(idempotencyService.execute(idempotencyKey, "POST /order/random", null, OrderDTO.class,
+                orderService::createRandomOrder));
     }
 
     @PutMapping("/{id}")
@@ -71,4 +181,30 @@ public class OrderController {
         OrderDTO orderDTO = orderService.updateById(id, orderDetails);
         return new ResponseEntity<>(orderDTO, HttpStatus.OK);
     }
+
+    @PostMapping("/dead-letters/replay")
+    @Operation(summary = "Re-send a batch of dead-lettered orders to the order topic.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch replayed; call again while remaining is above zero"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<DeadLetterReplayResultDTO> replayDeadLetters(
+            @Parameter(description = "Maximum records to replay, capped by kafka.dlt.replay.max-batch-size")
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return new ResponseEntity<>(deadLetterReplayService.replay(limit), HttpStatus.OK);
+    }
+
+    private static ResponseEntity<OrderDTO> created(IdempotentResult<OrderDTO> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(result.body());
+    }
+
+    private static HttpStatus batchStatus(OrderBatchResultDTO result) {
+        return result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    }
 }
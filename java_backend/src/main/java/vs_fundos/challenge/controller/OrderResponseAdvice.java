@@ -11,6 +11,7 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
 import vs_fundos.challenge.exception.ResponseEncryptionException;
 import vs_fundos.challenge.util.Cryptography;
 
@@ -23,26 +24,33 @@ public class OrderResponseAdvice implements ResponseBodyAdvice<Object> {
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
         Class<?> bodyType = getBodyType(returnType);
-        return bodyType.equals(OrderDTO.class);
+        return OrderDTO.class.equals(bodyType) || OrderPageDTO.class.equals(bodyType);
     }
 
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
         if (body instanceof OrderDTO orderDTO) {
-            String originalOrderNumber = orderDTO.getOrderNumber();
-            String encryptedOrderNumber = null;
-            try {
-                encryptedOrderNumber = cryptography.encrypt(originalOrderNumber);
-            } catch (Exception e) {
-                String errorMessage = "Failed to encrypt the order number: " + originalOrderNumber;
-                throw new ResponseEncryptionException(errorMessage, e);
-            }
-            orderDTO.setOrderNumber(encryptedOrderNumber);
-            return orderDTO;
+            return encryptOrderNumber(orderDTO);
+        }
+        if (body instanceof OrderPageDTO page && page.getItems() != null) {
+            page.getItems().forEach(this::encryptOrderNumber);
         }
         return body;
     }
 
+    private OrderDTO encryptOrderNumber(OrderDTO orderDTO) {
+        String originalOrderNumber = orderDTO.getOrderNumber();
+        String encryptedOrderNumber = null;
+        try {
+            encryptedOrderNumber = cryptography.encrypt(originalOrderNumber);
+        } catch (Exception e) {
+            String errorMessage = "Failed to encrypt the order number: " + originalOrderNumber;
+            throw new ResponseEncryptionException(errorMessage, e);
+        }
+        orderDTO.setOrderNumber(encryptedOrderNumber);
+        return orderDTO;
+    }
+
     private Class<?> getBodyType(MethodParameter returnType) {
         if (ResponseEntity.class.isAssignableFrom(returnType.getParameterType())) {
             return ResolvableType.forMethodParameter(returnType).getGeneric(0).resolve();
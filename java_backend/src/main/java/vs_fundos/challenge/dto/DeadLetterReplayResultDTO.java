@@ -0,0 +1,19 @@
+package vs_fundos.challenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResultDTO {
+    private String topic;
+    private int replayed;
+    private int failed;
+    // Records that are not orders: moved past and logged, never re-sent
+    private int skipped;
+    private long remaining;
+}
@@ -0,0 +1,4 @@
+package vs_fundos.challenge.dto;
+
+public record IdempotentResult<T>(T body, boolean replayed) {
+}
@@ -0,0 +1,17 @@
+package vs_fundos.challenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchItemResultDTO {
+    private int index;
+    private String orderNumber;
+    private boolean success;
+    private String error;
+}
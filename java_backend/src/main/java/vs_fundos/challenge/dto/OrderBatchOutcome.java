@@ -0,0 +1,12 @@
+package vs_fundos.challenge.dto;
+
+import vs_fundos.challenge.exception.KafkaProcessingException;
+
+import java.util.List;
+
+// processed: orders of the batch that are PROCESSED, each once. rejected: records that failed a business rule and go
+// to the DLT, as they would in single-record mode
+public record OrderBatchOutcome(List<OrderDTO> processed, List<Rejected> rejected) {
+    public record Rejected(OrderDTO order, KafkaProcessingException failure) {
+    }
+}
@@ -0,0 +1,38 @@
+package vs_fundos.challenge.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilterDTO {
+    private OrderStatus status;
+    private NotificationType notificationType;
+    @Parameter(description = "Created at or after (ISO date-time, inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @Parameter(description = "Created before (ISO date-time, exclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @Parameter(description = "Updated at or after (ISO date-time, inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @Parameter(description = "Updated before (ISO date-time, exclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+    @Parameter(description = "Minimum total value (inclusive)")
+    private BigDecimal minTotalValue;
+    @Parameter(description = "Maximum total value (inclusive)")
+    private BigDecimal maxTotalValue;
+}
@@ -0,0 +1,8 @@
+package vs_fundos.challenge.enums;
+
+public enum NotificationOverflowPolicy {
+    BLOCK,
+    DROP_NEWEST,
+    DROP_OLDEST,
+    CALLER_RUNS
+}
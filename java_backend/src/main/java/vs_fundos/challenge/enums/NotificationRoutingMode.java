@@ -0,0 +1,6 @@
+package vs_fundos.challenge.enums;
+
+public enum NotificationRoutingMode {
+    FAILOVER,
+    FAN_OUT
+}
@@ -0,0 +1,6 @@
+package vs_fundos.challenge.enums;
+
+public enum OrderBusinessFailurePolicy {
+    DEAD_LETTER,
+    DROP
+}
@@ -0,0 +1,6 @@
+package vs_fundos.challenge.enums;
+
+public enum OrderEventOverflowPolicy {
+    CALLER_RUNS,
+    SPILL_TO_DISK
+}
@@ -0,0 +1,15 @@
+package vs_fundos.challenge.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderSortField {
+    ID("id"),
+    ORDER_DATE_CREATED("orderDateCreated"),
+    ORDER_DATE_UPDATED("orderDateUpdated"),
+    TOTAL_VALUE("totalValue");
+
+    private final String attribute;
+}
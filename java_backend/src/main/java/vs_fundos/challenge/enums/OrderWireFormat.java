@@ -0,0 +1,6 @@
+package vs_fundos.challenge.enums;
+
+public enum OrderWireFormat {
+    JSON,
+    BINARY
+}
@@ -0,0 +1,7 @@
+package vs_fundos.challenge.enums;
+
+public enum ProcessingOutcome {
+    PROCESSED,
+    NOT_FOUND,
+    ALREADY_PROCESSED
+}
@@ -1,24 +1,21 @@
 package vs_fundos.challenge.event;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
-import vs_fundos.challenge.producer.OrderProducerService;
-import vs_fundos.challenge.util.Convert;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "false")
 public class OrderCreatedEventListener {
-    private final OrderProducerService orderProducerService;
-    private final Convert convert;
+    private final OrderEventExecutor orderEventExecutor;
 
-    @Async
     @EventListener
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleOrderCreated(OrderCreatedEvent event) {
-        orderProducerService.sendMessage(event.getOrderDTO());
+        orderEventExecutor.publish(event.getOrderDTO());
     }
 }
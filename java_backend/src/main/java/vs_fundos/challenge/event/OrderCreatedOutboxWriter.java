@@ -0,0 +1,32 @@
+package vs_fundos.challenge.event;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.model.OutboxEvent;
+import vs_fundos.challenge.repository.OutboxEventRepository;
+import vs_fundos.challenge.util.Convert;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCreatedOutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final Convert convert;
+
+    @EventListener
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void handleOrderCreated(OrderCreatedEvent event) {
+        OrderDTO orderDTO = event.getOrderDTO();
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setOrderNumber(orderDTO.getOrderNumber());
+        outboxEvent.setPayload(convert.objectToJson(orderDTO));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+}
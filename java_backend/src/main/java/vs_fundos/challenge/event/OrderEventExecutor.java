@@ -0,0 +1,175 @@
+package vs_fundos.challenge.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderEventOverflowPolicy;
+import vs_fundos.challenge.exception.JsonConvertionException;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.util.Convert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Bounded replacement for the default @Async executor: a full queue runs the send on the caller or spills the
+// event to disk, and spilled events are replayed once the queue has room again.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "false")
+public class OrderEventExecutor {
+    public static final String QUEUE_DEPTH = "order.events.queue.depth";
+    public static final String ACTIVE = "order.events.active";
+    public static final String REJECTED = "order.events.rejected";
+    public static final String REPLAYED = "order.events.replayed";
+    private static final Logger logger = LogManager.getLogger(OrderEventExecutor.class);
+    @Value("${order.events.executor.core-size:4}")
+    private int coreSize = 4;
+    @Value("${order.events.executor.max-size:8}")
+    private int maxSize = 8;
+    @Value("${order.events.executor.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+    @Value("${order.events.executor.keep-alive-seconds:60}")
+    private long keepAliveSeconds = 60;
+    @Value("${order.events.executor.overflow-policy:CALLER_RUNS}")
+    private OrderEventOverflowPolicy overflowPolicy = OrderEventOverflowPolicy.CALLER_RUNS;
+    @Value("${order.events.executor.send-timeout-ms:10000}")
+    private long sendTimeoutMs = 10000;
+    @Value("${order.events.executor.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs = 30000;
+    @Value("${order.events.spill.directory:${java.io.tmpdir}/order-events-spill}")
+    private String spillDirectory;
+    private final OrderProducerService orderProducerService;
+    private final Convert convert;
+    private final MeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+    private OrderEventSpillFile spillFile;
+    private Counter rejectedCallerRuns;
+    private Counter rejectedSpilled;
+    private Counter replayed;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(coreSize, Math.max(coreSize, maxSize), keepAliveSeconds, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("order-event-"), this::reject);
+        spillFile = new OrderEventSpillFile(Path.of(spillDirectory));
+        rejectedCallerRuns = Counter.builder(REJECTED).tag("outcome", "caller_runs").register(meterRegistry);
+        rejectedSpilled = Counter.builder(REJECTED).tag("outcome", "spilled").register(meterRegistry);
+        replayed = Counter.builder(REPLAYED).register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH, executor, pool -> pool.getQueue().size())
+                .description("Order events waiting for an executor thread")
+                .register(meterRegistry);
+        Gauge.builder(ACTIVE, executor, ThreadPoolExecutor::getActiveCount)
+                .description("Executor threads currently sending order events")
+                .register(meterRegistry);
+    }
+
+    public void publish(OrderDTO orderDTO) {
+        executor.execute(new SendTask(orderDTO));
+    }
+
+    @Scheduled(fixedDelayString = "${order.events.spill.replay-interval-ms:5000}")
+    public void replaySpilled() {
+        if (executor.isShutdown() || executor.getQueue().remainingCapacity() < queueCapacity / 2) {
+            return;
+        }
+        int drained;
+        try {
+            drained = spillFile.drain(this::replay);
+        } catch (IOException e) {
+            logger.error("Failed to replay spilled order events from {}. Error: {}", spillDirectory, e.getMessage(), e);
+            return;
+        }
+        if (drained > 0) {
+            logger.info("Replayed {} spilled order events", drained);
+            replayed.increment(drained);
+        }
+    }
+
+    // A line that no longer parses would otherwise keep its whole file from ever being replayed
+    private void replay(String json) {
+        OrderDTO orderDTO;
+        try {
+            orderDTO = convert.jsonToObject(json, OrderDTO.class);
+        } catch (JsonConvertionException e) {
+            logger.error("Skipping unreadable spilled order event: {}. Error: {}", json, e.getMessage());
+            return;
+        }
+        publish(orderDTO);
+    }
+
+    // Queued events get shutdown-timeout-ms to drain; whatever is still queued after that is spilled for the next start.
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> pending = executor.shutdownNow();
+        logger.warn("Order event executor stopped with {} queued events, spilling them", pending.size());
+        pending.forEach(task -> spill(((SendTask) task).orderDTO));
+        // The interrupted in-flight sends spill their own events; wait so none is still being written on return
+        try {
+            executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reject(Runnable task, ThreadPoolExecutor executor) {
+        if (overflowPolicy == OrderEventOverflowPolicy.CALLER_RUNS && !executor.isShutdown()) {
+            rejectedCallerRuns.increment();
+            task.run();
+            return;
+        }
+        rejectedSpilled.increment();
+        spill(((SendTask) task).orderDTO);
+    }
+
+    private void spill(OrderDTO orderDTO) {
+        String json = convert.objectToJson(orderDTO);
+        try {
+            spillFile.append(json);
+        } catch (IOException e) {
+            logger.error("Failed to spill order event to {}, event lost: {}. Error: {}", spillDirectory, json, e.getMessage(), e);
+        }
+    }
+
+    private final class SendTask implements Runnable {
+        private final OrderDTO orderDTO;
+
+        private SendTask(OrderDTO orderDTO) {
+            this.orderDTO = orderDTO;
+        }
+
+        @Override
+        public void run() {
+            try {
+                orderProducerService.sendMessageAsync(orderDTO).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException | RuntimeException e) {
+                // Spilled under either policy: the policy only decides what a full queue does
+                logger.error("Failed to send order event {}, spilling it. Error: {}", orderDTO.getOrderNumber(), e.getMessage());
+                spill(orderDTO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spill(orderDTO);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package vs_fundos.challenge.event;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Append-only NDJSON spill for order events that could not be queued or sent. Appends go to pending.ndjson;
+// draining rotates it to a replay-*.ndjson file and hands the oldest replay file's events to the caller. The file is
+// only deleted once every event was taken; when the caller fails, the events it did not take are written back.
+public class OrderEventSpillFile {
+    private static final String PENDING = "pending.ndjson";
+    private static final String REPLAY_PREFIX = "replay-";
+    private static final String REPLAY_SUFFIX = ".ndjson";
+    private static final String REWRITE = "rewrite.tmp";
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long rotations;
+
+    public OrderEventSpillFile(Path directory) {
+        this.directory = directory;
+    }
+
+    public void append(String json) throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(PENDING), json + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int drain(Consumer<String> replayer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Optional<Path> oldest = oldestReplayFile();
+        if (oldest.isEmpty()) {
+            lock.lock();
+            try {
+                Path pending = directory.resolve(PENDING);
+                if (Files.notExists(pending)) {
+                    return 0;
+                }
+                String name = String.format("%s%020d-%06d%s", REPLAY_PREFIX, System.currentTimeMillis(), rotations++, REPLAY_SUFFIX);
+                oldest = Optional.of(Files.move(pending, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE));
+            } finally {
+                lock.unlock();
+            }
+        }
+        Path file = oldest.get();
+        List<String> events = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        int replayed = 0;
+        try {
+            for (String event : events) {
+                replayer.accept(event);
+                replayed++;
+            }
+        } catch (RuntimeException e) {
+            Path rewrite = directory.resolve(REWRITE);
+            Files.write(rewrite, events.subList(replayed, events.size()), StandardCharsets.UTF_8);
+            Files.move(rewrite, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            throw e;
+        }
+        Files.delete(file);
+        return replayed;
+    }
+
+    private Optional<Path> oldestReplayFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(REPLAY_PREFIX)
+                            && file.getFileName().toString().endsWith(REPLAY_SUFFIX))
+                    .min(Path::compareTo);
+        }
+    }
+}
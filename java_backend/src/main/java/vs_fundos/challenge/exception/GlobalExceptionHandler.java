@@ -28,11 +28,31 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, "Malformed request payload or invalid data types", ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidOrderQueryException.class)
+    public ResponseEntity<Object> handleInvalidOrderQueryException(InvalidOrderQueryException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Object> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReuseException(IdempotencyKeyReuseException ex) {
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", ex.getMessage());
+    }
+
     @ExceptionHandler(OrderProcessingException.class)
     public ResponseEntity<Object> handleOrderProcessingException (OrderProcessingException ex) {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
     }
 
+    @ExceptionHandler(OrderExportException.class)
+    public ResponseEntity<Object> handleOrderExportException(OrderExportException ex) {
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
+    }
+
     @ExceptionHandler(ResponseEncryptionException.class)
     public ResponseEntity<Object> handleResponseEncryptionException (ResponseEncryptionException ex) {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
@@ -53,6 +73,11 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
     }
 
+    @ExceptionHandler(OrderUpdateConflictException.class)
+    public ResponseEntity<Object> handleOrderUpdateConflictException(OrderUpdateConflictException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllUncaughtExceptions(Exception ex) {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
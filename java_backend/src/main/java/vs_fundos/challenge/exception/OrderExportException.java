@@ -0,0 +1,7 @@
+package vs_fundos.challenge.exception;
+
+public class OrderExportException extends RuntimeException {
+    public OrderExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package vs_fundos.challenge.exception;
+
+public class OrderUpdateConflictException extends RuntimeException {
+    public OrderUpdateConflictException(Long id) {
+        super("Order " + id + " was modified concurrently, reload it and retry the update");
+    }
+}
@@ -0,0 +1,10 @@
+package vs_fundos.challenge.export;
+
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface OrderExportWriter extends Closeable {
+    void write(OrderDTO order) throws IOException;
+}
@@ -0,0 +1,74 @@
+package vs_fundos.challenge.export.impl;
+
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.export.OrderExportWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class CsvOrderExportWriter implements OrderExportWriter {
+    private static final String HEADER = "order_number,total_value,status,notification_type,order_date_created,order_date_updated";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Writer writer;
+
+    public CsvOrderExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(OrderDTO order) throws IOException {
+        writeField(order.getOrderNumber());
+        writer.write(',');
+        if (order.getTotalValue() != null) {
+            writer.write(order.getTotalValue().toPlainString());
+        }
+        writer.write(',');
+        if (order.getStatus() != null) {
+            writer.write(order.getStatus().name());
+        }
+        writer.write(',');
+        if (order.getNotificationType() != null) {
+            writer.write(order.getNotificationType().name());
+        }
+        writer.write(',');
+        writeDateTime(order.getOrderDateCreated());
+        writer.write(',');
+        writeDateTime(order.getOrderDateUpdated());
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        if (dateTime != null) {
+            DATE_TIME.formatTo(dateTime, writer);
+        }
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling embedded quotes.
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
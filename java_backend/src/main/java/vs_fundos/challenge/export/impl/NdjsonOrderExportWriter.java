@@ -0,0 +1,35 @@
+package vs_fundos.challenge.export.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.export.OrderExportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonOrderExportWriter implements OrderExportWriter {
+    private final JsonGenerator generator;
+    private final ObjectWriter orderWriter;
+
+    // One generator and one resolved OrderDTO serializer for the whole export; flushing is left to the generator's buffer.
+    public NdjsonOrderExportWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+        this.orderWriter = objectMapper.writerFor(OrderDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(OrderDTO order) throws IOException {
+        orderWriter.writeValue(generator, order);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,5 @@
+package vs_fundos.challenge.generator;
+
+public interface OrderNumberGenerator {
+    String nextOrderNumber();
+}
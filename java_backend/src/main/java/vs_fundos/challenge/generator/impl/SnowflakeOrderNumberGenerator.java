@@ -0,0 +1,70 @@
+package vs_fundos.challenge.generator.impl;
+
+import vs_fundos.challenge.generator.OrderNumberGenerator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 41 bits of milliseconds since EPOCH, 10 bits of node id and a 12 bit per-millisecond sequence.
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+    public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private final String prefix;
+    private final long nodeId;
+    private final Clock clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence), advanced with a single CAS per id.
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public SnowflakeOrderNumberGenerator(String prefix, int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ", got: " + nodeId);
+        }
+        this.prefix = prefix == null ? "" : prefix;
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return format(nextId());
+    }
+
+    // A full sequence or a clock that steps back borrows the next millisecond instead of waiting, so ids stay unique and ordered.
+    public long nextId() {
+        long tick;
+        long current;
+        do {
+            current = lastTick.get();
+            tick = Math.max((clock.millis() - EPOCH) << SEQUENCE_BITS, current + 1);
+        } while (!lastTick.compareAndSet(current, tick));
+        return ((tick >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (tick & SEQUENCE_MASK);
+    }
+
+    // Fixed-width Crockford Base32, so order numbers sort lexically in generation order.
+    public String format(long id) {
+        int length = prefix.length();
+        char[] chars = new char[length + ENCODED_LENGTH];
+        prefix.getChars(0, length, chars, 0);
+        for (int i = chars.length - 1; i >= length; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static int defaultNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            host = Long.toString(ProcessHandle.current().pid());
+        }
+        return (host.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+    }
+}
@@ -1,7 +1,11 @@
 package vs_fundos.challenge.handler;
 
+import vs_fundos.challenge.dto.OrderBatchOutcome;
 import vs_fundos.challenge.dto.OrderDTO;
 
+import java.util.List;
+
 public interface OrderConsumerHandler {
     void handleMessage(OrderDTO orderDTO);
+    OrderBatchOutcome handleBatch(List<OrderDTO> orders);
 }
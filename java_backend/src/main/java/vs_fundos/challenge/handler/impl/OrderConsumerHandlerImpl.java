@@ -5,31 +5,131 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import vs_fundos.challenge.cache.RecentlyProcessedOrders;
+import vs_fundos.challenge.dto.OrderBatchOutcome;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderBusinessFailurePolicy;
+import vs_fundos.challenge.enums.ProcessingOutcome;
 import vs_fundos.challenge.exception.*;
 import vs_fundos.challenge.handler.OrderConsumerHandler;
 import vs_fundos.challenge.service.OrderProcessingService;
 import vs_fundos.challenge.service.notification.NotificationDispatcherService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class OrderConsumerHandlerImpl implements OrderConsumerHandler {
     private final Logger logger = LogManager.getLogger(OrderConsumerHandlerImpl.class);
+    @Value("${kafka.consumer.business-failure-policy:DEAD_LETTER}")
+    private OrderBusinessFailurePolicy businessFailurePolicy = OrderBusinessFailurePolicy.DEAD_LETTER;
     private final OrderProcessingService orderProcessingService;
     private final ObjectMapper objectMapper;
     private final NotificationDispatcherService notificationDispatcherService;
+    private final RecentlyProcessedOrders recentlyProcessedOrders;
+
+    // Business failures are permanent: they go straight to the DLT (or are dropped), everything else goes through the
+    // retry topics. Once the order is PROCESSED a redelivery can only fail as already processed, so a failed
+    // notification is logged instead of rethrown.
+    public void handleMessage(OrderDTO orderDTO) {
+        if (recentlyProcessedOrders.contains(orderDTO.getOrderNumber())) {
+            logger.debug("Skipping recently processed order {}", orderDTO.getOrderNumber());
+            return;
+        }
+        try {
+            orderProcessingService.processOrder(orderDTO.getOrderNumber());
+            recentlyProcessedOrders.add(orderDTO.getOrderNumber());
+        } catch (OrderNotFoundException | OrderAlreadyProcessedException e) {
+            if (e instanceof OrderAlreadyProcessedException) {
+                recentlyProcessedOrders.add(orderDTO.getOrderNumber());
+            }
+            if (businessFailurePolicy == OrderBusinessFailurePolicy.DROP) {
+                logger.warn("Dropping message after a business exception: {}", e.getMessage());
+                return;
+            }
+            logger.error("A business exception occurred while processing the message: {}", e.getMessage());
+            throw new KafkaProcessingException("Failed to process order due to a business rule. ", e);
+        } catch (OrderProcessingException e) {
+            logger.error("A transient error occurred while processing the message, it will be retried: {}", e.getMessage());
+            throw new KafkaProcessingException("Failed to update order, retrying. ", e);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred: {}", e.getMessage(), e);
+            throw new KafkaProcessingException("An unexpected error occurred during processing.", e);
+        }
+        try {
+            notifyProcessed(orderDTO);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while notifying order {}: {}", orderDTO.getOrderNumber(), e.getMessage(), e);
+        }
+    }
+
+    // Returns the orders of this batch that are PROCESSED, each once: the ones moved now, and redeliveries found already
+    // processed (by the recent set or the UPDATE) whose processed event may have been in an aborted Kafka transaction.
+    // Only the ones moved now are notified. Unknown and already processed orders are rejected like in handleMessage.
+    public OrderBatchOutcome handleBatch(List<OrderDTO> orders) {
+        Set<String> returned = new HashSet<>();
+        List<OrderDTO> processed = new ArrayList<>(orders.size());
+        List<OrderBatchOutcome.Rejected> rejected = new ArrayList<>();
+        List<OrderDTO> pending = new ArrayList<>(orders.size());
+        for (OrderDTO orderDTO : orders) {
+            if (!recentlyProcessedOrders.contains(orderDTO.getOrderNumber())) {
+                pending.add(orderDTO);
+            } else if (returned.add(orderDTO.getOrderNumber())) {
+                processed.add(orderDTO);
+            }
+        }
+        if (pending.isEmpty()) {
+            return new OrderBatchOutcome(processed, rejected);
+        }
+        Map<String, ProcessingOutcome> outcomes;
+        try {
+            outcomes = orderProcessingService.processOrders(pending.stream().map(OrderDTO::getOrderNumber).toList());
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while processing a batch of {} orders: {}", orders.size(), e.getMessage(), e);
+            throw new KafkaProcessingException("An unexpected error occurred during batch processing.", e);
+        }
+        for (OrderDTO orderDTO : pending) {
+            String orderNumber = orderDTO.getOrderNumber();
+            ProcessingOutcome outcome = outcomes.getOrDefault(orderNumber, ProcessingOutcome.NOT_FOUND);
+            if (outcome == ProcessingOutcome.NOT_FOUND) {
+                reject(orderDTO, new OrderNotFoundException(orderNumber), rejected);
+                continue;
+            }
+            recentlyProcessedOrders.add(orderNumber);
+            boolean firstInBatch = returned.add(orderNumber);
+            if (outcome == ProcessingOutcome.ALREADY_PROCESSED || !firstInBatch) {
+                if (firstInBatch) {
+                    processed.add(orderDTO);
+                }
+                reject(orderDTO, new OrderAlreadyProcessedException(orderNumber), rejected);
+                continue;
+            }
+            processed.add(orderDTO);
+            try {
+                notifyProcessed(orderDTO);
+            } catch (Exception e) {
+                logger.error("An unexpected error occurred while notifying order {}: {}", orderNumber, e.getMessage(), e);
+            }
+        }
+        return new OrderBatchOutcome(processed, rejected);
+    }
+
+    private void reject(OrderDTO orderDTO, RuntimeException e, List<OrderBatchOutcome.Rejected> rejected) {
+        if (businessFailurePolicy == OrderBusinessFailurePolicy.DROP) {
+            logger.warn("Dropping message after a business exception: {}", e.getMessage());
+            return;
+        }
+        logger.error("A business exception occurred while processing the message: {}", e.getMessage());
+        rejected.add(new OrderBatchOutcome.Rejected(orderDTO, new KafkaProcessingException("Failed to process order due to a business rule. ", e)));
+    }
 
-   public void handleMessage(OrderDTO orderDTO) {
-       try {
-           orderProcessingService.processOrder(orderDTO.getOrderNumber());
-           notificationDispatcherService.dispatch(orderDTO.getNotificationType(), "Your order with number: " + orderDTO.getOrderNumber() + " has been processed successfully!");
-       } catch (OrderNotFoundException | OrderAlreadyProcessedException | OrderProcessingException e) {
-           logger.error("A business exception occurred while processing the message: {}", e.getMessage());
-           throw new KafkaProcessingException("Failed to process order due to a business rule. ", e);
-       } catch (Exception e) {
-           logger.error("An unexpected error occurred: {}", e.getMessage(), e);
-           throw new KafkaProcessingException("An unexpected error occurred during processing.", e);
-       }
+    private void notifyProcessed(OrderDTO orderDTO) {
+        notificationDispatcherService.dispatch(orderDTO.getNotificationType(), orderDTO.getOrderNumber(), "Your order with number: " + orderDTO.getOrderNumber() + " has been processed successfully!");
     }
 }
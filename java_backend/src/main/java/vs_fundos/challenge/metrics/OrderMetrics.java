@@ -0,0 +1,65 @@
+package vs_fundos.challenge.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import vs_fundos.challenge.enums.NotificationType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Meters are registered once up front so the hot paths only record primitives and never look up or build meters.
+@Component
+public class OrderMetrics {
+    public static final String PRODUCER_SEND = "order.kafka.producer.send";
+    public static final String CONSUMER_PROCESS = "order.kafka.consumer.process";
+    public static final String CONSUMER_LAG = "order.kafka.consumer.lag";
+    public static final String NOTIFICATION_SEND = "order.notification.send";
+    private final Timer producerSendAcked;
+    private final Timer producerSendFailed;
+    private final Timer consumerProcessSucceeded;
+    private final Timer consumerProcessFailed;
+    private final Timer consumerLag;
+    private final Map<NotificationType, Timer> notificationSend = new EnumMap<>(NotificationType.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        producerSendAcked = timer(meterRegistry, PRODUCER_SEND, "Time from send to broker acknowledgement", "outcome", "acked");
+        producerSendFailed = timer(meterRegistry, PRODUCER_SEND, "Time from send to broker acknowledgement", "outcome", "failed");
+        consumerProcessSucceeded = timer(meterRegistry, CONSUMER_PROCESS, "Time spent handling a polled record or batch", "outcome", "success");
+        consumerProcessFailed = timer(meterRegistry, CONSUMER_PROCESS, "Time spent handling a polled record or batch", "outcome", "failure");
+        consumerLag = timer(meterRegistry, CONSUMER_LAG, "Time between a record being produced and being consumed");
+        for (NotificationType type : NotificationType.values()) {
+            notificationSend.put(type, timer(meterRegistry, NOTIFICATION_SEND, "Time spent in a notification strategy", "strategy", type.name()));
+        }
+    }
+
+    public void recordProducerSend(long startNanos, boolean acked) {
+        (acked ? producerSendAcked : producerSendFailed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConsumerProcess(long startNanos, boolean succeeded) {
+        (succeeded ? consumerProcessSucceeded : consumerProcessFailed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConsumerLag(long recordTimestampMillis) {
+        long lagMillis = System.currentTimeMillis() - recordTimestampMillis;
+        if (lagMillis >= 0) {
+            consumerLag.record(lagMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordNotificationSend(NotificationType strategy, long startNanos) {
+        Timer timer = notificationSend.get(strategy);
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package vs_fundos.challenge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Keys are assigned by the client, so save() must insert without the select-before-merge.
+    @Transient
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newRecord = false;
+    }
+}
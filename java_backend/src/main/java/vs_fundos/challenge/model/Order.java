@@ -11,12 +11,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_id", columnList = "orderDateCreated, id"),
+        @Index(name = "idx_orders_updated_id", columnList = "orderDateUpdated, id"),
+        @Index(name = "idx_orders_total_value_id", columnList = "totalValue, id"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_status_created_id", columnList = "status, orderDateCreated, id"),
+        @Index(name = "idx_orders_notification_type_id", columnList = "notificationType, id")
+})
 @Data
 @NoArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -39,6 +47,11 @@ public class Order {
     @Enumerated(EnumType.STRING)
     @Column(nullable = true)
     private NotificationType notificationType;
+
+    // Bumped by Hibernate on entity updates and by hand in the native status updates in OrderRepository.
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
 
 
@@ -0,0 +1,11 @@
+package vs_fundos.challenge.producer;
+
+import org.springframework.kafka.transaction.KafkaAwareTransactionManager;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.List;
+
+public interface OrderProcessedProducerService {
+    void publishProcessed(List<OrderDTO> orders);
+    KafkaAwareTransactionManager<?, ?> transactionManager();
+}
@@ -2,6 +2,9 @@ package vs_fundos.challenge.producer;
 
 import vs_fundos.challenge.dto.OrderDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface OrderProducerService {
     void sendMessage(OrderDTO orderDTO);
+    CompletableFuture<Void> sendMessageAsync(OrderDTO orderDTO);
 }
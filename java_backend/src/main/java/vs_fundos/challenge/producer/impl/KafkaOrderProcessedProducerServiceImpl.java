@@ -0,0 +1,90 @@
+package vs_fundos.challenge.producer.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaAwareTransactionManager;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.stereotype.Service;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderProcessedEventDTO;
+import vs_fundos.challenge.producer.OrderProcessedProducerService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Owns its own transactional producer instead of exposing ProducerFactory/KafkaTemplate/transaction manager beans,
+// which would make Boot back off its default Kafka template and the JPA transaction manager.
+// The batch listener container runs each poll in a transaction of this producer: the events sent here and the consumed
+// offsets commit or abort together. Redelivered orders that are already PROCESSED are published again, so an aborted
+// poll still gets its events; read_committed consumers see one event per committed delivery of an order.
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.processed-events.enabled", havingValue = "true")
+public class KafkaOrderProcessedProducerServiceImpl implements OrderProcessedProducerService {
+    private final Logger logger = LogManager.getLogger(KafkaOrderProcessedProducerServiceImpl.class);
+    @Value("${kafka.processed-events.topic:second_topic}")
+    private String topicName;
+    @Value("${kafka.processed-events.transaction-id-prefix:order-processed-tx-}")
+    private String transactionIdPrefix;
+    @Value("${kafka.consumer.batch.enabled:false}")
+    private boolean batchEnabled;
+    @Value("${kafka.consumer.parallel.enabled:false}")
+    private boolean parallelEnabled;
+    private final KafkaProperties kafkaProperties;
+    private DefaultKafkaProducerFactory<String, OrderProcessedEventDTO> producerFactory;
+    private KafkaTemplate<String, OrderProcessedEventDTO> kafkaTemplate;
+    private KafkaTransactionManager<String, OrderProcessedEventDTO> transactionManager;
+
+    @PostConstruct
+    public void start() {
+        if (!batchEnabled || parallelEnabled) {
+            throw new IllegalStateException("kafka.processed-events.enabled requires the batch consumer (kafka.consumer.batch.enabled=true, kafka.consumer.parallel.enabled=false)");
+        }
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties();
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // Plain JSON for downstream consumers, no Spring type headers
+        properties.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        producerFactory = new DefaultKafkaProducerFactory<>(properties);
+        producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        transactionManager = new KafkaTransactionManager<>(producerFactory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        producerFactory.destroy();
+    }
+
+    @Override
+    public void publishProcessed(List<OrderDTO> orders) {
+        LocalDateTime processedAt = LocalDateTime.now();
+        for (OrderDTO orderDTO : orders) {
+            kafkaTemplate.send(topicName, orderDTO.getOrderNumber(), OrderProcessedEventDTO.builder()
+                    .orderNumber(orderDTO.getOrderNumber())
+                    .totalValue(orderDTO.getTotalValue())
+                    .notificationType(orderDTO.getNotificationType())
+                    .orderDateCreated(orderDTO.getOrderDateCreated())
+                    .processedAt(processedAt)
+                    .build());
+        }
+        logger.debug("Published {} order processed events to [{}]", orders.size(), topicName);
+    }
+
+    @Override
+    public KafkaAwareTransactionManager<?, ?> transactionManager() {
+        return transactionManager;
+    }
+}
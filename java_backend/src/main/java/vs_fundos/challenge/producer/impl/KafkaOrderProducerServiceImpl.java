@@ -1,30 +1,65 @@
 package vs_fundos.challenge.producer.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.metrics.OrderMetrics;
 import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.util.LogSampler;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class KafkaOrderProducerServiceImpl implements OrderProducerService {
     @Value("${kafka.topic.name}")
     private String topicName;
+    // Every Nth acknowledged send is logged at INFO; the producer.send timer already counts every one of them
+    @Value("${kafka.producer.log.sample-rate:1000}")
+    private long logSampleRate = 1000;
     private final KafkaTemplate<String, OrderDTO> kafkaTemplate;
+    private final OrderMetrics orderMetrics;
+    private final LogSampler acknowledged = new LogSampler();
     private final Logger logger = LogManager.getLogger(KafkaOrderProducerServiceImpl.class);
 
     public void sendMessage(OrderDTO orderDTO) {
-        kafkaTemplate.send(topicName, orderDTO)
+        send(orderDTO).whenComplete((result, th) -> {
+            if (th != null) {
+                logger.error("Error sending order {} to Kafka topic [{}]: {}", orderDTO.getOrderNumber(), topicName, th.getMessage(), th);
+            }
+        });
+    }
+
+    public CompletableFuture<Void> sendMessageAsync(OrderDTO orderDTO) {
+        return send(orderDTO).thenAccept(result -> { });
+    }
+
+    // Keyed by orderNumber so every event of an order lands on the same partition, in order
+    private CompletableFuture<SendResult<String, OrderDTO>> send(OrderDTO orderDTO) {
+        long start = System.nanoTime();
+        return kafkaTemplate.send(topicName, orderDTO.getOrderNumber(), orderDTO)
                 .whenComplete((result, th) -> {
-                    if (th != null) {
-                        logger.error("Error sending message to Kafka topic [{}]: {}, message={}", topicName, th.getMessage(), th, orderDTO.toString());
-                    } else {
-                        logger.info("Message successfully sent to Kafka topic [{}], offset={}, message={}", topicName, result.getRecordMetadata().offset(), orderDTO.toString());
+                    orderMetrics.recordProducerSend(start, th == null);
+                    if (th == null) {
+                        logAcknowledged(orderDTO, result.getRecordMetadata());
                     }
                 });
     }
-    }
\ No newline at end of file
+
+    private void logAcknowledged(OrderDTO orderDTO, RecordMetadata metadata) {
+        if (acknowledged.next(logSampleRate) == Level.INFO && logger.isInfoEnabled()) {
+            logger.info("{} messages acknowledged by Kafka topic [{}], latest orderNumber={}, partition={}, offset={}",
+                    acknowledged.calls(), topicName, orderDTO.getOrderNumber(), metadata.partition(), metadata.offset());
+        } else {
+            logger.debug("Message acknowledged by Kafka topic [{}], orderNumber={}, partition={}, offset={}",
+                    topicName, orderDTO.getOrderNumber(), metadata.partition(), metadata.offset());
+        }
+    }
+}
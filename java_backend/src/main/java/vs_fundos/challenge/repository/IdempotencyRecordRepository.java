@@ -0,0 +1,25 @@
+package vs_fundos.challenge.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import vs_fundos.challenge.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Query("select r.idempotencyKey from IdempotencyRecord r where r.expiresAt >= :now")
+    Stream<String> streamActiveKeys(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Re-checks the expiry, so a row stored again by another request in the meantime is kept
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+}
@@ -1,8 +1,31 @@
 package vs_fundos.challenge.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import vs_fundos.challenge.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
     Order findByOrderNumber(String orderNumber);
+
+    boolean existsByOrderNumber(String orderNumber);
+
+    @Query("select o.orderNumber from Order o where o.orderNumber in :orderNumbers")
+    List<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    @Modifying
+    @Query(value = "UPDATE orders SET status = 'PROCESSED', order_date_updated = :updatedAt, version = version + 1 " +
+            "WHERE order_number = :orderNumber AND status IS DISTINCT FROM 'PROCESSED'", nativeQuery = true)
+    int markProcessed(@Param("orderNumber") String orderNumber, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // UPDATE ... RETURNING is Postgres syntax: batch mode (kafka.consumer.batch.enabled) requires Postgres
+    @Query(value = "UPDATE orders SET status = 'PROCESSED', order_date_updated = :updatedAt, version = version + 1 " +
+            "WHERE order_number IN (:orderNumbers) AND status IS DISTINCT FROM 'PROCESSED' " +
+            "RETURNING order_number", nativeQuery = true)
+    List<String> markProcessed(@Param("orderNumbers") Collection<String> orderNumbers, @Param("updatedAt") LocalDateTime updatedAt);
 }
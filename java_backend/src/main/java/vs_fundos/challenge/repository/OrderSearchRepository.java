@@ -0,0 +1,15 @@
+package vs_fundos.challenge.repository;
+
+import org.springframework.data.domain.Sort;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.util.OrderCursor;
+
+import java.util.stream.Stream;
+
+public interface OrderSearchRepository {
+    OrderPageDTO search(OrderFilterDTO filter, OrderSortField sort, Sort.Direction direction, OrderCursor after, int limit);
+    Stream<OrderDTO> streamOrders(OrderFilterDTO filter, int fetchSize);
+}
@@ -0,0 +1,27 @@
+package vs_fundos.challenge.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import vs_fundos.challenge.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM order_outbox WHERE attempts < :maxAttempts " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :until where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.claimedUntil = null where e.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,151 @@
+package vs_fundos.challenge.repository.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+import vs_fundos.challenge.repository.OrderSearchRepository;
+import vs_fundos.challenge.util.OrderCursor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    private final EntityManager entityManager;
+
+    // Selects columns into tuples, so no Order entity is instantiated or attached to the persistence context.
+    @Override
+    public OrderPageDTO search(OrderFilterDTO filter, OrderSortField sort, Sort.Direction direction, OrderCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        Path<Long> id = select(query, order);
+
+        List<Predicate> predicates = filters(cb, order, filter);
+        if (after != null) {
+            predicates.add(seek(cb, order, id, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        boolean ascending = direction.isAscending();
+        List<jakarta.persistence.criteria.Order> orderBy = new ArrayList<>(2);
+        if (sort != OrderSortField.ID) {
+            Path<?> key = order.get(sort.getAttribute());
+            orderBy.add(ascending ? cb.asc(key) : cb.desc(key));
+        }
+        orderBy.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(orderBy);
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<Tuple> page = hasNext ? rows.subList(0, limit) : rows;
+        List<OrderDTO> items = new ArrayList<>(page.size());
+        page.forEach(row -> items.add(toDTO(row)));
+        String nextCursor = hasNext
+                ? OrderCursor.after(sort, direction, page.get(page.size() - 1).get(0, Long.class), items.get(items.size() - 1)).encode()
+                : null;
+        return OrderPageDTO.builder().items(items).nextCursor(nextCursor).build();
+    }
+
+    // Forward-only scroll with a JDBC fetch size; callers must close the stream, inside a transaction so PostgreSQL uses a cursor.
+    @Override
+    public Stream<OrderDTO> streamOrders(OrderFilterDTO filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        Path<Long> id = select(query, order);
+        query.where(filters(cb, order, filter).toArray(Predicate[]::new));
+        query.orderBy(cb.asc(id));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(OrderSearchRepositoryImpl::toDTO);
+    }
+
+    private static Path<Long> select(CriteriaQuery<Tuple> query, Root<Order> order) {
+        Path<Long> id = order.get("id");
+        query.multiselect(id, order.get("orderNumber"), order.get("totalValue"), order.get("status"),
+                order.get("notificationType"), order.get("orderDateCreated"), order.get("orderDateUpdated"));
+        return id;
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Order> order, OrderFilterDTO filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), filter.getStatus()));
+        }
+        if (filter.getNotificationType() != null) {
+            predicates.add(cb.equal(order.get("notificationType"), filter.getNotificationType()));
+        }
+        Path<LocalDateTime> created = order.get("orderDateCreated");
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(created, filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(created, filter.getCreatedTo()));
+        }
+        Path<LocalDateTime> updated = order.get("orderDateUpdated");
+        if (filter.getUpdatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(updated, filter.getUpdatedFrom()));
+        }
+        if (filter.getUpdatedTo() != null) {
+            predicates.add(cb.lessThan(updated, filter.getUpdatedTo()));
+        }
+        Path<BigDecimal> totalValue = order.get("totalValue");
+        if (filter.getMinTotalValue() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(totalValue, filter.getMinTotalValue()));
+        }
+        if (filter.getMaxTotalValue() != null) {
+            predicates.add(cb.lessThanOrEqualTo(totalValue, filter.getMaxTotalValue()));
+        }
+        return predicates;
+    }
+
+    private static Predicate seek(CriteriaBuilder cb, Root<Order> order, Path<Long> id, OrderCursor after) {
+        boolean ascending = after.direction().isAscending();
+        return switch (after.sort()) {
+            case ID -> ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+            case ORDER_DATE_CREATED -> seek(cb, order.get("orderDateCreated"), after.dateTimeValue(), id, after.id(), ascending);
+            case ORDER_DATE_UPDATED -> seek(cb, order.get("orderDateUpdated"), after.dateTimeValue(), id, after.id(), ascending);
+            case TOTAL_VALUE -> seek(cb, order.get("totalValue"), after.decimalValue(), id, after.id(), ascending);
+        };
+    }
+
+    // (key, id) > (value, lastId), written as "key >= value AND (key > value OR id > lastId)":
+    // the leading range bound lets the (key, id) index seek straight to the page instead of filtering from the start.
+    private static <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Path<T> key, T value,
+                                                                    Path<Long> id, Long lastId, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), cb.lessThan(id, lastId)));
+    }
+
+    private static OrderDTO toDTO(Tuple row) {
+        return OrderDTO.builder()
+                .orderNumber(row.get(1, String.class))
+                .totalValue(row.get(2, BigDecimal.class))
+                .status(row.get(3, OrderStatus.class))
+                .notificationType(row.get(4, NotificationType.class))
+                .orderDateCreated(row.get(5, LocalDateTime.class))
+                .orderDateUpdated(row.get(6, LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package vs_fundos.challenge.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// Version 1 layout, after the VERSION byte:
+//   presence bitmask (1 byte, one bit per field below, absent fields are not written)
+//   orderNumber        varint length + UTF-8 bytes
+//   totalValue         zigzag varint scale + varint length + unscaled two's-complement bytes
+//   status             varint ordinal
+//   notificationType   varint ordinal
+//   orderDateCreated   zigzag varint epoch millis (UTC)
+//   orderDateUpdated   zigzag varint epoch millis (UTC)
+// Enum constants are encoded by ordinal, so OrderStatus and NotificationType must only ever be appended to.
+// Any other layout change needs a new version byte. JSON payloads start with '{', which never collides with it.
+public final class OrderBinaryCodec {
+    public static final byte VERSION = 1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final NotificationType[] NOTIFICATION_TYPES = NotificationType.values();
+    private static final int ORDER_NUMBER = 1;
+    private static final int TOTAL_VALUE = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int NOTIFICATION_TYPE = 1 << 3;
+    private static final int DATE_CREATED = 1 << 4;
+    private static final int DATE_UPDATED = 1 << 5;
+
+    private OrderBinaryCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == VERSION;
+    }
+
+    public static byte[] encode(OrderDTO order) {
+        byte[] orderNumber = order.getOrderNumber() == null ? null : order.getOrderNumber().getBytes(StandardCharsets.UTF_8);
+        int presence = (orderNumber != null ? ORDER_NUMBER : 0)
+                | (order.getTotalValue() != null ? TOTAL_VALUE : 0)
+                | (order.getStatus() != null ? STATUS : 0)
+                | (order.getNotificationType() != null ? NOTIFICATION_TYPE : 0)
+                | (order.getOrderDateCreated() != null ? DATE_CREATED : 0)
+                | (order.getOrderDateUpdated() != null ? DATE_UPDATED : 0);
+        Writer writer = new Writer(48 + (orderNumber == null ? 0 : orderNumber.length));
+        writer.writeByte(VERSION);
+        writer.writeByte(presence);
+        if (orderNumber != null) {
+            writer.writeBytes(orderNumber);
+        }
+        if (order.getTotalValue() != null) {
+            writer.writeVarLong(zigZag(order.getTotalValue().scale()));
+            writer.writeBytes(order.getTotalValue().unscaledValue().toByteArray());
+        }
+        if (order.getStatus() != null) {
+            writer.writeVarLong(order.getStatus().ordinal());
+        }
+        if (order.getNotificationType() != null) {
+            writer.writeVarLong(order.getNotificationType().ordinal());
+        }
+        if (order.getOrderDateCreated() != null) {
+            writer.writeVarLong(zigZag(epochMillis(order.getOrderDateCreated())));
+        }
+        if (order.getOrderDateUpdated() != null) {
+            writer.writeVarLong(zigZag(epochMillis(order.getOrderDateUpdated())));
+        }
+        return writer.toByteArray();
+    }
+
+    public static OrderDTO decode(byte[] data) {
+        Reader reader = new Reader(data);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported order wire format version: " + version);
+        }
+        int presence = reader.readByte();
+        OrderDTO order = new OrderDTO();
+        if ((presence & ORDER_NUMBER) != 0) {
+            order.setOrderNumber(new String(reader.readBytes(), StandardCharsets.UTF_8));
+        }
+        if ((presence & TOTAL_VALUE) != 0) {
+            int scale = Math.toIntExact(unZigZag(reader.readVarLong()));
+            order.setTotalValue(new BigDecimal(new BigInteger(reader.readBytes()), scale));
+        }
+        if ((presence & STATUS) != 0) {
+            order.setStatus(constant(STATUSES, reader.readVarLong()));
+        }
+        if ((presence & NOTIFICATION_TYPE) != 0) {
+            order.setNotificationType(constant(NOTIFICATION_TYPES, reader.readVarLong()));
+        }
+        if ((presence & DATE_CREATED) != 0) {
+            order.setOrderDateCreated(dateTime(unZigZag(reader.readVarLong())));
+        }
+        if ((presence & DATE_UPDATED) != 0) {
+            order.setOrderDateUpdated(dateTime(unZigZag(reader.readVarLong())));
+        }
+        if (reader.remaining() != 0) {
+            throw new SerializationException("Unexpected " + reader.remaining() + " trailing bytes in order payload");
+        }
+        return order;
+    }
+
+    private static <E extends Enum<E>> E constant(E[] constants, long ordinal) {
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new SerializationException("Unknown " + constants.getClass().getComponentType().getSimpleName() + " ordinal: " + ordinal);
+        }
+        return constants[(int) ordinal];
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() {
+            if (position >= data.length) {
+                throw new SerializationException("Truncated order payload at byte " + position);
+            }
+            return data[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in order payload at byte " + position);
+        }
+
+        private byte[] readBytes() {
+            long length = readVarLong();
+            if (length < 0 || length > remaining()) {
+                throw new SerializationException("Field length " + length + " exceeds the remaining " + remaining() + " bytes of the order payload");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + (int) length);
+            position += (int) length;
+            return bytes;
+        }
+
+        private int remaining() {
+            return data.length - position;
+        }
+    }
+}
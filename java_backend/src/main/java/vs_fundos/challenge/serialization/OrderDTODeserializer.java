@@ -0,0 +1,29 @@
+package vs_fundos.challenge.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import vs_fundos.challenge.dto.OrderDTO;
+
+// Reads both wire formats: the leading version byte selects the binary codec, anything else is taken as JSON.
+public class OrderDTODeserializer implements Deserializer<OrderDTO> {
+    private final JsonDeserializer<OrderDTO> jsonDeserializer = new JsonDeserializer<>(OrderDTO.class, false);
+
+    @Override
+    public OrderDTO deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        return OrderBinaryCodec.isBinary(data) ? OrderBinaryCodec.decode(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public OrderDTO deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,47 @@
+package vs_fundos.challenge.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderWireFormat;
+
+import java.util.Map;
+
+// JSON (the default) produces exactly what JsonSerializer did (type headers included), so consumers that predate
+// OrderDTODeserializer keep working. Opt in to order.wire-format=BINARY only once every consumer reads both formats.
+public class OrderDTOSerializer implements Serializer<OrderDTO> {
+    public static final String WIRE_FORMAT_CONFIG = "order.wire-format";
+    private final JsonSerializer<OrderDTO> jsonSerializer = new JsonSerializer<>();
+    private OrderWireFormat wireFormat = OrderWireFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(WIRE_FORMAT_CONFIG);
+        if (configured != null) {
+            wireFormat = OrderWireFormat.valueOf(configured.toString().trim().toUpperCase());
+        }
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, OrderDTO data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, OrderDTO data) {
+        if (data == null) {
+            return null;
+        }
+        if (wireFormat == OrderWireFormat.BINARY) {
+            return OrderBinaryCodec.encode(data);
+        }
+        return headers == null ? jsonSerializer.serialize(topic, data) : jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
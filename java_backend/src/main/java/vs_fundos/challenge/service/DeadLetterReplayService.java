@@ -0,0 +1,7 @@
+package vs_fundos.challenge.service;
+
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+
+public interface DeadLetterReplayService {
+    DeadLetterReplayResultDTO replay(int limit);
+}
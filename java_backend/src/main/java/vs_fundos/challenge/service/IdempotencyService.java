@@ -0,0 +1,9 @@
+package vs_fundos.challenge.service;
+
+import vs_fundos.challenge.dto.IdempotentResult;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> IdempotentResult<T> execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> action);
+}
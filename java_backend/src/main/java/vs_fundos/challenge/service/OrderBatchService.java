@@ -0,0 +1,10 @@
+package vs_fundos.challenge.service;
+
+import vs_fundos.challenge.dto.OrderBatchResultDTO;
+import vs_fundos.challenge.dto.OrderDTO;
+
+import java.util.Iterator;
+
+public interface OrderBatchService {
+    OrderBatchResultDTO createOrders(Iterator<OrderDTO> orders);
+}
@@ -0,0 +1,10 @@
+package vs_fundos.challenge.service;
+
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.enums.OrderExportFormat;
+
+import java.io.OutputStream;
+
+public interface OrderExportService {
+    long export(OrderFilterDTO filter, OrderExportFormat format, boolean gzip, OutputStream out);
+}
@@ -1,5 +1,11 @@
 package vs_fundos.challenge.service;
 
+import vs_fundos.challenge.enums.ProcessingOutcome;
+
+import java.util.Collection;
+import java.util.Map;
+
 public interface OrderProcessingService {
     void processOrder(String orderNumber);
+    Map<String, ProcessingOutcome> processOrders(Collection<String> orderNumbers);
 }
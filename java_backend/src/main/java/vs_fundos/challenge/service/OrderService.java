@@ -1,10 +1,15 @@
 package vs_fundos.challenge.service;
 
+import org.springframework.data.domain.Sort;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderSortField;
 
 public interface OrderService {
     OrderDTO createRandomOrder();
     OrderDTO createOrder(OrderDTO orderDTO);
     OrderDTO updateById(Long id, OrderDTO orderDetails);
     OrderDTO getOrderById(Long id);
+    OrderPageDTO listOrders(OrderFilterDTO filter, OrderSortField sort, Sort.Direction direction, String cursor, int limit);
 }
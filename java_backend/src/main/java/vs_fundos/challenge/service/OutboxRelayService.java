@@ -0,0 +1,6 @@
+package vs_fundos.challenge.service;
+
+public interface OutboxRelayService {
+    void drain();
+    int relayBatch();
+}
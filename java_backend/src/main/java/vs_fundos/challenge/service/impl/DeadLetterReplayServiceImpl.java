@@ -0,0 +1,187 @@
+package vs_fundos.challenge.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RebalanceInProgressException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+import vs_fundos.challenge.consumer.DeadLetterMetrics;
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.service.DeadLetterReplayService;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Re-drives dead-lettered orders to the main topic. Progress is the replay group's committed offset on the DLT,
+// advanced per partition only past records whose re-send was acknowledged, so a failed send is picked up again by
+// the next call. Each call joins the replay group, so concurrent calls (on this or another instance) split the
+// partitions instead of sending the same records twice; a call whose partitions move mid-batch cannot commit, and its
+// records are sent again by their new owner.
+@Service
+@RequiredArgsConstructor
+public class DeadLetterReplayServiceImpl implements DeadLetterReplayService {
+    private static final Logger logger = LogManager.getLogger(DeadLetterReplayServiceImpl.class);
+    @Value("${kafka.topic.name}")
+    private String topicName;
+    @Value("${kafka.retry.dlt-suffix:-dlt}")
+    private String dltSuffix = "-dlt";
+    @Value("${kafka.dlt.replay.group-id:order-dlt-replay}")
+    private String groupId = "order-dlt-replay";
+    @Value("${kafka.dlt.replay.max-batch-size:1000}")
+    private int maxBatchSize = 1000;
+    @Value("${kafka.dlt.replay.poll-timeout-ms:1000}")
+    private long pollTimeoutMs = 1000;
+    @Value("${kafka.dlt.replay.send-timeout-ms:10000}")
+    private long sendTimeoutMs = 10000;
+    @Value("${kafka.dlt.replay.join-timeout-ms:10000}")
+    private long joinTimeoutMs = 10000;
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final OrderProducerService orderProducerService;
+    private final DeadLetterMetrics deadLetterMetrics;
+
+    @Override
+    public DeadLetterReplayResultDTO replay(int limit) {
+        if (limit < 1) {
+            throw new InvalidOrderQueryException("limit must be at least 1");
+        }
+        int batchSize = Math.min(limit, maxBatchSize);
+        String deadLetterTopic = topicName + dltSuffix;
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, "false");
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(groupId, null, "-replay", overrides)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                return DeadLetterReplayResultDTO.builder().topic(deadLetterTopic).build();
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.subscribe(List.of(deadLetterTopic));
+            List<ConsumerRecord<Object, Object>> batch = poll(consumer, batchSize);
+            Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+            Resent resent = resend(batch, commits);
+            if (!commits.isEmpty()) {
+                try {
+                    consumer.commitSync(commits);
+                } catch (CommitFailedException | RebalanceInProgressException e) {
+                    logger.warn("Dead-letter partitions were reassigned during the replay, {} sent records will be sent again. Error: {}",
+                            resent.replayed(), e.getMessage());
+                    resent = new Resent(0, 0);
+                }
+            }
+            int failed = batch.size() - resent.replayed() - resent.skipped();
+            deadLetterMetrics.recordDeadLettersReplayed(resent.replayed());
+            logger.info("Replayed {} of {} dead-lettered orders from {}, {} skipped", resent.replayed(), batch.size(), deadLetterTopic, resent.skipped());
+            return DeadLetterReplayResultDTO.builder()
+                    .topic(deadLetterTopic)
+                    .replayed(resent.replayed())
+                    .failed(failed)
+                    .skipped(resent.skipped())
+                    .remaining(remaining(consumer, partitions))
+                    .build();
+        }
+    }
+
+    // Empty polls are expected until the group assigns partitions, for at most join-timeout-ms
+    private List<ConsumerRecord<Object, Object>> poll(Consumer<Object, Object> consumer, int batchSize) {
+        List<ConsumerRecord<Object, Object>> batch = new ArrayList<>(batchSize);
+        long joinDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(joinTimeoutMs);
+        while (batch.size() < batchSize) {
+            int before = batch.size();
+            for (ConsumerRecord<Object, Object> record : consumer.poll(Duration.ofMillis(pollTimeoutMs))) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(record);
+            }
+            if (batch.size() == before && (!consumer.assignment().isEmpty() || System.nanoTime() >= joinDeadline)) {
+                break;
+            }
+        }
+        return batch;
+    }
+
+    // Commits each partition up to its first failed send; records after it are sent again next time (at-least-once).
+    // A record that is not an order can never be re-sent: it is logged, counted as skipped and committed past.
+    private Resent resend(List<ConsumerRecord<Object, Object>> batch, Map<TopicPartition, OffsetAndMetadata> commits) {
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+        for (ConsumerRecord<Object, Object> record : batch) {
+            try {
+                sends.add(record.value() instanceof OrderDTO orderDTO ? orderProducerService.sendMessageAsync(orderDTO) : null);
+            } catch (RuntimeException e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        Set<TopicPartition> blocked = new HashSet<>();
+        int replayed = 0;
+        int skipped = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            ConsumerRecord<Object, Object> record = batch.get(i);
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            CompletableFuture<Void> send = sends.get(i);
+            if (send == null) {
+                if (!blocked.contains(partition)) {
+                    logger.warn("Skipping dead-lettered record {}-{}@{}: value is {}, not an order", record.topic(), record.partition(),
+                            record.offset(), record.value() == null ? "null" : record.value().getClass().getName());
+                    commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    skipped++;
+                }
+            } else if (await(send, deadline, record) && !blocked.contains(partition)) {
+                commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                replayed++;
+            } else {
+                blocked.add(partition);
+            }
+        }
+        return new Resent(replayed, skipped);
+    }
+
+    private record Resent(int replayed, int skipped) {
+    }
+
+    private boolean await(CompletableFuture<Void> send, long deadline, ConsumerRecord<Object, Object> record) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to replay dead-lettered record {}-{}@{}. Error: {}", record.topic(), record.partition(), record.offset(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long remaining(Consumer<Object, Object> consumer, List<TopicPartition> partitions) {
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+        long remaining = 0;
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            long position = Math.max(beginningOffsets.get(partition), offset == null ? 0 : offset.offset());
+            remaining += Math.max(0, endOffsets.get(partition) - position);
+        }
+        return remaining;
+    }
+}
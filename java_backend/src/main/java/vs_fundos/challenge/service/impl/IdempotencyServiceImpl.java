@@ -0,0 +1,183 @@
+package vs_fundos.challenge.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.IdempotentResult;
+import vs_fundos.challenge.exception.IdempotencyKeyReuseException;
+import vs_fundos.challenge.exception.InvalidIdempotencyKeyException;
+import vs_fundos.challenge.model.IdempotencyRecord;
+import vs_fundos.challenge.repository.IdempotencyRecordRepository;
+import vs_fundos.challenge.service.IdempotencyService;
+import vs_fundos.challenge.util.BloomFilter;
+import vs_fundos.challenge.util.Convert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    // "skipped" means the Bloom filter ruled the key out; "miss" counts its false positives.
+    public static final String LOOKUPS = "order.idempotency.lookups";
+    private static final int MAX_KEY_LENGTH = 255;
+    // A first insert that collides with an expired row is retried once after the row is deleted
+    private static final int MAX_STORE_ATTEMPTS = 2;
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+    @Value("${idempotency.bloom.expected-keys:1000000}")
+    private long expectedKeys = 1_000_000;
+    @Value("${idempotency.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Convert convert;
+    private final MeterRegistry meterRegistry;
+    private static final Logger logger = LogManager.getLogger(IdempotencyServiceImpl.class);
+    // Two generations, each rotated out after a full TTL, so every stored key stays covered until it expires.
+    private volatile BloomFilter currentKeys;
+    private volatile BloomFilter previousKeys;
+    private volatile LocalDateTime rotatedAt;
+    private Counter lookupSkipped;
+    private Counter lookupHit;
+    private Counter lookupMiss;
+
+    @PostConstruct
+    public void init() {
+        lookupSkipped = Counter.builder(LOOKUPS).tag("result", "skipped").register(meterRegistry);
+        lookupHit = Counter.builder(LOOKUPS).tag("result", "hit").register(meterRegistry);
+        lookupMiss = Counter.builder(LOOKUPS).tag("result", "miss").register(meterRegistry);
+        currentKeys = new BloomFilter(expectedKeys, falsePositiveRate);
+        previousKeys = new BloomFilter(expectedKeys, falsePositiveRate);
+        rotatedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> keys = idempotencyRecordRepository.streamActiveKeys(rotatedAt)) {
+                keys.forEach(currentKeys::put);
+            }
+        });
+        logger.info("Idempotency filter ready: {} bits, {} hashes", currentKeys.bitCount(), currentKeys.hashCount());
+    }
+
+    @Override
+    public <T> IdempotentResult<T> execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResult<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = requestHash(operation, request);
+        if (currentKeys.mightContain(key) || previousKeys.mightContain(key)) {
+            IdempotencyRecord stored = findActive(key);
+            (stored != null ? lookupHit : lookupMiss).increment();
+            if (stored != null) {
+                return replay(stored, requestHash, responseType);
+            }
+        } else {
+            lookupSkipped.increment();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T response = transactionTemplate.execute(status -> {
+                    T result = action.get();
+                    idempotencyRecordRepository.save(record(key, requestHash, result));
+                    return result;
+                });
+                currentKeys.put(key);
+                return new IdempotentResult<>(response, false);
+            } catch (DataIntegrityViolationException e) {
+                // The key is taken, and ours rolled back with its order: either another request (possibly on another
+                // instance) stored it first, or an expired row not purged yet still holds it. No row means the
+                // violation came from the action itself.
+                IdempotencyRecord existing = idempotencyRecordRepository.findById(key).orElse(null);
+                if (existing == null) {
+                    throw e;
+                }
+                currentKeys.put(key);
+                if (!isExpired(existing)) {
+                    return replay(existing, requestHash, responseType);
+                }
+                if (attempt == MAX_STORE_ATTEMPTS) {
+                    throw e;
+                }
+                deleteIfExpired(key);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+        // Keys only leave the filter after their rows expired and were purged above.
+        if (!rotatedAt.plus(ttl).isAfter(now)) {
+            previousKeys = currentKeys;
+            currentKeys = new BloomFilter(expectedKeys, falsePositiveRate);
+            rotatedAt = now;
+        }
+    }
+
+    private IdempotencyRecord findActive(String key) {
+        IdempotencyRecord stored = idempotencyRecordRepository.findById(key).orElse(null);
+        if (stored != null && isExpired(stored)) {
+            // Expired but not purged yet: clear it so the key can be stored again.
+            deleteIfExpired(key);
+            return null;
+        }
+        return stored;
+    }
+
+    private void deleteIfExpired(String key) {
+        transactionTemplate.execute(status -> idempotencyRecordRepository.deleteIfExpired(key, LocalDateTime.now()));
+    }
+
+    private static boolean isExpired(IdempotencyRecord stored) {
+        return stored.getExpiresAt().isBefore(LocalDateTime.now());
+    }
+
+    private <T> IdempotentResult<T> replay(IdempotencyRecord stored, String requestHash, Class<T> responseType) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key " + stored.getIdempotencyKey() + " was already used for a different request");
+        }
+        logger.info("Replaying stored response for Idempotency-Key {}", stored.getIdempotencyKey());
+        return new IdempotentResult<>(convert.jsonToObject(stored.getResponseBody(), responseType), true);
+    }
+
+    private IdempotencyRecord record(String key, String requestHash, Object response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setRequestHash(requestHash);
+        record.setResponseBody(convert.objectToJson(response));
+        record.setExpiresAt(LocalDateTime.now().plus(ttl));
+        return record;
+    }
+
+    private String requestHash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(convert.objectToJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package vs_fundos.challenge.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.OrderBatchItemResultDTO;
+import vs_fundos.challenge.dto.OrderBatchResultDTO;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.event.OrderCreatedEvent;
+import vs_fundos.challenge.model.Order;
+import vs_fundos.challenge.repository.OrderRepository;
+import vs_fundos.challenge.service.OrderBatchService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class OrderBatchServiceImpl implements OrderBatchService {
+    @Value("${order.batch.chunk-size:500}")
+    private int chunkSize;
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger logger = LogManager.getLogger(OrderBatchServiceImpl.class);
+
+    public OrderBatchResultDTO createOrders(Iterator<OrderDTO> orders) {
+        List<OrderBatchItemResultDTO> results = new ArrayList<>();
+        List<OrderDTO> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            OrderDTO orderDTO;
+            try {
+                if (!orders.hasNext()) {
+                    break;
+                }
+                orderDTO = orders.next();
+            } catch (RuntimeException e) {
+                logger.error("Failed to read order at index {} of batch, Error: {}", index, e.getMessage());
+                results.addAll(persistChunk(chunk, index - chunk.size()));
+                chunk.clear();
+                results.add(failure(index, null, "Malformed order payload: " + e.getMessage()));
+                break;
+            }
+            chunk.add(orderDTO);
+            index++;
+            if (chunk.size() == chunkSize) {
+                results.addAll(persistChunk(chunk, index - chunk.size()));
+                chunk.clear();
+            }
+        }
+        results.addAll(persistChunk(chunk, index - chunk.size()));
+        int succeeded = (int) results.stream().filter(OrderBatchItemResultDTO::isSuccess).count();
+        logger.info("Order batch finished: {} received, {} created, {} failed", results.size(), succeeded, results.size() - succeeded);
+        return OrderBatchResultDTO.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .items(results)
+                .build();
+    }
+
+    private List<OrderBatchItemResultDTO> persistChunk(List<OrderDTO> chunk, int firstIndex) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        OrderBatchItemResultDTO[] results = new OrderBatchItemResultDTO[chunk.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderDTO orderDTO = chunk.get(i);
+            String orderNumber = orderDTO == null ? null : orderDTO.getOrderNumber();
+            if (orderNumber == null || orderNumber.isBlank()) {
+                results[i] = failure(firstIndex + i, orderNumber, "Order number is required");
+            } else if (candidates.putIfAbsent(orderNumber, i) != null) {
+                results[i] = failure(firstIndex + i, orderNumber, "Duplicate order number in batch: " + orderNumber);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            try {
+                transactionTemplate.execute(status -> insertChunk(chunk, candidates, results, firstIndex));
+            } catch (RuntimeException e) {
+                logger.error("Failed to save order chunk starting at index {}, retrying item by item. Error: {}", firstIndex, e.getMessage());
+                candidates.values().forEach(i -> results[i] = insertSingle(chunk.get(i), firstIndex + i));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Void insertChunk(List<OrderDTO> chunk, Map<String, Integer> candidates, OrderBatchItemResultDTO[] results, int firstIndex) {
+        Set<String> existing = new HashSet<>(orderRepository.findExistingOrderNumbers(candidates.keySet()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(candidates.size());
+        List<OrderDTO> created = new ArrayList<>(candidates.size());
+        OrderBatchItemResultDTO[] chunkResults = new OrderBatchItemResultDTO[results.length];
+        candidates.forEach((orderNumber, i) -> {
+            if (existing.contains(orderNumber)) {
+                chunkResults[i] = failure(firstIndex + i, orderNumber, "Order already exists: " + orderNumber);
+            } else {
+                orders.add(toNewOrder(chunk.get(i), now));
+                created.add(chunk.get(i));
+                chunkResults[i] = success(firstIndex + i, orderNumber);
+            }
+        });
+        orderRepository.saveAll(orders);
+        orderRepository.flush();
+        created.forEach(orderDTO -> eventPublisher.publishEvent(new OrderCreatedEvent(orderDTO)));
+        candidates.values().forEach(i -> results[i] = chunkResults[i]);
+        return null;
+    }
+
+    private OrderBatchItemResultDTO insertSingle(OrderDTO orderDTO, int index) {
+        try {
+            transactionTemplate.execute(status -> {
+                orderRepository.saveAndFlush(toNewOrder(orderDTO, LocalDateTime.now()));
+                eventPublisher.publishEvent(new OrderCreatedEvent(orderDTO));
+                return null;
+            });
+            return success(index, orderDTO.getOrderNumber());
+        } catch (RuntimeException e) {
+            logger.error("Failed to save order {}, Error: {}", orderDTO.getOrderNumber(), e.getMessage());
+            return failure(index, orderDTO.getOrderNumber(), "Failed to save order: " + orderDTO.getOrderNumber());
+        }
+    }
+
+    private static Order toNewOrder(OrderDTO orderDTO, LocalDateTime now) {
+        Order order = new Order();
+        order.setOrderNumber(orderDTO.getOrderNumber());
+        order.setTotalValue(orderDTO.getTotalValue());
+        order.setStatus(orderDTO.getStatus());
+        order.setNotificationType(orderDTO.getNotificationType());
+        order.setOrderDateCreated(now);
+        order.setOrderDateUpdated(now);
+        return order;
+    }
+
+    private static OrderBatchItemResultDTO success(int index, String orderNumber) {
+        return OrderBatchItemResultDTO.builder().index(index).orderNumber(orderNumber).success(true).build();
+    }
+
+    private static OrderBatchItemResultDTO failure(int index, String orderNumber, String error) {
+        return OrderBatchItemResultDTO.builder().index(index).orderNumber(orderNumber).success(false).error(error).build();
+    }
+}
@@ -0,0 +1,77 @@
+package vs_fundos.challenge.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.enums.OrderExportFormat;
+import vs_fundos.challenge.exception.OrderExportException;
+import vs_fundos.challenge.exception.ResponseEncryptionException;
+import vs_fundos.challenge.export.OrderExportWriter;
+import vs_fundos.challenge.export.impl.CsvOrderExportWriter;
+import vs_fundos.challenge.export.impl.NdjsonOrderExportWriter;
+import vs_fundos.challenge.repository.OrderRepository;
+import vs_fundos.challenge.service.OrderExportService;
+import vs_fundos.challenge.util.Cryptography;
+import vs_fundos.challenge.util.OrderFilters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportServiceImpl implements OrderExportService {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final Logger logger = LogManager.getLogger(OrderExportServiceImpl.class);
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final Cryptography cryptography;
+    @Value("${order.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @Transactional
+    public long export(OrderFilterDTO filter, OrderExportFormat format, boolean gzip, OutputStream out) {
+        OrderFilters.validate(filter);
+        long start = System.nanoTime();
+        long rows = 0;
+        try (OrderExportWriter writer = writer(format, gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out);
+             Stream<OrderDTO> orders = orderRepository.streamOrders(filter, fetchSize)) {
+            Iterator<OrderDTO> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                writer.write(encryptOrderNumber(iterator.next()));
+                rows++;
+            }
+        } catch (IOException e) {
+            logger.error("Order export failed after {} rows. Error: {}", rows, e.getMessage());
+            throw new OrderExportException("Failed to export orders after " + rows + " rows", e);
+        }
+        logger.info("Exported {} orders as {} in {} ms", rows, format, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return rows;
+    }
+
+    private OrderExportWriter writer(OrderExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonOrderExportWriter(objectMapper, out);
+            case CSV -> new CsvOrderExportWriter(out);
+        };
+    }
+
+    // Same masking as OrderResponseAdvice applies to order numbers served by the API.
+    private OrderDTO encryptOrderNumber(OrderDTO order) {
+        try {
+            order.setOrderNumber(cryptography.encrypt(order.getOrderNumber()));
+        } catch (Exception e) {
+            throw new ResponseEncryptionException("Failed to encrypt the order number: " + order.getOrderNumber(), e);
+        }
+        return order;
+    }
+}
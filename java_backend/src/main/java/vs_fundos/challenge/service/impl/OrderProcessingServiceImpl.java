@@ -4,37 +4,83 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.enums.ProcessingOutcome;
 import vs_fundos.challenge.exception.OrderAlreadyProcessedException;
 import vs_fundos.challenge.exception.OrderNotFoundException;
 import vs_fundos.challenge.exception.OrderProcessingException;
-import vs_fundos.challenge.model.Order;
 import vs_fundos.challenge.repository.OrderRepository;
 import vs_fundos.challenge.service.OrderProcessingService;
+import vs_fundos.challenge.util.AfterCommit;
+import vs_fundos.challenge.util.LogSampler;
+
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class OrderProcessingServiceImpl implements OrderProcessingService {
     private final OrderRepository orderRepository;
+    private final OrderCache orderCache;
     private static final Logger logger = LogManager.getLogger(OrderProcessingServiceImpl.class);
+    // Every Nth single-order process is logged at INFO, the rest at DEBUG; batches log one summary line per poll
+    @Value("${order.processing.log.sample-rate:100}")
+    private long logSampleRate = 100;
+    private final LogSampler processed = new LogSampler();
 
     @Transactional
     public void processOrder(String orderNumber) {
-        logger.info("Starting order process: {}", orderNumber);
-        Order order = orderRepository.findByOrderNumber(orderNumber);
-        if (order == null) {
+        logger.debug("Starting order process: {}", orderNumber);
+        int updated;
+        try {
+            updated = orderRepository.markProcessed(orderNumber, LocalDateTime.now());
+        } catch (Exception e) {
+            throw new OrderProcessingException("Failed to update order " + orderNumber, e);
+        }
+        // The status check lives in the UPDATE itself, so only the losing side of a race pays for this lookup.
+        if (updated == 0) {
+            if (orderRepository.existsByOrderNumber(orderNumber)) {
+                throw new OrderAlreadyProcessedException(orderNumber);
+            }
             throw new OrderNotFoundException(orderNumber);
         }
-        if (order.getStatus() == OrderStatus.PROCESSED) {
-            throw new OrderAlreadyProcessedException(orderNumber);
+        evictAfterCommit(List.of(orderNumber));
+        logger.log(processed.next(logSampleRate), "Order processed successfully: {}", orderNumber);
+    }
+
+    @Transactional
+    public Map<String, ProcessingOutcome> processOrders(Collection<String> orderNumbers) {
+        Set<String> distinctOrderNumbers = new LinkedHashSet<>(orderNumbers);
+        distinctOrderNumbers.remove(null);
+        Map<String, ProcessingOutcome> outcomes = new HashMap<>();
+        if (distinctOrderNumbers.isEmpty()) {
+            return outcomes;
         }
-        order.setStatus(OrderStatus.PROCESSED);
+        logger.debug("Starting batch order process: {} orders", distinctOrderNumbers.size());
+        List<String> processed;
         try {
-            orderRepository.save(order);
+            processed = orderRepository.markProcessed(distinctOrderNumbers, LocalDateTime.now());
         } catch (Exception e) {
-            throw new OrderProcessingException("Failed to update order " + orderNumber, e);
+            throw new OrderProcessingException("Failed to update batch of " + distinctOrderNumbers.size() + " orders", e);
+        }
+        processed.forEach(orderNumber -> outcomes.put(orderNumber, ProcessingOutcome.PROCESSED));
+        evictAfterCommit(processed);
+        Set<String> skipped = new LinkedHashSet<>(distinctOrderNumbers);
+        skipped.removeAll(outcomes.keySet());
+        if (!skipped.isEmpty()) {
+            Set<String> existing = new HashSet<>(orderRepository.findExistingOrderNumbers(skipped));
+            skipped.forEach(orderNumber -> outcomes.put(orderNumber,
+                    existing.contains(orderNumber) ? ProcessingOutcome.ALREADY_PROCESSED : ProcessingOutcome.NOT_FOUND));
+        }
+        logger.info("Batch order process finished: {} processed, {} skipped", processed.size(), skipped.size());
+        return outcomes;
+    }
+
+    private void evictAfterCommit(Collection<String> orderNumbers) {
+        if (!orderNumbers.isEmpty()) {
+            AfterCommit.run(() -> orderNumbers.forEach(orderCache::evictByOrderNumber));
         }
-        logger.info("Order processed successfully: {}", orderNumber);
     }
 }
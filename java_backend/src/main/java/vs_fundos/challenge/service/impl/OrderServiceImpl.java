@@ -3,8 +3,16 @@ package vs_fundos.challenge.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.cache.RecentlyProcessedOrders;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderSortField;
 import jakarta.transaction.Transactional;
 import vs_fundos.challenge.event.OrderCreatedEvent;
 import vs_fundos.challenge.exception.*;
@@ -12,7 +20,11 @@ import vs_fundos.challenge.model.Order;
 import org.springframework.stereotype.Service;
 import vs_fundos.challenge.repository.OrderRepository;
 import vs_fundos.challenge.service.OrderService;
+import vs_fundos.challenge.util.AfterCommit;
+import vs_fundos.challenge.util.LogSampler;
 import vs_fundos.challenge.util.Convert;
+import vs_fundos.challenge.util.OrderCursor;
+import vs_fundos.challenge.util.OrderFilters;
 import vs_fundos.challenge.util.OrderFactory;
 
 import java.time.LocalDateTime;
@@ -25,18 +37,44 @@ public class OrderServiceImpl implements OrderService {
     private final ApplicationEventPublisher eventPublisher;
     private final OrderFactory orderFactory;
     private final Convert convert;
+    private final OrderCache orderCache;
+    private final RecentlyProcessedOrders recentlyProcessedOrders;
     private static final Logger logger = LogManager.getLogger(OrderServiceImpl.class);
+    // Every Nth created/updated order is logged at INFO, the rest at DEBUG; failures are always logged
+    @Value("${order.service.log.sample-rate:100}")
+    private long logSampleRate = 100;
+    private final LogSampler created = new LogSampler();
+    private final LogSampler updated = new LogSampler();
+    @Value("${order.listing.max-page-size:500}")
+    private int maxPageSize = 500;
 
-    @Transactional
     public OrderDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
-        return convert.orderModelToDTO(order);
+        return orderCache.get(id, key -> {
+            Order order = orderRepository.findById(key).orElseThrow(() -> new OrderNotFoundException(key));
+            return convert.orderModelToDTO(order);
+        });
+    }
+
+    public OrderPageDTO listOrders(OrderFilterDTO filter, OrderSortField sort, Sort.Direction direction, String cursor, int limit) {
+        if (limit < 1) {
+            throw new InvalidOrderQueryException("limit must be at least 1");
+        }
+        OrderFilters.validate(filter);
+        OrderCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = OrderCursor.decode(cursor);
+            if (after.sort() != sort || after.direction() != direction) {
+                throw new InvalidOrderQueryException("Cursor was issued for sort " + after.sort() + " " + after.direction()
+                        + ", not " + sort + " " + direction);
+            }
+        }
+        return orderRepository.search(filter, sort, direction, after, Math.min(limit, maxPageSize));
     }
 
     @Transactional
     public OrderDTO createRandomOrder() {
         OrderDTO orderDTO = orderFactory.createRandomOrder();
-        logger.info("Starting random order creation: {}", orderDTO.getOrderNumber());
+        logger.debug("Starting random order creation: {}", orderDTO.getOrderNumber());
         Order order = new Order();
         order.setOrderNumber(orderDTO.getOrderNumber());
         order.setTotalValue(orderDTO.getTotalValue());
@@ -44,20 +82,21 @@ public class OrderServiceImpl implements OrderService {
         order.setNotificationType(orderDTO.getNotificationType());
         order.setOrderDateCreated(orderDTO.getOrderDateCreated());
         order.setOrderDateUpdated(orderDTO.getOrderDateUpdated());
+        // Flushed here: with sequence ids the INSERT would otherwise run at commit, outside this catch
         try {
-            orderRepository.save(order);
+            orderRepository.saveAndFlush(order);
         } catch (Exception e) {
             logger.error("Failed to save random order {}, Error: {}", orderDTO.getOrderNumber(), e.getMessage());
             throw new OrderCreationException("Failed to save random order: " + orderDTO.getOrderNumber(), e);
         }
-        logger.info("Random order created successfully: {}", orderDTO.getOrderNumber());
+        logger.log(created.next(logSampleRate), "Random order created successfully: {}", orderDTO.getOrderNumber());
         eventPublisher.publishEvent(new OrderCreatedEvent(orderDTO));
         return orderDTO.toBuilder().build();
     }
 
     @Transactional
     public OrderDTO createOrder(OrderDTO orderDTO) {
-        logger.info("Starting order creation: {}", orderDTO.getOrderNumber());
+        logger.debug("Starting order creation: {}", orderDTO.getOrderNumber());
         Order order = new Order();
         order.setOrderNumber(orderDTO.getOrderNumber());
         order.setTotalValue(orderDTO.getTotalValue());
@@ -66,18 +105,18 @@ public class OrderServiceImpl implements OrderService {
         order.setOrderDateCreated(LocalDateTime.now());
         order.setOrderDateUpdated(LocalDateTime.now());
         try {
-            orderRepository.save(order);
+            orderRepository.saveAndFlush(order);
         } catch (Exception e) {
             logger.error("Failed to save order {}, Error: {}", orderDTO.getOrderNumber(), e.getMessage());
             throw new OrderCreationException("Failed to save order: " + orderDTO.getOrderNumber(), e);
         }
-        logger.info("Order created successfully: {}", orderDTO.getOrderNumber());
+        logger.log(created.next(logSampleRate), "Order created successfully: {}", orderDTO.getOrderNumber());
         eventPublisher.publishEvent(new OrderCreatedEvent(orderDTO));
         return orderDTO;
     }
 
     public OrderDTO updateById(Long id, OrderDTO orderDetails) {
-        logger.info("Starting order update: {}", id);
+        logger.debug("Starting order update: {}", id);
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
         existingOrder.setTotalValue(orderDetails.getTotalValue());
@@ -87,11 +126,19 @@ public class OrderServiceImpl implements OrderService {
         Order updatedOrder = null;
         try {
             updatedOrder = orderRepository.save(existingOrder);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.warn("Order {} was changed concurrently, update rejected", id);
+            throw new OrderUpdateConflictException(id);
         } catch (Exception e) {
             logger.error("Failed to update order {}, Error: {}", orderDetails.getOrderNumber(), e.getMessage());
             throw new OrderUpdateException("Failed to update order: " +  orderDetails.getOrderNumber(), e);
         }
-        logger.info("Order updated successfully: {}", orderDetails.getOrderNumber());
+        logger.log(updated.next(logSampleRate), "Order updated successfully: {}", orderDetails.getOrderNumber());
+        String orderNumber = existingOrder.getOrderNumber();
+        AfterCommit.run(() -> {
+            orderCache.evict(id);
+            recentlyProcessedOrders.forget(orderNumber);
+        });
         return convert.orderModelToDTO(updatedOrder);
     }
 }
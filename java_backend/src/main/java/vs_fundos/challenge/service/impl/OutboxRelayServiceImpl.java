@@ -0,0 +1,132 @@
+package vs_fundos.challenge.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.model.OutboxEvent;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.repository.OutboxEventRepository;
+import vs_fundos.challenge.service.OutboxRelayService;
+import vs_fundos.challenge.util.Convert;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+    // Outbox rows that used their last relay attempt; they stay in order_outbox but are no longer sent
+    public static final String EXHAUSTED = "order.outbox.exhausted";
+    @Value("${order.outbox.relay.batch-size:500}")
+    private int batchSize;
+    @Value("${order.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    @Value("${order.outbox.relay.claim-timeout-ms:30000}")
+    private long claimTimeoutMs;
+    @Value("${order.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderProducerService orderProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final Convert convert;
+    private final MeterRegistry meterRegistry;
+    private static final Logger logger = LogManager.getLogger(OutboxRelayServiceImpl.class);
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval-ms:200}")
+    public void drain() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    // Rows are locked and claimed in one short transaction, sent and awaited with no transaction open, then deleted or
+    // released with an extra attempt in another, so a slow broker never pins a connection or row locks
+    public int relayBatch() {
+        List<OutboxEvent> events = claimNextBatch();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Map<Long, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                sends.put(event.getId(), orderProducerService.sendMessageAsync(convert.jsonToObject(event.getPayload(), OrderDTO.class)));
+            } catch (RuntimeException e) {
+                sends.put(event.getId(), CompletableFuture.failedFuture(e));
+            }
+        }
+        List<Long> acked = new ArrayList<>(events.size());
+        List<Long> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        sends.forEach((id, send) -> {
+            try {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acked.add(id);
+            } catch (ExecutionException | TimeoutException e) {
+                logger.error("Failed to relay outbox event {}, Error: {}", id, e.getMessage());
+                failed.add(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(id);
+            }
+        });
+        transactionTemplate.execute(status -> {
+            if (!acked.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(acked);
+            }
+            if (!failed.isEmpty()) {
+                outboxEventRepository.incrementAttempts(failed);
+            }
+            return null;
+        });
+        reportExhausted(events, failed);
+        logger.info("Outbox batch relayed: {} acknowledged, {} failed", acked.size(), failed.size());
+        return acked.size();
+    }
+
+    private List<OutboxEvent> claimNextBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(maxAttempts, now, batchSize);
+            if (!batch.isEmpty()) {
+                outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), now.plus(Duration.ofMillis(claimTimeoutMs)));
+            }
+            return batch;
+        });
+        return events == null ? List.of() : events;
+    }
+
+    // lockNextBatch skips rows at max-attempts from now on, so each one is logged once here and counted
+    private void reportExhausted(List<OutboxEvent> events, List<Long> failed) {
+        Set<Long> failedIds = new HashSet<>(failed);
+        int exhausted = 0;
+        for (OutboxEvent event : events) {
+            if (failedIds.contains(event.getId()) && event.getAttempts() + 1 >= maxAttempts) {
+                logger.error("Outbox event {} for order {} failed {} times and will no longer be relayed", event.getId(), event.getOrderNumber(), maxAttempts);
+                exhausted++;
+            }
+        }
+        if (exhausted > 0) {
+            Counter.builder(EXHAUSTED).register(meterRegistry).increment(exhausted);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package vs_fundos.challenge.service.notification;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
 import vs_fundos.challenge.enums.NotificationType;
 
+import java.util.List;
+
 @Service
 public class EmailNotificationService implements NotificationService {
+    private static final Logger logger = LogManager.getLogger(EmailNotificationService.class);
+
     @Override
     public void send(String message) {
-        System.out.println("[Email] - " + message);
+        logger.info("[Email] - {}", message);
+    }
+
+    @Override
+    public void sendBatch(List<String> messages) {
+        logger.info("[Email] - {} messages:\n{}", messages.size(), String.join("\n", messages));
     }
 
     @Override
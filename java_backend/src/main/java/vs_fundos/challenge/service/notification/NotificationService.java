@@ -2,7 +2,13 @@ package vs_fundos.challenge.service.notification;
 
 import vs_fundos.challenge.enums.NotificationType;
 
+import java.util.List;
+
 public interface NotificationService {
     void send(String message);
     NotificationType getStrategy();
+
+    default void sendBatch(List<String> messages) {
+        messages.forEach(this::send);
+    }
 }
@@ -0,0 +1,234 @@
+package vs_fundos.challenge.service.notification.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import vs_fundos.challenge.enums.NotificationOverflowPolicy;
+import vs_fundos.challenge.enums.NotificationRoutingMode;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.metrics.OrderMetrics;
+import vs_fundos.challenge.service.notification.NotificationService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NotificationChannel {
+    public static final String BATCH_SIZE = "order.notification.batch.size";
+    public static final String QUEUE_DEPTH = "order.notification.queue.depth";
+    public static final String RETRIES = "order.notification.retries";
+    public static final String DROPPED = "order.notification.dropped";
+    public static final String FAILOVERS = "order.notification.failovers";
+    private static final long IDLE_POLL_MS = 100;
+    // Under sustained overflow every enqueue drops: one warning per interval carries the count instead
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final Logger logger = LogManager.getLogger(NotificationChannel.class);
+    private final NotificationType strategy;
+    private final List<NotificationService> providers;
+    private final NotificationRoutingMode routingMode;
+    private final BlockingQueue<Notification> queue;
+    private final NotificationOverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final OrderMetrics orderMetrics;
+    private final DistributionSummary batchSizes;
+    private final Counter retries;
+    private final Counter failovers;
+    private final Counter droppedOverflow;
+    private final Counter droppedFailed;
+    private final Thread worker;
+    private final AtomicLong droppedSinceLog = new AtomicLong();
+    private final AtomicLong lastDropLog = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+    private volatile boolean running = true;
+
+    public NotificationChannel(NotificationType strategy, List<NotificationService> providers, NotificationRoutingMode routingMode,
+                               int capacity, NotificationOverflowPolicy overflowPolicy, long offerTimeoutMs, int batchSize,
+                               long lingerMs, int maxAttempts, long retryBackoffMs, OrderMetrics orderMetrics,
+                               MeterRegistry meterRegistry) {
+        this.strategy = strategy;
+        this.providers = List.copyOf(providers);
+        this.routingMode = routingMode;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.orderMetrics = orderMetrics;
+        String tag = strategy.name();
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE)
+                .description("Messages delivered per notification batch")
+                .tag("strategy", tag)
+                .register(meterRegistry);
+        this.retries = Counter.builder(RETRIES).tag("strategy", tag).register(meterRegistry);
+        this.failovers = Counter.builder(FAILOVERS).tag("strategy", tag).register(meterRegistry);
+        this.droppedOverflow = Counter.builder(DROPPED).tags("strategy", tag, "reason", "overflow").register(meterRegistry);
+        this.droppedFailed = Counter.builder(DROPPED).tags("strategy", tag, "reason", "failed").register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH, queue, Collection::size)
+                .description("Notifications waiting to be delivered")
+                .tag("strategy", tag)
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "notification-" + strategy.name().toLowerCase());
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    public void enqueue(String orderNumber, String message) {
+        Notification notification = new Notification(orderNumber, message);
+        if (queue.offer(notification)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(notification, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                dropOverflow(notification);
+            }
+            case DROP_NEWEST -> dropOverflow(notification);
+            case DROP_OLDEST -> {
+                while (!queue.offer(notification)) {
+                    Notification evicted = queue.poll();
+                    if (evicted != null) {
+                        dropOverflow(evicted);
+                    }
+                }
+            }
+            case CALLER_RUNS -> deliver(List.of(message));
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    public void shutdown(long timeoutMs) {
+        running = false;
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Notification channel {} stopped with {} undelivered messages", strategy, queue.size());
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Notification> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                long lingerDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize && running) {
+                    long remaining = lingerDeadline - System.nanoTime();
+                    Notification next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                // A fresh list per batch: providers may hold on to the list they were handed.
+                deliver(batch.stream().map(Notification::message).toList());
+            } catch (InterruptedException e) {
+                logger.warn("Notification channel {} interrupted with {} undelivered messages", strategy, queue.size());
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(List<String> batch) {
+        for (int i = 0; i < providers.size(); i++) {
+            NotificationService provider = providers.get(i);
+            boolean delivered = deliver(provider, batch);
+            if (routingMode == NotificationRoutingMode.FAN_OUT) {
+                if (!delivered) {
+                    droppedFailed.increment(batch.size());
+                }
+            } else if (delivered) {
+                return;
+            } else if (i + 1 < providers.size() && !Thread.currentThread().isInterrupted()) {
+                logger.warn("Failing over {} {} notifications from {} to {}", batch.size(), strategy, name(provider), name(providers.get(i + 1)));
+                failovers.increment();
+            } else {
+                droppedFailed.increment(batch.size());
+                return;
+            }
+        }
+    }
+
+    private boolean deliver(NotificationService provider, List<String> batch) {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                provider.sendBatch(batch);
+                orderMetrics.recordNotificationSend(strategy, start);
+                batchSizes.record(batch.size());
+                return true;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    logger.error("{} failed to deliver {} {} notifications after {} attempts. Error: {}", name(provider), batch.size(), strategy, attempt, e.getMessage(), e);
+                    return false;
+                }
+                logger.warn("{} failed to deliver {} {} notifications (attempt {}/{}), retrying. Error: {}", name(provider), batch.size(), strategy, attempt, maxAttempts, e.getMessage());
+                retries.increment();
+                if (!backoff(attempt)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String name(NotificationService provider) {
+        return provider.getClass().getSimpleName();
+    }
+
+    private void dropOverflow(Notification dropped) {
+        droppedOverflow.increment();
+        droppedSinceLog.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDropLog.get();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLog.compareAndSet(last, now)) {
+            logger.warn("Notification queue for {} is full, dropped {} messages since the last report, the latest for order {}",
+                    strategy, droppedSinceLog.getAndSet(0), dropped.orderNumber());
+        }
+    }
+
+    private record Notification(String orderNumber, String message) {
+    }
+}
@@ -1,31 +1,140 @@
 package vs_fundos.challenge.service.notification.impl;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import vs_fundos.challenge.enums.NotificationOverflowPolicy;
+import vs_fundos.challenge.enums.NotificationRoutingMode;
 import vs_fundos.challenge.enums.NotificationType;
 import vs_fundos.challenge.exception.StrategyNotFoundException;
+import vs_fundos.challenge.metrics.OrderMetrics;
 import vs_fundos.challenge.service.notification.NotificationDispatcherService;
 import vs_fundos.challenge.service.notification.NotificationService;
 
-import java.util.List;
+import java.util.*;
 
 @Service
-@AllArgsConstructor
 public class NotificationDispatcherServiceImpl implements NotificationDispatcherService {
-    private final List<NotificationService> notificationServices;
+    private static final Logger logger = LogManager.getLogger(NotificationDispatcherServiceImpl.class);
+    private static final NotificationType[] CHANNELS = Arrays.stream(NotificationType.values())
+            .filter(type -> type != NotificationType.ALL)
+            .toArray(NotificationType[]::new);
+    @Value("${notification.routing.mode:FAILOVER}")
+    private NotificationRoutingMode routingMode = NotificationRoutingMode.FAILOVER;
+    @Value("${notification.async.enabled:true}")
+    private boolean asyncEnabled;
+    @Value("${notification.queue.capacity:10000}")
+    private int queueCapacity;
+    @Value("${notification.queue.overflow-policy:BLOCK}")
+    private NotificationOverflowPolicy overflowPolicy;
+    @Value("${notification.queue.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+    @Value("${notification.batch.max-size:100}")
+    private int batchSize;
+    @Value("${notification.batch.linger-ms:5}")
+    private long lingerMs;
+    @Value("${notification.retry.max-attempts:3}")
+    private int maxAttempts;
+    @Value("${notification.retry.backoff-ms:200}")
+    private long retryBackoffMs;
+    @Value("${notification.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+    private final Map<NotificationType, List<NotificationService>> routes;
+    private final OrderMetrics orderMetrics;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationType, NotificationChannel> channels = new EnumMap<>(NotificationType.class);
+
+    // Providers keep the injection order (@Order), which is the failover priority within a channel.
+    public NotificationDispatcherServiceImpl(List<NotificationService> notificationServices, OrderMetrics orderMetrics,
+                                             MeterRegistry meterRegistry) {
+        this.routes = routes(notificationServices);
+        this.orderMetrics = orderMetrics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+        routes.forEach((type, providers) -> {
+            NotificationChannel channel = new NotificationChannel(type, providers, routingMode, queueCapacity, overflowPolicy,
+                    offerTimeoutMs, batchSize, lingerMs, maxAttempts, retryBackoffMs, orderMetrics, meterRegistry);
+            channels.put(type, channel);
+            channel.start();
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        channels.values().forEach(channel -> channel.shutdown(shutdownTimeoutMs));
+    }
 
     @Override
-    public void dispatch(NotificationType type, String message) {
-        if(type == NotificationType.ALL) {
-            notificationServices.forEach(service -> service.send(message));
+    public void dispatch(NotificationType type, String orderNumber, String message) {
+        if (type == null) {
+            logger.warn("Skipping notification for order {} without a notification type", orderNumber);
+            return;
+        }
+        if (type == NotificationType.ALL) {
+            for (NotificationType channel : CHANNELS) {
+                send(channel, routes.get(channel), orderNumber, message);
+            }
         } else {
-            NotificationService strategy = notificationServices.stream()
-                    .filter(
-                    service -> service.getStrategy() == type
-                    )
-                    .findFirst()
-                    .orElseThrow(() -> new StrategyNotFoundException(type.toString()));
-            strategy.send(message);
+            send(type, routes.get(type), orderNumber, message);
+        }
+    }
+
+    private void send(NotificationType type, List<NotificationService> providers, String orderNumber, String message) {
+        NotificationChannel channel = channels.get(type);
+        if (channel != null) {
+            channel.enqueue(orderNumber, message);
+            return;
+        }
+        RuntimeException failure = null;
+        for (NotificationService provider : providers) {
+            long start = System.nanoTime();
+            try {
+                provider.send(message);
+                if (routingMode == NotificationRoutingMode.FAILOVER) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("{} provider {} failed to send notification. Error: {}", type, provider.getClass().getSimpleName(), e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            } finally {
+                orderMetrics.recordNotificationSend(type, start);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Map<NotificationType, List<NotificationService>> routes(List<NotificationService> notificationServices) {
+        Map<NotificationType, List<NotificationService>> routes = new EnumMap<>(NotificationType.class);
+        for (NotificationService service : notificationServices) {
+            NotificationType type = service.getStrategy();
+            if (type == null || type == NotificationType.ALL) {
+                throw new IllegalStateException("Notification provider " + service.getClass().getName() + " must declare a single channel, got: " + type);
+            }
+            routes.computeIfAbsent(type, key -> new ArrayList<>()).add(service);
+        }
+        List<NotificationType> missing = Arrays.stream(CHANNELS)
+                .filter(type -> !routes.containsKey(type))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new StrategyNotFoundException(missing.toString());
         }
+        routes.replaceAll((type, providers) -> List.copyOf(providers));
+        return routes;
     }
 }
@@ -23,6 +23,14 @@ public class Convert {
         return json;
     }
 
+    public <T> T jsonToObject(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new JsonConvertionException("Error converting JSON to Object", e);
+        }
+    }
+
     public OrderDTO orderModelToDTO(Order order) {
         return OrderDTO.builder()
                 .orderNumber(order.getOrderNumber())
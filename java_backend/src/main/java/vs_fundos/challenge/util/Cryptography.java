@@ -1,24 +1,89 @@
 package vs_fundos.challenge.util;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.*;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Component
+@RequiredArgsConstructor
 public class Cryptography {
-    private static final String ALGORITHM = "AES";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final CryptographyKeyManager keyManager;
+    // Pooled instead of thread-local: with virtual threads every request runs on a fresh thread.
+    private final Queue<Cipher> ciphers = new ConcurrentLinkedQueue<>();
 
-    public String encrypt(String data) throws Exception {
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, generateKey());
-        byte[] encryptedBytes = cipher.doFinal(data.getBytes());
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+    // Layout: [key id length][key id][12-byte nonce][ciphertext + GCM tag], Base64 encoded.
+    public String encrypt(String data) throws GeneralSecurityException {
+        String keyId = keyManager.getActiveKeyId();
+        byte[] keyIdBytes = keyId.getBytes(StandardCharsets.US_ASCII);
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = borrowCipher();
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, keyManager.getKey(keyId), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] plainBytes = data.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer output = ByteBuffer.allocate(1 + keyIdBytes.length + IV_LENGTH + cipher.getOutputSize(plainBytes.length));
+            output.put((byte) keyIdBytes.length).put(keyIdBytes).put(iv);
+            cipher.doFinal(ByteBuffer.wrap(plainBytes), output);
+            return Base64.getEncoder().encodeToString(output.array());
+        } finally {
+            ciphers.offer(cipher);
+        }
     }
 
-    public SecretKey generateKey() throws Exception {
-        KeyGenerator keyGen = KeyGenerator.getInstance(ALGORITHM);
-        keyGen.init(128);
-        return keyGen.generateKey();
+    public String decrypt(String encryptedData) throws GeneralSecurityException {
+        ByteBuffer input;
+        try {
+            input = ByteBuffer.wrap(Base64.getDecoder().decode(encryptedData));
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("Encrypted data is not valid Base64", e);
+        }
+        int keyIdLength = input.hasRemaining() ? Byte.toUnsignedInt(input.get()) : -1;
+        if (keyIdLength < 0 || input.remaining() < keyIdLength + IV_LENGTH + TAG_LENGTH_BITS / 8) {
+            throw new GeneralSecurityException("Encrypted data is truncated");
+        }
+        byte[] keyIdBytes = new byte[keyIdLength];
+        input.get(keyIdBytes);
+        String keyId = new String(keyIdBytes, StandardCharsets.US_ASCII);
+        SecretKey key = keyManager.getKey(keyId);
+        if (key == null) {
+            throw new GeneralSecurityException("Unknown cryptography key: " + keyId);
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        input.get(iv);
+        Cipher cipher = borrowCipher();
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            ByteBuffer output = ByteBuffer.allocate(cipher.getOutputSize(input.remaining()));
+            cipher.doFinal(input, output);
+            return new String(output.array(), 0, output.position(), StandardCharsets.UTF_8);
+        } finally {
+            ciphers.offer(cipher);
+        }
+    }
+
+    private Cipher borrowCipher() {
+        Cipher cipher = ciphers.poll();
+        return cipher != null ? cipher : newCipher();
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher not available: " + TRANSFORMATION, e);
+        }
     }
 }
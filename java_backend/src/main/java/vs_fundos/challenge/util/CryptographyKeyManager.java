@@ -0,0 +1,90 @@
+package vs_fundos.challenge.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class CryptographyKeyManager {
+    private static final String ALGORITHM = "AES";
+    private static final String EPHEMERAL_KEY_ID = "ephemeral";
+    private static final int MAX_KEY_ID_LENGTH = 255;
+    private static final Logger logger = LogManager.getLogger(CryptographyKeyManager.class);
+    private final Map<String, SecretKey> keys;
+    private final String activeKeyId;
+
+    public CryptographyKeyManager(@Value("${cryptography.keys:}") String keys,
+                                  @Value("${cryptography.active-key-id:}") String activeKeyId) {
+        Map<String, SecretKey> parsedKeys = parseKeys(keys);
+        if (parsedKeys.isEmpty()) {
+            logger.warn("No cryptography.keys configured, generating an ephemeral key. Encrypted values will not survive a restart.");
+            parsedKeys.put(EPHEMERAL_KEY_ID, generateKey());
+            activeKeyId = EPHEMERAL_KEY_ID;
+        } else if (activeKeyId == null || activeKeyId.isBlank()) {
+            if (parsedKeys.size() > 1) {
+                throw new IllegalStateException("cryptography.active-key-id is required when more than one key is configured");
+            }
+            activeKeyId = parsedKeys.keySet().iterator().next();
+        }
+        if (!parsedKeys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active cryptography key not configured: " + activeKeyId);
+        }
+        this.keys = Collections.unmodifiableMap(parsedKeys);
+        this.activeKeyId = activeKeyId;
+        logger.info("Cryptography keys loaded: {}, active key: {}", this.keys.keySet(), this.activeKeyId);
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getKey(String keyId) {
+        return keys.get(keyId);
+    }
+
+    private static Map<String, SecretKey> parseKeys(String keys) {
+        Map<String, SecretKey> parsedKeys = new LinkedHashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return parsedKeys;
+        }
+        for (String entry : keys.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalStateException("Invalid cryptography key entry, expected keyId:base64Key");
+            }
+            String keyId = parts[0].trim();
+            if (!StandardCharsets.US_ASCII.newEncoder().canEncode(keyId) || keyId.length() > MAX_KEY_ID_LENGTH) {
+                throw new IllegalStateException("Invalid cryptography key id: " + keyId);
+            }
+            byte[] key = Base64.getDecoder().decode(parts[1].trim());
+            if (key.length != 16 && key.length != 24 && key.length != 32) {
+                throw new IllegalStateException("Cryptography key " + keyId + " must be 128, 192 or 256 bits");
+            }
+            if (parsedKeys.put(keyId, new SecretKeySpec(key, ALGORITHM)) != null) {
+                throw new IllegalStateException("Duplicate cryptography key id: " + keyId);
+            }
+        }
+        return parsedKeys;
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            KeyGenerator keyGen = KeyGenerator.getInstance(ALGORITHM);
+            keyGen.init(256);
+            return keyGen.generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+}
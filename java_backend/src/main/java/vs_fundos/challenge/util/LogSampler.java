@@ -0,0 +1,20 @@
+package vs_fundos.challenge.util;
+
+import org.apache.logging.log4j.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Picks the level of a hot log statement: INFO for the first call and every rate-th one after it, DEBUG for the rest.
+// A rate of 1 logs every call at INFO, 0 or less keeps all of them at DEBUG.
+public final class LogSampler {
+    private final AtomicLong calls = new AtomicLong();
+
+    public Level next(long rate) {
+        long call = calls.getAndIncrement();
+        return rate > 0 && call % rate == 0 ? Level.INFO : Level.DEBUG;
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+}
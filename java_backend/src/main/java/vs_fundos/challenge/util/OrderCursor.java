@@ -0,0 +1,55 @@
+package vs_fundos.challenge.util;
+
+import org.springframework.data.domain.Sort;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Keyset position: the sort key and id of the last row served. Opaque to clients.
+public record OrderCursor(OrderSortField sort, Sort.Direction direction, Long id, String value) {
+    private static final String SEPARATOR = ":";
+
+    public static OrderCursor after(OrderSortField sort, Sort.Direction direction, Long id, OrderDTO last) {
+        String value = switch (sort) {
+            case ID -> "";
+            case ORDER_DATE_CREATED -> last.getOrderDateCreated().toString();
+            case ORDER_DATE_UPDATED -> last.getOrderDateUpdated().toString();
+            case TOTAL_VALUE -> last.getTotalValue().toPlainString();
+        };
+        return new OrderCursor(sort, direction, id, value);
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            OrderCursor decoded = new OrderCursor(OrderSortField.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    Long.valueOf(parts[2]), parts[3]);
+            switch (decoded.sort()) {
+                case ORDER_DATE_CREATED, ORDER_DATE_UPDATED -> decoded.dateTimeValue();
+                case TOTAL_VALUE -> decoded.decimalValue();
+                default -> { }
+            }
+            return decoded;
+        } catch (RuntimeException e) {
+            throw new InvalidOrderQueryException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sort.name(), direction.name(), id.toString(), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime dateTimeValue() {
+        return LocalDateTime.parse(value);
+    }
+
+    public BigDecimal decimalValue() {
+        return new BigDecimal(value);
+    }
+}
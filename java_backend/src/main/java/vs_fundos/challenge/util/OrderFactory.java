@@ -1,20 +1,26 @@
 package vs_fundos.challenge.util;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import vs_fundos.challenge.dto.OrderDTO;
 import vs_fundos.challenge.enums.NotificationType;
 import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.generator.OrderNumberGenerator;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
+@RequiredArgsConstructor
 public class OrderFactory {
+    private static final NotificationType[] NOTIFICATION_TYPES = NotificationType.values();
+    private final OrderNumberGenerator orderNumberGenerator;
+
     public OrderDTO createRandomOrder() {
         return OrderDTO.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
                 .totalValue(generateTotalValue())
                 .status(OrderStatus.UNPROCESSED)
                 .orderDateCreated(LocalDateTime.now())
@@ -23,19 +29,12 @@ public class OrderFactory {
                 .build();
     }
 
-    private static String generateOrderNumber() {
-        return String.format("ORDER-%06d", new Random().nextInt(1000000));
-    }
-
     private static BigDecimal generateTotalValue() {
-        double value = (Math.random() * 100) + 1;
+        double value = (ThreadLocalRandom.current().nextDouble() * 100) + 1;
         return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private NotificationType generateNotificationType() {
-        NotificationType[] allTypes = NotificationType.values();
-        Random random = new Random();
-        int randomIndex = random.nextInt(allTypes.length);
-        return allTypes[randomIndex];
+    private static NotificationType generateNotificationType() {
+        return NOTIFICATION_TYPES[ThreadLocalRandom.current().nextInt(NOTIFICATION_TYPES.length)];
     }
 }
@@ -0,0 +1,21 @@
+package vs_fundos.challenge.util;
+
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+
+public final class OrderFilters {
+    private OrderFilters() {
+    }
+
+    public static void validate(OrderFilterDTO filter) {
+        validateRange("created", filter.getCreatedFrom(), filter.getCreatedTo());
+        validateRange("updated", filter.getUpdatedFrom(), filter.getUpdatedTo());
+        validateRange("totalValue", filter.getMinTotalValue(), filter.getMaxTotalValue());
+    }
+
+    private static <T extends Comparable<? super T>> void validateRange(String field, T from, T to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new InvalidOrderQueryException("Invalid " + field + " range: " + from + " is after " + to);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package vs_fundos.challenge.util;
+
+import java.util.Arrays;
+
+// Bounded set of recently added strings, stored as 64-bit fingerprints in open-addressing tables (8 bytes a slot, no
+// per-entry objects). Each stripe keeps two generations: the current one becomes "previous" once it holds its share of
+// the capacity or is half a window old, and the old previous is cleared. Every lookup, add and remove first expires
+// the stripe, dropping a previous generation that started a window ago, so an idle set forgets too and nothing is
+// found after a window. Two distinct keys share a fingerprint with ~2^-64 odds.
+public final class RecentKeySet {
+    private static final double MAX_LOAD = 0.5;
+    private final Stripe[] stripes;
+    private final long windowNanos;
+
+    public RecentKeySet(int capacity, int stripeCount, long windowMillis) {
+        if (capacity < 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("capacity and stripeCount must be positive, got: " + capacity + ", " + stripeCount);
+        }
+        int stripeCapacity = Math.max(1, capacity / stripeCount);
+        int needed = (int) Math.min(1 << 30, (long) Math.ceil(stripeCapacity / MAX_LOAD));
+        int slots = needed <= 2 ? 2 : Integer.highestOneBit(needed - 1) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(slots, stripeCapacity);
+        }
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public boolean contains(String key) {
+        long fingerprint = fingerprint(key);
+        return stripe(fingerprint).contains(fingerprint, windowNanos);
+    }
+
+    public void add(String key) {
+        long fingerprint = fingerprint(key);
+        stripe(fingerprint).add(fingerprint, windowNanos);
+    }
+
+    public void remove(String key) {
+        long fingerprint = fingerprint(key);
+        stripe(fingerprint).remove(fingerprint, windowNanos);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size(windowNanos);
+        }
+        return size;
+    }
+
+    public long memoryBytes() {
+        return (long) stripes.length * stripes[0].current.length * Long.BYTES * 2;
+    }
+
+    private Stripe stripe(long fingerprint) {
+        return stripes[(int) ((fingerprint >>> 32) % stripes.length)];
+    }
+
+    // 0 marks an empty slot
+    private static long fingerprint(String key) {
+        long hash = BloomFilter.hash(key);
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class Stripe {
+        private final int capacity;
+        private long[] current;
+        private long[] previous;
+        private int currentSize;
+        private int previousSize;
+        private long currentStart = System.nanoTime();
+        private long previousStart = currentStart;
+
+        private Stripe(int slots, int capacity) {
+            this.capacity = capacity;
+            this.current = new long[slots];
+            this.previous = new long[slots];
+        }
+
+        private synchronized boolean contains(long fingerprint, long windowNanos) {
+            expire(System.nanoTime(), windowNanos);
+            return find(current, fingerprint) || find(previous, fingerprint);
+        }
+
+        private synchronized void add(long fingerprint, long windowNanos) {
+            long now = System.nanoTime();
+            expire(now, windowNanos);
+            if (find(current, fingerprint)) {
+                return;
+            }
+            if (currentSize >= capacity) {
+                rotate(now);
+            }
+            int mask = current.length - 1;
+            int slot = (int) fingerprint & mask;
+            while (current[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            current[slot] = fingerprint;
+            currentSize++;
+        }
+
+        private synchronized void remove(long fingerprint, long windowNanos) {
+            expire(System.nanoTime(), windowNanos);
+            if (delete(current, fingerprint)) {
+                currentSize--;
+            }
+            if (delete(previous, fingerprint)) {
+                previousSize--;
+            }
+        }
+
+        private synchronized int size(long windowNanos) {
+            expire(System.nanoTime(), windowNanos);
+            return currentSize + previousSize;
+        }
+
+        // Current rotates at half a window; previous (which started before it) is dropped a window after it started
+        private void expire(long now, long windowNanos) {
+            if (now - currentStart >= windowNanos / 2) {
+                rotate(now);
+            }
+            if (previousSize > 0 && now - previousStart >= windowNanos) {
+                Arrays.fill(previous, 0);
+                previousSize = 0;
+            }
+        }
+
+        private void rotate(long now) {
+            long[] retired = previous;
+            previous = current;
+            previousSize = currentSize;
+            previousStart = currentStart;
+            Arrays.fill(retired, 0);
+            current = retired;
+            currentSize = 0;
+            currentStart = now;
+        }
+
+        private static boolean find(long[] table, long fingerprint) {
+            int mask = table.length - 1;
+            int slot = (int) fingerprint & mask;
+            for (long stored = table[slot]; stored != 0; stored = table[slot]) {
+                if (stored == fingerprint) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        // Backward-shift deletion: later entries of the probe run move into the hole when it lies between their home
+        // slot and where they sit, so lookups never need tombstones
+        private static boolean delete(long[] table, long fingerprint) {
+            int mask = table.length - 1;
+            int hole = (int) fingerprint & mask;
+            while (table[hole] != fingerprint) {
+                if (table[hole] == 0) {
+                    return false;
+                }
+                hole = (hole + 1) & mask;
+            }
+            for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home = (int) table[next] & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table[hole] = table[next];
+                    hole = next;
+                }
+            }
+            table[hole] = 0;
+            return true;
+        }
+    }
+}
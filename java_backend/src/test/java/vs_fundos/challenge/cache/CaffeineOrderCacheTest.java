@@ -0,0 +1,103 @@
+package vs_fundos.challenge.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.cache.impl.CaffeineOrderCache;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaffeineOrderCacheTest {
+    private CaffeineOrderCache orderCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        orderCache = new CaffeineOrderCache(2, Duration.ofMinutes(1), Runnable::run);
+        loads = new AtomicInteger();
+    }
+
+    private Function<Long, OrderDTO> loader(String orderNumber) {
+        return id -> {
+            loads.incrementAndGet();
+            return OrderDTO.builder().orderNumber(orderNumber).status(OrderStatus.UNPROCESSED).build();
+        };
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeFromCache() {
+        OrderDTO first = orderCache.get(1L, loader("ORDER-1"));
+        OrderDTO second = orderCache.get(1L, loader("ORDER-1"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(orderCache.stats().hitCount()).isEqualTo(1);
+        assertThat(orderCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldReturnCopies_soCallersCannotMutateCachedEntry() {
+        orderCache.get(1L, loader("ORDER-1")).setOrderNumber("MUTATED");
+
+        assertThat(orderCache.get(1L, loader("ORDER-1")).getOrderNumber()).isEqualTo("ORDER-1");
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        orderCache.get(1L, loader("ORDER-1"));
+
+        orderCache.evict(1L);
+        orderCache.get(1L, loader("ORDER-1"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictByOrderNumber_shouldInvalidateEntryIndexedByOrderNumber() {
+        orderCache.get(1L, loader("ORDER-1"));
+        orderCache.get(2L, loader("ORDER-2"));
+
+        orderCache.evictByOrderNumber("ORDER-1");
+        orderCache.get(1L, loader("ORDER-1"));
+        orderCache.get(2L, loader("ORDER-2"));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void evictByOrderNumber_shouldIgnoreUnknownOrderNumber() {
+        orderCache.get(1L, loader("ORDER-1"));
+
+        orderCache.evictByOrderNumber("ORDER-UNKNOWN");
+
+        assertThat(orderCache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldEvictEntries_whenMaximumSizeIsExceeded() {
+        for (long id = 1; id <= 10; id++) {
+            orderCache.get(id, loader("ORDER-" + id));
+        }
+
+        assertThat(orderCache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(orderCache.stats().evictionCount()).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    void bindTo_shouldExposeHitMissAndEvictionMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        orderCache.bindTo(registry);
+        orderCache.get(1L, loader("ORDER-1"));
+        orderCache.get(1L, loader("ORDER-1"));
+
+        assertThat(registry.get("cache.gets").tag("cache", CaffeineOrderCache.CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.find("cache.evictions").functionCounter()).isNotNull();
+    }
+}
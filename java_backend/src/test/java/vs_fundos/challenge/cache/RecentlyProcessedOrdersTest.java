@@ -0,0 +1,68 @@
+package vs_fundos.challenge.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecentlyProcessedOrdersTest {
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private RecentlyProcessedOrders recentlyProcessedOrders(boolean enabled) {
+        RecentlyProcessedOrders recentlyProcessedOrders = new RecentlyProcessedOrders(registry);
+        ReflectionTestUtils.setField(recentlyProcessedOrders, "enabled", enabled);
+        recentlyProcessedOrders.start();
+        return recentlyProcessedOrders;
+    }
+
+    @Test
+    void contains_shouldFindAddedOrders_andRecordEachLookup() {
+        RecentlyProcessedOrders recentlyProcessedOrders = recentlyProcessedOrders(true);
+
+        recentlyProcessedOrders.add("ORDER-1");
+
+        assertThat(recentlyProcessedOrders.contains("ORDER-1")).isTrue();
+        assertThat(recentlyProcessedOrders.contains("ORDER-2")).isFalse();
+        assertThat(recentlyProcessedOrders.contains("ORDER-3")).isFalse();
+        assertThat(registry.get(RecentlyProcessedOrders.DEDUP).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get(RecentlyProcessedOrders.DEDUP).tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void start_shouldReportTheSizeAndMemoryOfTheSet() {
+        RecentlyProcessedOrders recentlyProcessedOrders = recentlyProcessedOrders(true);
+
+        recentlyProcessedOrders.add("ORDER-1");
+
+        assertThat(registry.get(RecentlyProcessedOrders.DEDUP_SIZE).gauge().value()).isEqualTo(1);
+        assertThat(registry.get(RecentlyProcessedOrders.DEDUP_MEMORY).gauge().value()).isPositive();
+    }
+
+    @Test
+    void forget_shouldDropTheOrder() {
+        RecentlyProcessedOrders recentlyProcessedOrders = recentlyProcessedOrders(true);
+        recentlyProcessedOrders.add("ORDER-1");
+
+        recentlyProcessedOrders.forget("ORDER-1");
+
+        assertThat(recentlyProcessedOrders.contains("ORDER-1")).isFalse();
+    }
+
+    @Test
+    void whenDisabled_shouldHoldNothing_andRegisterNoMeters() {
+        RecentlyProcessedOrders recentlyProcessedOrders = recentlyProcessedOrders(false);
+
+        recentlyProcessedOrders.add("ORDER-1");
+        recentlyProcessedOrders.forget("ORDER-1");
+
+        assertThat(recentlyProcessedOrders.contains("ORDER-1")).isFalse();
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,161 @@
+package vs_fundos.challenge.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.consumer.impl.KafkaOrderBatchConsumerServiceImpl;
+import vs_fundos.challenge.dto.OrderBatchOutcome;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.KafkaProcessingException;
+import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
+import vs_fundos.challenge.producer.OrderProcessedProducerService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaOrderBatchConsumerServiceImplTest {
+    private static final String TOPIC = "first_topic";
+    @Mock
+    private OrderConsumerHandler orderConsumerHandler;
+    @Mock
+    private OrderMetrics orderMetrics;
+    @Mock
+    private DeadLetterMetrics deadLetterMetrics;
+    @Mock
+    private ObjectProvider<OrderProcessedProducerService> orderProcessedProducer;
+    @Mock
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    @InjectMocks
+    private KafkaOrderBatchConsumerServiceImpl kafkaOrderBatchConsumerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(kafkaOrderBatchConsumerService, "dltSuffix", "-dlt");
+        kafkaOrderBatchConsumerService.start();
+    }
+
+    private static List<ConsumerRecord<String, OrderDTO>> records(List<OrderDTO> orders) {
+        List<ConsumerRecord<String, OrderDTO>> records = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderDTO order = orders.get(i);
+            records.add(new ConsumerRecord<>(TOPIC, 0, i, 1000L * (i + 1), TimestampType.CREATE_TIME, 0, 0,
+                    order.getOrderNumber(), order, new RecordHeaders(), Optional.empty()));
+        }
+        return records;
+    }
+
+    private static OrderBatchOutcome processed(List<OrderDTO> processed) {
+        return new OrderBatchOutcome(processed, List.of());
+    }
+
+    @Test
+    void listen_whenBatchIsReceived_shouldDelegateWholeBatchToHandler() {
+        List<OrderDTO> batch = List.of(
+                OrderDTO.builder().orderNumber("ORDER-1").build(),
+                OrderDTO.builder().orderNumber("ORDER-2").build());
+
+        when(orderConsumerHandler.handleBatch(batch)).thenReturn(processed(batch));
+
+        kafkaOrderBatchConsumerService.listen(records(batch));
+
+        verify(orderConsumerHandler, times(1)).handleBatch(batch);
+        verify(orderConsumerHandler, never()).handleMessage(any());
+        verify(orderMetrics, times(1)).recordConsumerLag(1000L);
+        verify(orderMetrics, times(1)).recordConsumerLag(2000L);
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(true));
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void listen_whenHandlerFails_shouldRecordFailedProcessingAndRethrow() {
+        List<OrderDTO> batch = List.of(OrderDTO.builder().orderNumber("ORDER-1").build());
+        doThrow(new KafkaProcessingException("boom", new RuntimeException())).when(orderConsumerHandler).handleBatch(batch);
+
+        assertThrows(KafkaProcessingException.class, () -> kafkaOrderBatchConsumerService.listen(records(batch)));
+
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(false));
+    }
+
+    @Test
+    void listen_whenProcessedEventsAreEnabled_shouldPublishTheProcessedOrders() {
+        OrderDTO processed = OrderDTO.builder().orderNumber("ORDER-1").build();
+        List<OrderDTO> batch = List.of(processed, OrderDTO.builder().orderNumber("ORDER-2").build());
+        OrderProcessedProducerService processedProducer = mock(OrderProcessedProducerService.class);
+        when(orderProcessedProducer.getIfAvailable()).thenReturn(processedProducer);
+        when(orderConsumerHandler.handleBatch(batch)).thenReturn(processed(List.of(processed)));
+
+        kafkaOrderBatchConsumerService.listen(records(batch));
+
+        verify(processedProducer, times(1)).publishProcessed(List.of(processed));
+    }
+
+    @Test
+    void listen_whenNothingWasProcessed_shouldNotPublish() {
+        List<OrderDTO> batch = List.of(OrderDTO.builder().orderNumber("ORDER-1").build());
+        OrderProcessedProducerService processedProducer = mock(OrderProcessedProducerService.class);
+        when(orderProcessedProducer.getIfAvailable()).thenReturn(processedProducer);
+        when(orderConsumerHandler.handleBatch(batch)).thenReturn(processed(List.of()));
+
+        kafkaOrderBatchConsumerService.listen(records(batch));
+
+        verifyNoInteractions(processedProducer);
+    }
+
+    @Test
+    void listen_shouldPublishRejectedRecordsToTheDeadLetterTopic_andAckTheBatch() {
+        OrderDTO processed = OrderDTO.builder().orderNumber("ORDER-1").build();
+        OrderDTO missing = OrderDTO.builder().orderNumber("ORDER-2").build();
+        List<OrderDTO> batch = List.of(processed, missing);
+        KafkaProcessingException failure = new KafkaProcessingException("Failed to process order due to a business rule. ",
+                new OrderNotFoundException("ORDER-2"));
+        when(orderConsumerHandler.handleBatch(batch)).thenReturn(new OrderBatchOutcome(List.of(processed),
+                List.of(new OrderBatchOutcome.Rejected(missing, failure))));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        kafkaOrderBatchConsumerService.listen(records(batch));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<Object, Object>> deadLetter = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(1)).send(deadLetter.capture());
+        assertEquals("first_topic-dlt", deadLetter.getValue().topic());
+        assertEquals(missing, deadLetter.getValue().value());
+        verify(deadLetterMetrics, times(1)).recordDeadLettered();
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(true));
+    }
+
+    @Test
+    void listen_whenTheDeadLetterPublishFails_shouldFailTheBatch() {
+        OrderDTO missing = OrderDTO.builder().orderNumber("ORDER-1").build();
+        List<OrderDTO> batch = List.of(missing);
+        when(orderConsumerHandler.handleBatch(batch)).thenReturn(new OrderBatchOutcome(List.of(),
+                List.of(new OrderBatchOutcome.Rejected(missing, new KafkaProcessingException("rejected", new OrderNotFoundException("ORDER-1"))))));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        assertThrows(RuntimeException.class, () -> kafkaOrderBatchConsumerService.listen(records(batch)));
+
+        verify(deadLetterMetrics, never()).recordDeadLettered();
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(false));
+    }
+}
@@ -7,14 +7,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import vs_fundos.challenge.consumer.impl.KafkaOrderConsumerServiceImpl;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.KafkaProcessingException;
 import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class KafkaOrderConsumerServiceImplTest {
     @Mock
     private OrderConsumerHandler orderConsumerHandler;
+    @Mock
+    private OrderMetrics orderMetrics;
+    @Mock
+    private DeadLetterMetrics deadLetterMetrics;
 
     @InjectMocks
     private KafkaOrderConsumerServiceImpl kafkaOrderConsumerService;
@@ -24,8 +31,30 @@ public class KafkaOrderConsumerServiceImplTest {
         OrderDTO testMessage = OrderDTO.builder().orderNumber("ORDER-123").build();
         doNothing().when(orderConsumerHandler).handleMessage(testMessage);
 
-        kafkaOrderConsumerService.listen(testMessage);
+        kafkaOrderConsumerService.listen(testMessage, 1000L);
 
         verify(orderConsumerHandler, times(1)).handleMessage(testMessage);
+        verify(orderMetrics, times(1)).recordConsumerLag(1000L);
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(true));
+    }
+
+    @Test
+    void listen_whenHandlerFails_shouldRecordFailedProcessingAndRethrow() {
+        OrderDTO testMessage = OrderDTO.builder().orderNumber("ORDER-123").build();
+        doThrow(new KafkaProcessingException("boom", new RuntimeException())).when(orderConsumerHandler).handleMessage(testMessage);
+
+        assertThrows(KafkaProcessingException.class, () -> kafkaOrderConsumerService.listen(testMessage, 1000L));
+
+        verify(orderMetrics, times(1)).recordConsumerProcess(anyLong(), eq(false));
+    }
+
+    @Test
+    void handleDeadLetter_shouldCountTheDeadLetteredOrder() {
+        OrderDTO testMessage = OrderDTO.builder().orderNumber("ORDER-123").build();
+
+        kafkaOrderConsumerService.handleDeadLetter(testMessage, "first_topic-dlt");
+
+        verify(deadLetterMetrics, times(1)).recordDeadLettered();
+        verifyNoInteractions(orderConsumerHandler);
     }
 }
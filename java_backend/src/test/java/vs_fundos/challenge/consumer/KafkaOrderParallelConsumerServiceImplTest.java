@@ -0,0 +1,240 @@
+package vs_fundos.challenge.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.consumer.impl.KafkaOrderParallelConsumerServiceImpl;
+import vs_fundos.challenge.consumer.impl.KeyOrderedWorkerPool;
+import vs_fundos.challenge.consumer.impl.PartitionOffsetTracker;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.KafkaProcessingException;
+import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.exception.OrderProcessingException;
+import vs_fundos.challenge.handler.OrderConsumerHandler;
+import vs_fundos.challenge.metrics.OrderMetrics;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class KafkaOrderParallelConsumerServiceImplTest {
+    private static final String TOPIC = "first_topic";
+    @Mock
+    private OrderConsumerHandler orderConsumerHandler;
+    @Mock
+    private OrderMetrics orderMetrics;
+    @Mock
+    private DeadLetterMetrics deadLetterMetrics;
+    @Mock
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry registry;
+    private KafkaOrderParallelConsumerServiceImpl parallelConsumer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        parallelConsumer = new KafkaOrderParallelConsumerServiceImpl(orderConsumerHandler, orderMetrics, deadLetterMetrics,
+                registry, kafkaTemplate);
+        ReflectionTestUtils.setField(parallelConsumer, "workers", 4);
+        ReflectionTestUtils.setField(parallelConsumer, "laneCapacity", 100);
+        ReflectionTestUtils.setField(parallelConsumer, "maxUncommitted", 1000);
+        ReflectionTestUtils.setField(parallelConsumer, "revokeTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(parallelConsumer, "attempts", 3);
+        ReflectionTestUtils.setField(parallelConsumer, "delayMs", 1L);
+        ReflectionTestUtils.setField(parallelConsumer, "multiplier", 2.0);
+        ReflectionTestUtils.setField(parallelConsumer, "maxDelayMs", 10L);
+        ReflectionTestUtils.setField(parallelConsumer, "dltSuffix", "-dlt");
+        parallelConsumer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelConsumer.stop();
+    }
+
+    private static ConsumerRecord<String, OrderDTO> record(int partition, long offset, String orderNumber) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, orderNumber, OrderDTO.builder().orderNumber(orderNumber).build());
+    }
+
+    @Test
+    void listen_shouldProcessRecordsOnWorkersAndAcknowledgeTheLastOffset() throws InterruptedException {
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+
+        parallelConsumer.listen(record(0, 0, "ORDER-1"), first);
+        parallelConsumer.listen(record(0, 1, "ORDER-2"), second);
+
+        verify(second, timeout(1000)).acknowledge();
+        verify(orderConsumerHandler, times(2)).handleMessage(any(OrderDTO.class));
+        verify(orderMetrics, times(2)).recordConsumerLag(anyLong());
+        verify(orderMetrics, timeout(1000).times(2)).recordConsumerProcess(anyLong(), eq(true));
+    }
+
+    @Test
+    void listen_shouldNotAcknowledgePastARecordThatIsStillRunning() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        OrderDTO slowOrder = OrderDTO.builder().orderNumber("ORDER-SLOW").build();
+        doAnswer(invocation -> release.await(2, TimeUnit.SECONDS)).when(orderConsumerHandler).handleMessage(slowOrder);
+        Acknowledgment slow = mock(Acknowledgment.class);
+        Acknowledgment fast = mock(Acknowledgment.class);
+
+        parallelConsumer.listen(new ConsumerRecord<>(TOPIC, 0, 0, "ORDER-SLOW", slowOrder), slow);
+        String otherLaneKey = IntStream.range(0, 100).mapToObj(i -> "ORDER-" + i)
+                .filter(key -> !key.equals("ORDER-SLOW"))
+                .filter(key -> laneOf(key) != laneOf("ORDER-SLOW"))
+                .findFirst().orElseThrow();
+        parallelConsumer.listen(record(0, 1, otherLaneKey), fast);
+
+        verify(orderConsumerHandler, timeout(1000)).handleMessage(argThat(order -> otherLaneKey.equals(order.getOrderNumber())));
+        Thread.sleep(50);
+        verifyNoInteractions(slow, fast);
+
+        release.countDown();
+        verify(fast, timeout(1000)).acknowledge();
+        verify(slow, never()).acknowledge();
+    }
+
+    @Test
+    void listen_shouldRunUpdatesOfTheSameOrderInOffsetOrder() throws InterruptedException {
+        List<BigDecimal> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> processed.add(invocation.<OrderDTO>getArgument(0).getTotalValue())).when(orderConsumerHandler).handleMessage(any());
+        Acknowledgment last = mock(Acknowledgment.class);
+
+        for (long offset = 0; offset < 20; offset++) {
+            OrderDTO update = OrderDTO.builder().totalValue(BigDecimal.valueOf(offset)).orderNumber("ORDER-1").build();
+            parallelConsumer.listen(new ConsumerRecord<>(TOPIC, 0, offset, "ORDER-1", update), offset == 19 ? last : mock(Acknowledgment.class));
+        }
+
+        verify(last, timeout(1000)).acknowledge();
+        assertThat(processed).isSorted().hasSize(20);
+    }
+
+    @Test
+    void listen_whenHandlerFailsTransiently_shouldRetryInPlace() throws InterruptedException {
+        doThrow(new KafkaProcessingException("Failed to update order, retrying. ", new OrderProcessingException("db down", null)))
+                .doNothing()
+                .when(orderConsumerHandler).handleMessage(any());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        parallelConsumer.listen(record(0, 0, "ORDER-1"), acknowledgment);
+
+        verify(acknowledgment, timeout(1000)).acknowledge();
+        verify(orderConsumerHandler, times(2)).handleMessage(any());
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listen_whenBusinessRuleFails_shouldDeadLetterWithoutRetryingAndAcknowledge() throws InterruptedException {
+        doThrow(new KafkaProcessingException("Failed to process order due to a business rule. ", new OrderNotFoundException("ORDER-1")))
+                .when(orderConsumerHandler).handleMessage(any());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        parallelConsumer.listen(record(1, 5, "ORDER-1"), acknowledgment);
+
+        verify(acknowledgment, timeout(1000)).acknowledge();
+        verify(orderConsumerHandler, times(1)).handleMessage(any());
+        ArgumentCaptor<ProducerRecord<Object, Object>> deadLetter = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(deadLetter.capture());
+        assertThat(deadLetter.getValue().topic()).isEqualTo("first_topic-dlt");
+        verify(deadLetterMetrics).recordDeadLettered();
+        verify(orderMetrics).recordConsumerProcess(anyLong(), eq(false));
+    }
+
+    @Test
+    void drainRevoked_shouldSkipQueuedRecordsOfRevokedPartitions() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(2, TimeUnit.SECONDS)).when(orderConsumerHandler).handleMessage(argThat(order -> order.getTotalValue() == null));
+        Acknowledgment blocking = mock(Acknowledgment.class);
+        Acknowledgment queued = mock(Acknowledgment.class);
+        parallelConsumer.listen(record(0, 0, "ORDER-1"), blocking);
+        parallelConsumer.listen(new ConsumerRecord<>(TOPIC, 1, 0, "ORDER-1", OrderDTO.builder().totalValue(BigDecimal.ONE).orderNumber("ORDER-1").build()), queued);
+
+        ReflectionTestUtils.setField(parallelConsumer, "revokeTimeoutMs", 10L);
+        parallelConsumer.drainRevoked(List.of(new TopicPartition(TOPIC, 1)));
+        release.countDown();
+
+        verify(blocking, timeout(1000)).acknowledge();
+        Thread.sleep(50);
+        verify(orderConsumerHandler, times(1)).handleMessage(any());
+        verifyNoInteractions(queued);
+    }
+
+    @Test
+    void listen_shouldSkipARecordWithoutValue_andKeepCommittingThePartition() throws InterruptedException {
+        Acknowledgment tombstone = mock(Acknowledgment.class);
+        Acknowledgment next = mock(Acknowledgment.class);
+
+        parallelConsumer.listen(new ConsumerRecord<>(TOPIC, 0, 0, "ORDER-1", null), tombstone);
+        parallelConsumer.listen(record(0, 1, "ORDER-2"), next);
+
+        verify(next, timeout(1000)).acknowledge();
+        verifyNoInteractions(tombstone);
+        verify(orderConsumerHandler, times(1)).handleMessage(any());
+        assertThat(offsetTracker().uncommitted()).isZero();
+    }
+
+    @Test
+    void listen_shouldUntrackTheRecord_whenTheWorkerPoolRejectsIt() {
+        parallelConsumer.stop();
+
+        assertThatThrownBy(() -> parallelConsumer.listen(record(0, 0, "ORDER-1"), mock(Acknowledgment.class)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(offsetTracker().running()).isZero();
+        assertThat(offsetTracker().uncommitted()).isZero();
+    }
+
+    @Test
+    void start_shouldReportInFlightUncommittedAndLaneDepth() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(2, TimeUnit.SECONDS)).when(orderConsumerHandler).handleMessage(any());
+
+        parallelConsumer.listen(record(0, 0, "ORDER-1"), mock(Acknowledgment.class));
+        parallelConsumer.listen(record(0, 1, "ORDER-1"), mock(Acknowledgment.class));
+        verify(orderConsumerHandler, timeout(1000)).handleMessage(any());
+
+        assertThat(registry.get(KafkaOrderParallelConsumerServiceImpl.IN_FLIGHT).gauge().value()).isEqualTo(2);
+        assertThat(registry.get(KafkaOrderParallelConsumerServiceImpl.UNCOMMITTED).gauge().value()).isEqualTo(2);
+        String lane = String.valueOf(laneOf("ORDER-1"));
+        assertThat(registry.get(KafkaOrderParallelConsumerServiceImpl.LANE_DEPTH).tag("lane", lane).gauge().value()).isEqualTo(1);
+        assertThat(registry.find(KafkaOrderParallelConsumerServiceImpl.LANE_DEPTH).gauges()).hasSize(4);
+        release.countDown();
+    }
+
+    private PartitionOffsetTracker offsetTracker() {
+        return (PartitionOffsetTracker) ReflectionTestUtils.getField(parallelConsumer, "offsetTracker");
+    }
+
+    private int laneOf(String key) {
+        Object pool = ReflectionTestUtils.getField(parallelConsumer, "workerPool");
+        return ((KeyOrderedWorkerPool) pool).lane(key);
+    }
+}
@@ -0,0 +1,100 @@
+package vs_fundos.challenge.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.consumer.impl.KeyOrderedWorkerPool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+public class KeyOrderedWorkerPoolTest {
+    private KeyOrderedWorkerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown(1000);
+        }
+    }
+
+    @Test
+    void submit_shouldRunTasksOfTheSameKeyInSubmissionOrder() throws InterruptedException {
+        pool = new KeyOrderedWorkerPool("test", 4, 100);
+        pool.start();
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < 50; i++) {
+            for (String key : List.of("ORDER-1", "ORDER-2", "ORDER-3")) {
+                int sequence = i;
+                pool.submit(key, () -> executed.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence));
+            }
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> executed.values().stream().mapToInt(List::size).sum() == 150);
+        executed.values().forEach(sequence -> assertThat(sequence).isSorted().hasSize(50));
+    }
+
+    @Test
+    void submit_shouldRunOtherLanesWhileOneLaneIsBusy() throws InterruptedException {
+        pool = new KeyOrderedWorkerPool("test", 8, 10);
+        pool.start();
+        String blockedKey = "ORDER-1";
+        String otherKey = IntStream.range(2, 100).mapToObj(i -> "ORDER-" + i)
+                .filter(key -> pool.lane(key) != pool.lane(blockedKey))
+                .findFirst().orElseThrow();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+
+        pool.submit(blockedKey, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pool.submit(blockedKey, () -> { });
+        pool.submit(otherKey, otherRan::countDown);
+
+        assertThat(otherRan.await(1, TimeUnit.SECONDS)).isTrue();
+        // Until the worker has taken the blocking task, both tasks of the key are still queued
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.depth(pool.lane(blockedKey))).isEqualTo(1);
+        release.countDown();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> pool.depth(pool.lane(blockedKey)) == 0);
+    }
+
+    @Test
+    void lane_shouldBeStableAndWithinTheLaneCount() {
+        pool = new KeyOrderedWorkerPool("test", 3, 10);
+
+        assertThat(pool.lane("ORDER-42")).isEqualTo(pool.lane("ORDER-42")).isBetween(0, 2);
+        assertThat(pool.lane(null)).isBetween(0, 2);
+    }
+
+    @Test
+    void shutdown_shouldDrainQueuedTasksAndRejectNewOnes() throws InterruptedException {
+        pool = new KeyOrderedWorkerPool("test", 2, 100);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int sequence = i;
+            pool.submit("ORDER-" + i, () -> executed.add(sequence));
+        }
+        pool.start();
+
+        pool.shutdown(1000);
+
+        assertThat(executed).hasSize(20);
+        assertThatThrownBy(() -> pool.submit("ORDER-1", () -> { })).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package vs_fundos.challenge.consumer;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import vs_fundos.challenge.consumer.impl.PartitionOffsetTracker;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PartitionOffsetTrackerTest {
+    private static final TopicPartition PARTITION = new TopicPartition("first_topic", 0);
+    private static final TopicPartition OTHER_PARTITION = new TopicPartition("first_topic", 1);
+
+    @Test
+    void complete_shouldOnlyReturnTheAcknowledgmentOfTheContiguousLowWaterMark() throws InterruptedException {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(10);
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+        Acknowledgment third = mock(Acknowledgment.class);
+        tracker.track(PARTITION, 10, first);
+        tracker.track(PARTITION, 11, second);
+        tracker.track(PARTITION, 12, third);
+
+        assertThat(tracker.complete(PARTITION, 12)).isNull();
+        assertThat(tracker.complete(PARTITION, 11)).isNull();
+        assertThat(tracker.complete(PARTITION, 10)).isSameAs(third);
+        assertThat(tracker.uncommitted()).isZero();
+    }
+
+    @Test
+    void complete_shouldAdvanceUpToTheLowestRunningRecord() throws InterruptedException {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(10);
+        Acknowledgment second = mock(Acknowledgment.class);
+        tracker.track(PARTITION, 1, mock(Acknowledgment.class));
+        tracker.track(PARTITION, 2, second);
+        tracker.track(PARTITION, 3, mock(Acknowledgment.class));
+
+        tracker.complete(PARTITION, 2);
+
+        assertThat(tracker.complete(PARTITION, 1)).isSameAs(second);
+        assertThat(tracker.running()).isEqualTo(1);
+        assertThat(tracker.uncommitted()).isEqualTo(1);
+    }
+
+    @Test
+    void complete_shouldIgnoreUntrackedOffsetsAndPartitions() throws InterruptedException {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(10);
+        tracker.track(PARTITION, 1, mock(Acknowledgment.class));
+
+        assertThat(tracker.complete(PARTITION, 7)).isNull();
+        assertThat(tracker.complete(OTHER_PARTITION, 1)).isNull();
+        assertThat(tracker.isTracked(PARTITION, 1)).isTrue();
+    }
+
+    @Test
+    void untrack_shouldReleaseTheRecordWithoutCommittingIt() throws InterruptedException {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(1);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        tracker.track(PARTITION, 1, acknowledgment);
+
+        tracker.untrack(PARTITION, 1);
+        tracker.untrack(PARTITION, 1);
+
+        assertThat(tracker.isTracked(PARTITION, 1)).isFalse();
+        assertThat(tracker.uncommitted()).isZero();
+        tracker.track(PARTITION, 1, acknowledgment);
+        assertThat(tracker.complete(PARTITION, 1)).isSameAs(acknowledgment);
+    }
+
+    @Test
+    void forget_shouldDropRevokedPartitionsAndReleaseTheirCapacity() throws InterruptedException {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(2);
+        tracker.track(PARTITION, 1, mock(Acknowledgment.class));
+        tracker.track(OTHER_PARTITION, 1, mock(Acknowledgment.class));
+
+        tracker.forget(List.of(PARTITION));
+
+        assertThat(tracker.isTracked(PARTITION, 1)).isFalse();
+        assertThat(tracker.complete(PARTITION, 1)).isNull();
+        assertThat(tracker.isTracked(OTHER_PARTITION, 1)).isTrue();
+        tracker.track(PARTITION, 5, mock(Acknowledgment.class));
+        assertThat(tracker.uncommitted()).isEqualTo(2);
+    }
+
+    @Test
+    void track_shouldBlockUntilCommittedRecordsFreeCapacity() throws Exception {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(1);
+        tracker.track(PARTITION, 1, mock(Acknowledgment.class));
+
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> {
+            try {
+                tracker.track(PARTITION, 2, mock(Acknowledgment.class));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+
+        tracker.complete(PARTITION, 1);
+        blocked.get(1, TimeUnit.SECONDS);
+        assertThat(tracker.isTracked(PARTITION, 2)).isTrue();
+    }
+
+    @Test
+    void awaitCompletion_shouldWaitForRunningRecordsOfThePartitionsOnly() throws Exception {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker(10);
+        tracker.track(PARTITION, 1, mock(Acknowledgment.class));
+        tracker.track(OTHER_PARTITION, 1, mock(Acknowledgment.class));
+
+        assertThat(tracker.awaitCompletion(List.of(PARTITION), 50)).isFalse();
+
+        CompletableFuture.runAsync(() -> tracker.complete(PARTITION, 1), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        assertThat(tracker.awaitCompletion(List.of(PARTITION), 2000)).isTrue();
+    }
+}
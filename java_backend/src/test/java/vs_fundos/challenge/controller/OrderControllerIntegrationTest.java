@@ -5,28 +5,51 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+import vs_fundos.challenge.dto.IdempotentResult;
+import vs_fundos.challenge.dto.OrderBatchItemResultDTO;
+import vs_fundos.challenge.dto.OrderBatchResultDTO;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.enums.OrderExportFormat;
 import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.exception.IdempotencyKeyReuseException;
 import vs_fundos.challenge.exception.OrderCreationException;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
 import vs_fundos.challenge.exception.OrderNotFoundException;
 import vs_fundos.challenge.exception.OrderUpdateException;
 import vs_fundos.challenge.exception.ResponseEncryptionException;
 import vs_fundos.challenge.interceptor.OrderInterceptor;
+import vs_fundos.challenge.service.DeadLetterReplayService;
+import vs_fundos.challenge.service.IdempotencyService;
+import vs_fundos.challenge.service.OrderBatchService;
+import vs_fundos.challenge.service.OrderExportService;
 import vs_fundos.challenge.service.impl.OrderServiceImpl;
 import vs_fundos.challenge.util.Cryptography;
 
 import java.math.BigDecimal;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,6 +71,18 @@ public class OrderControllerIntegrationTest {
     @MockitoBean
     private OrderServiceImpl orderServiceImpl;
 
+    @MockitoBean
+    private OrderBatchService orderBatchService;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private DeadLetterReplayService deadLetterReplayService;
+
     @MockitoBean
     private Cryptography cryptography;
 
@@ -63,6 +98,8 @@ public class OrderControllerIntegrationTest {
                 .orderDateUpdated(LocalDateTime.now())
                 .build();
         when(cryptography.encrypt(ORIGINAL_ORDER_NUMBER)).thenReturn(ENCRYPTED_ORDER_NUMBER);
+        when(idempotencyService.execute(any(), any(), any(), eq(OrderDTO.class), any())).thenAnswer(invocation ->
+                new IdempotentResult<>(invocation.<Supplier<OrderDTO>>getArgument(4).get(), false));
     }
 
     @Nested
@@ -110,6 +147,80 @@ public class OrderControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /orders")
+    class ListOrdersTests {
+        @Test
+        void listOrders_shouldBindFiltersAndReturnEncryptedPage() throws Exception {
+            OrderPageDTO page = OrderPageDTO.builder().items(List.of(sampleOrderDTO)).nextCursor("NEXT").build();
+            when(orderServiceImpl.listOrders(any(OrderFilterDTO.class), eq(OrderSortField.ORDER_DATE_CREATED), eq(Sort.Direction.DESC), eq("CURSOR"), eq(20)))
+                    .thenReturn(page);
+
+            ResultActions result = mockMvc.perform(get(BASE_URL)
+                    .param("status", "UNPROCESSED")
+                    .param("createdFrom", "2025-01-01T00:00:00")
+                    .param("minTotalValue", "10.50")
+                    .param("sort", "ORDER_DATE_CREATED")
+                    .param("direction", "DESC")
+                    .param("cursor", "CURSOR")
+                    .param("limit", "20"));
+
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].orderNumber").value(ENCRYPTED_ORDER_NUMBER))
+                    .andExpect(jsonPath("$.nextCursor").value("NEXT"));
+            ArgumentCaptor<OrderFilterDTO> filter = ArgumentCaptor.forClass(OrderFilterDTO.class);
+            verify(orderServiceImpl).listOrders(filter.capture(), any(), any(), any(), anyInt());
+            assertEquals(OrderStatus.UNPROCESSED, filter.getValue().getStatus());
+            assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), filter.getValue().getCreatedFrom());
+            assertEquals(new BigDecimal("10.50"), filter.getValue().getMinTotalValue());
+        }
+
+        @Test
+        void listOrders_whenQueryIsInvalid_shouldReturn400() throws Exception {
+            when(orderServiceImpl.listOrders(any(), any(), any(), any(), anyInt()))
+                    .thenThrow(new InvalidOrderQueryException("limit must be at least 1"));
+
+            ResultActions result = mockMvc.perform(get(BASE_URL).param("limit", "0"));
+
+            result.andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("limit must be at least 1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /orders/export")
+    class ExportOrdersTests {
+        @Test
+        void exportOrders_shouldStreamAttachmentFromService() throws Exception {
+            when(orderExportService.export(any(OrderFilterDTO.class), eq(OrderExportFormat.CSV), eq(true), any(OutputStream.class)))
+                    .thenAnswer(invocation -> {
+                        invocation.getArgument(3, OutputStream.class).write("payload".getBytes());
+                        return 1L;
+                    });
+
+            ResultActions result = mockMvc.perform(get(BASE_URL + "/export")
+                    .param("format", "CSV")
+                    .param("gzip", "true")
+                    .param("status", "PROCESSED"));
+
+            result.andExpect(status().isOk())
+                    .andExpect(content().contentType("application/gzip"))
+                    .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.matchesPattern("attachment; filename=\"orders-.*\\.csv\\.gz\"")))
+                    .andExpect(content().string("payload"));
+        }
+
+        @Test
+        void exportOrders_whenFilterIsInvalid_shouldReturn400() throws Exception {
+            ResultActions result = mockMvc.perform(get(BASE_URL + "/export")
+                    .param("minTotalValue", "10")
+                    .param("maxTotalValue", "1"));
+
+            result.andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid totalValue range: 10 is after 1"));
+            verifyNoInteractions(orderExportService);
+        }
+    }
+
     @Nested
     @DisplayName("POST /orders/")
     class CreateOrderTests {
@@ -153,6 +264,80 @@ public class OrderControllerIntegrationTest {
                     .andExpect(jsonPath("$.error").value("Internal Server Error"))
                     .andExpect(jsonPath("$.message").value(errorMessage));
         }
+
+        @Test
+        void createOrder_whenIdempotencyKeyIsReplayed_shouldReturn201WithReplayHeaderAndEncryptedDTO() throws Exception {
+            when(idempotencyService.execute(eq("key-1"), eq("POST /order/"), any(), eq(OrderDTO.class), any()))
+                    .thenReturn(new IdempotentResult<>(sampleOrderDTO, true));
+
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/")
+                    .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(sampleOrderDTO)));
+
+            result.andExpect(status().isCreated())
+                    .andExpect(header().string(OrderController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                    .andExpect(jsonPath("$.orderNumber").value(ENCRYPTED_ORDER_NUMBER));
+            verifyNoInteractions(orderServiceImpl);
+        }
+
+        @Test
+        void createOrder_whenIdempotencyKeyIsReusedForAnotherPayload_shouldReturn422() throws Exception {
+            when(idempotencyService.execute(eq("key-1"), eq("POST /order/"), any(), eq(OrderDTO.class), any()))
+                    .thenThrow(new IdempotencyKeyReuseException("Idempotency-Key key-1 was already used for a different request"));
+
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/")
+                    .header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(sampleOrderDTO)));
+
+            result.andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.message").value("Idempotency-Key key-1 was already used for a different request"));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /orders/batch")
+    class CreateOrdersBatchTests {
+        @Test
+        void createOrders_whenJsonArrayIsFullyCreated_shouldReturn201WithPlainResult() throws Exception {
+            OrderBatchResultDTO batchResult = OrderBatchResultDTO.builder()
+                    .total(1).succeeded(1).failed(0)
+                    .items(List.of(OrderBatchItemResultDTO.builder().index(0).orderNumber(ORIGINAL_ORDER_NUMBER).success(true).build()))
+                    .build();
+            when(orderBatchService.createOrders(any())).thenReturn(batchResult);
+
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(sampleOrderDTO))));
+
+            result.andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.succeeded").value(1))
+                    .andExpect(jsonPath("$.items[0].orderNumber").value(ORIGINAL_ORDER_NUMBER));
+        }
+
+        @Test
+        void createOrders_whenNdjsonHasFailures_shouldReturn207AndReadEveryLine() throws Exception {
+            when(orderBatchService.createOrders(any())).thenAnswer(invocation -> {
+                Iterator<OrderDTO> orders = invocation.getArgument(0);
+                int count = 0;
+                while (orders.hasNext()) {
+                    orders.next();
+                    count++;
+                }
+                return OrderBatchResultDTO.builder().total(count).succeeded(1).failed(count - 1).items(List.of()).build();
+            });
+            String ndjson = objectMapper.writeValueAsString(sampleOrderDTO) + "\n"
+                    + objectMapper.writeValueAsString(sampleOrderDTO) + "\n";
+
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson));
+
+            result.andExpect(status().isMultiStatus())
+                    .andExpect(jsonPath("$.total").value(2))
+                    .andExpect(jsonPath("$.failed").value(1));
+        }
     }
 
     @Nested
@@ -244,4 +429,31 @@ public class OrderControllerIntegrationTest {
                     .andExpect(content().string("Header '" + TOKEN_HEADER + "' missing or invalid."));
         }
     }
+
+    @Nested
+    @DisplayName("POST /order/dead-letters/replay (Protected Endpoint)")
+    class ReplayDeadLettersTests {
+        @Test
+        void replayDeadLetters_whenTokenIsValid_shouldReturn200AndReplayResult() throws Exception {
+            when(deadLetterReplayService.replay(100)).thenReturn(DeadLetterReplayResultDTO.builder()
+                    .topic("first_topic-dlt").replayed(100).remaining(20).build());
+
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/dead-letters/replay")
+                    .param("limit", "100")
+                    .header(TOKEN_HEADER, TOKEN_VALUE));
+
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.topic").value("first_topic-dlt"))
+                    .andExpect(jsonPath("$.replayed").value(100))
+                    .andExpect(jsonPath("$.remaining").value(20));
+        }
+
+        @Test
+        void replayDeadLetters_whenTokenIsMissing_shouldReturn400() throws Exception {
+            ResultActions result = mockMvc.perform(post(BASE_URL + "/dead-letters/replay"));
+
+            result.andExpect(status().isBadRequest());
+            verifyNoInteractions(deadLetterReplayService);
+        }
+    }
 }
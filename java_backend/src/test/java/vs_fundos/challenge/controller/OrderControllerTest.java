@@ -7,13 +7,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+import vs_fundos.challenge.dto.IdempotentResult;
 import vs_fundos.challenge.dto.OrderDTO;
 import vs_fundos.challenge.enums.OrderStatus;
 import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.service.DeadLetterReplayService;
+import vs_fundos.challenge.service.IdempotencyService;
 import vs_fundos.challenge.service.impl.OrderServiceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +27,10 @@ import static org.mockito.Mockito.*;
 public class OrderControllerTest {
     @Mock
     private OrderServiceImpl orderServiceImpl;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private DeadLetterReplayService deadLetterReplayService;
     @InjectMocks
     private OrderController orderController;
 
@@ -52,10 +61,11 @@ public class OrderControllerTest {
 
     @Test
     void createOrder_shouldReturnCreatedStatusAndOrderDTO_whenServiceSucceeds() {
+        passThroughIdempotency();
         OrderDTO expectedOrderDTO = OrderDTO.builder().orderNumber("ORDER-1").build();
         when(orderServiceImpl.createOrder(expectedOrderDTO)).thenReturn(expectedOrderDTO);
 
-        ResponseEntity<OrderDTO> responseEntity = orderController.createOrder(expectedOrderDTO);
+        ResponseEntity<OrderDTO> responseEntity = orderController.createOrder(null, expectedOrderDTO);
 
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
         assertEquals(expectedOrderDTO, responseEntity.getBody());
@@ -64,6 +74,7 @@ public class OrderControllerTest {
 
     @Test
     void createOrder_shouldPropagateRuntimeException_whenServiceThrowsGenericError() {
+        passThroughIdempotency();
         OrderDTO inputOrderDTO = OrderDTO.builder()
                 .orderNumber("FAIL-ORDER-1")
                 .build();
@@ -72,7 +83,7 @@ public class OrderControllerTest {
         doThrow(new RuntimeException(errorMessage)).when(orderServiceImpl).createOrder(any(OrderDTO.class));
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
-            orderController.createOrder(inputOrderDTO);
+            orderController.createOrder(null, inputOrderDTO);
         });
 
         assertEquals(errorMessage, thrown.getMessage());
@@ -123,10 +134,11 @@ public class OrderControllerTest {
 
     @Test
     void createRandomOrder_shouldReturnCreatedStatusAndOrderDTO_whenServiceSucceeds() {
+        passThroughIdempotency();
         OrderDTO expectedOrderDTO = OrderDTO.builder().orderNumber("ORDER-1").build();
         when(orderServiceImpl.createRandomOrder()).thenReturn(expectedOrderDTO);
 
-        ResponseEntity<OrderDTO> responseEntity = orderController.createRandomOrder();
+        ResponseEntity<OrderDTO> responseEntity = orderController.createRandomOrder(null);
 
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
         assertEquals(expectedOrderDTO, responseEntity.getBody());
@@ -134,13 +146,44 @@ public class OrderControllerTest {
     }
     @Test
     void createRandomOrder_shouldPropagateException_whenServiceThrowsException() {
+        passThroughIdempotency();
         doThrow(new RuntimeException("Simulated service error")).when(orderServiceImpl).createRandomOrder();
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
-            orderController.createRandomOrder();
+            orderController.createRandomOrder(null);
         });
 
         verify(orderServiceImpl, times(1)).createRandomOrder();
     }
 
+    @Test
+    void createOrder_shouldReturnStoredResponseWithReplayHeader_whenIdempotencyKeyWasSeen() {
+        OrderDTO inputOrderDTO = OrderDTO.builder().orderNumber("ORDER-1").build();
+        OrderDTO storedOrderDTO = OrderDTO.builder().orderNumber("ORDER-1").status(OrderStatus.UNPROCESSED).build();
+        when(idempotencyService.execute(eq("key-1"), eq("POST /order/"), eq(inputOrderDTO), eq(OrderDTO.class), any()))
+                .thenReturn(new IdempotentResult<>(storedOrderDTO, true));
+
+        ResponseEntity<OrderDTO> responseEntity = orderController.createOrder("key-1", inputOrderDTO);
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(storedOrderDTO, responseEntity.getBody());
+        assertEquals("true", responseEntity.getHeaders().getFirst(OrderController.IDEMPOTENT_REPLAYED_HEADER));
+        verifyNoInteractions(orderServiceImpl);
+    }
+
+    @Test
+    void replayDeadLetters_shouldReturnOkWithTheReplayResult() {
+        DeadLetterReplayResultDTO replayResult = DeadLetterReplayResultDTO.builder().topic("first_topic-dlt").replayed(3).build();
+        when(deadLetterReplayService.replay(500)).thenReturn(replayResult);
+
+        ResponseEntity<DeadLetterReplayResultDTO> responseEntity = orderController.replayDeadLetters(500);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(replayResult, responseEntity.getBody());
+    }
+
+    private void passThroughIdempotency() {
+        when(idempotencyService.execute(any(), any(), any(), eq(OrderDTO.class), any())).thenAnswer(invocation ->
+                new IdempotentResult<>(invocation.<Supplier<OrderDTO>>getArgument(4).get(), false));
+    }
 }
@@ -9,9 +9,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.ResponseEntity;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
 import vs_fundos.challenge.util.Cryptography;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,8 +38,11 @@ public class OrderResponseAdviceTest {
 
     private static class TestController {
         public ResponseEntity<OrderDTO> getOrderAsResponseEntity() { return null; }
+        public ResponseEntity<OrderPageDTO> getOrderPage() { return null; }
         public OrderDTO getOrderAsDirectDTO() { return null; }
         public ResponseEntity<String> getSomethingElse() { return null; }
+        @SuppressWarnings("rawtypes")
+        public ResponseEntity getRawResponseEntity() { return null; }
     }
 
     @Test
@@ -103,4 +108,38 @@ public class OrderResponseAdviceTest {
 
         assertFalse(result);
     }
+
+    @Test
+    void supports_shouldReturnFalse_whenBodyTypeCannotBeResolved() throws NoSuchMethodException {
+        Method method = TestController.class.getMethod("getRawResponseEntity");
+        MethodParameter methodParameter = new MethodParameter(method, -1);
+
+        boolean result = orderResponseAdvice.supports(methodParameter, null);
+
+        assertFalse(result);
+    }
+
+    @Test
+    void beforeBodyWrite_shouldEncryptEveryItem_whenBodyIsOrderPage() throws Exception {
+        when(cryptography.encrypt(plainOrderNumber)).thenReturn(encryptedOrderNumber);
+        when(cryptography.encrypt("ABC")).thenReturn("[encrypted]ABC");
+        OrderPageDTO page = OrderPageDTO.builder()
+                .items(List.of(orderDTO, OrderDTO.builder().orderNumber("ABC").build()))
+                .nextCursor("cursor")
+                .build();
+
+        OrderPageDTO result = (OrderPageDTO) orderResponseAdvice.beforeBodyWrite(page, null, null, null, null, null);
+
+        assertEquals(encryptedOrderNumber, result.getItems().get(0).getOrderNumber());
+        assertEquals("[encrypted]ABC", result.getItems().get(1).getOrderNumber());
+        assertEquals("cursor", result.getNextCursor());
+    }
+
+    @Test
+    void supports_shouldReturnTrue_forResponseEntityWithOrderPage() throws NoSuchMethodException {
+        Method method = TestController.class.getMethod("getOrderPage");
+        MethodParameter methodParameter = new MethodParameter(method, -1);
+
+        assertTrue(orderResponseAdvice.supports(methodParameter, null));
+    }
 }
@@ -6,8 +6,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import vs_fundos.challenge.dto.OrderDTO;
-import vs_fundos.challenge.producer.OrderProducerService;
-import vs_fundos.challenge.util.Convert;
 
 import static org.mockito.Mockito.*;
 
@@ -15,14 +13,12 @@ import static org.mockito.Mockito.*;
 public class OrderCreatedEventListenerTest {
 
     @Mock
-    private OrderProducerService orderProducerService;
-    @Mock
-    private Convert convert;
+    private OrderEventExecutor orderEventExecutor;
     @InjectMocks
     private OrderCreatedEventListener orderCreatedEventListener;
 
     @Test
-    void handleOrderCreated_shouldSendMessage() {
+    void handleOrderCreated_shouldPublishToOrderEventExecutor() {
         OrderDTO orderDTO = OrderDTO.builder()
                 .orderNumber("ORDER-O1")
                 .build();
@@ -30,8 +26,8 @@ public class OrderCreatedEventListenerTest {
 
         orderCreatedEventListener.handleOrderCreated(event);
 
-        verify(orderProducerService, times(1)).sendMessage(orderDTO);
-        verifyNoMoreInteractions(orderProducerService);
+        verify(orderEventExecutor, times(1)).publish(orderDTO);
+        verifyNoMoreInteractions(orderEventExecutor);
     }
 
 }
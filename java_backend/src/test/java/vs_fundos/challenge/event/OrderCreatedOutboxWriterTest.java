@@ -0,0 +1,42 @@
+package vs_fundos.challenge.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.model.OutboxEvent;
+import vs_fundos.challenge.repository.OutboxEventRepository;
+import vs_fundos.challenge.util.Convert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderCreatedOutboxWriterTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private Convert convert;
+    @InjectMocks
+    private OrderCreatedOutboxWriter orderCreatedOutboxWriter;
+
+    @Test
+    void handleOrderCreated_shouldStoreSerializedOrderInOutbox() {
+        OrderDTO orderDTO = OrderDTO.builder().orderNumber("ORDER-01").build();
+        String payload = "{\"orderNumber\":\"ORDER-01\"}";
+        when(convert.objectToJson(orderDTO)).thenReturn(payload);
+
+        orderCreatedOutboxWriter.handleOrderCreated(new OrderCreatedEvent(orderDTO));
+
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(outboxCaptor.capture());
+        OutboxEvent saved = outboxCaptor.getValue();
+        assertThat(saved.getOrderNumber()).isEqualTo("ORDER-01");
+        assertThat(saved.getPayload()).isEqualTo(payload);
+        assertThat(saved.getAttempts()).isZero();
+        assertThat(saved.getCreatedAt()).isNotNull();
+    }
+}
@@ -0,0 +1,199 @@
+package vs_fundos.challenge.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderEventOverflowPolicy;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.util.Convert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OrderEventExecutorTest {
+    @TempDir
+    Path spillDirectory;
+    private OrderProducerService orderProducerService;
+    private SimpleMeterRegistry registry;
+    private OrderEventExecutor orderEventExecutor;
+    private final CompletableFuture<Void> blockedSend = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() {
+        orderProducerService = mock(OrderProducerService.class);
+        registry = new SimpleMeterRegistry();
+        orderEventExecutor = new OrderEventExecutor(orderProducerService, new Convert(new ObjectMapper().registerModule(new JavaTimeModule())), registry);
+        ReflectionTestUtils.setField(orderEventExecutor, "coreSize", 1);
+        ReflectionTestUtils.setField(orderEventExecutor, "maxSize", 1);
+        ReflectionTestUtils.setField(orderEventExecutor, "queueCapacity", 2);
+        ReflectionTestUtils.setField(orderEventExecutor, "sendTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(orderEventExecutor, "shutdownTimeoutMs", 100L);
+        ReflectionTestUtils.setField(orderEventExecutor, "spillDirectory", spillDirectory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockedSend.complete(null);
+        orderEventExecutor.stop();
+    }
+
+    @Test
+    void publish_shouldSendOnAnExecutorThread() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(orderProducerService.sendMessageAsync(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(null);
+        });
+        orderEventExecutor.start();
+
+        orderEventExecutor.publish(order("ORDER-01"));
+
+        verify(orderProducerService, timeout(2000)).sendMessageAsync(order("ORDER-01"));
+        assertThat(threads).singleElement().asString().startsWith("order-event-");
+    }
+
+    @Test
+    void publish_whenQueueIsFullAndPolicyIsCallerRuns_shouldSendOnTheCallerThread() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(orderProducerService.sendMessageAsync(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return threads.size() == 1 ? blockedSend : CompletableFuture.completedFuture(null);
+        });
+        orderEventExecutor.start();
+
+        publishUntilQueueIsFull();
+        orderEventExecutor.publish(order("ORDER-04"));
+
+        assertThat(threads).contains(Thread.currentThread().getName());
+        assertThat(registry.get(OrderEventExecutor.REJECTED).tag("outcome", "caller_runs").counter().count()).isEqualTo(1);
+        assertThat(registry.get(OrderEventExecutor.QUEUE_DEPTH).gauge().value()).isEqualTo(2);
+        assertThat(registry.get(OrderEventExecutor.ACTIVE).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_whenQueueIsFullAndPolicyIsSpillToDisk_shouldSpillAndReplayOnceTheQueueHasRoom() {
+        ReflectionTestUtils.setField(orderEventExecutor, "overflowPolicy", OrderEventOverflowPolicy.SPILL_TO_DISK);
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(blockedSend);
+        orderEventExecutor.start();
+
+        publishUntilQueueIsFull();
+        orderEventExecutor.publish(order("ORDER-04"));
+
+        assertThat(registry.get(OrderEventExecutor.REJECTED).tag("outcome", "spilled").counter().count()).isEqualTo(1);
+        verify(orderProducerService, never()).sendMessageAsync(order("ORDER-04"));
+
+        blockedSend.complete(null);
+        verify(orderProducerService, timeout(2000)).sendMessageAsync(order("ORDER-03"));
+        orderEventExecutor.replaySpilled();
+
+        verify(orderProducerService, timeout(2000)).sendMessageAsync(order("ORDER-04"));
+        assertThat(registry.get(OrderEventExecutor.REPLAYED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_whenSendFailsAndPolicyIsSpillToDisk_shouldSpillTheEvent() throws Exception {
+        ReflectionTestUtils.setField(orderEventExecutor, "overflowPolicy", OrderEventOverflowPolicy.SPILL_TO_DISK);
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        orderEventExecutor.start();
+
+        orderEventExecutor.publish(order("ORDER-01"));
+        orderEventExecutor.stop();
+
+        assertThat(spilled()).singleElement().asString().contains("ORDER-01");
+    }
+
+    @Test
+    void publish_whenSendFailsAndPolicyIsCallerRuns_shouldSpillTheEvent() throws Exception {
+        when(orderProducerService.sendMessageAsync(any())).thenThrow(new RuntimeException("metadata timeout"));
+        orderEventExecutor.start();
+
+        orderEventExecutor.publish(order("ORDER-01"));
+        orderEventExecutor.stop();
+
+        assertThat(spilled()).singleElement().asString().contains("ORDER-01");
+    }
+
+    @Test
+    void replaySpilled_shouldSkipUnreadableEvents_andReplayTheRest() throws Exception {
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        OrderEventSpillFile spillFile = new OrderEventSpillFile(spillDirectory);
+        spillFile.append("{not json");
+        spillFile.append("{\"orderNumber\":\"ORDER-01\"}");
+        orderEventExecutor.start();
+
+        orderEventExecutor.replaySpilled();
+
+        verify(orderProducerService, timeout(2000)).sendMessageAsync(order("ORDER-01"));
+        assertThat(spilled()).isEmpty();
+    }
+
+    @Test
+    void stop_shouldDrainQueuedEventsBeforeReturning() {
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        ReflectionTestUtils.setField(orderEventExecutor, "shutdownTimeoutMs", 5000L);
+        orderEventExecutor.start();
+
+        orderEventExecutor.publish(order("ORDER-01"));
+        orderEventExecutor.publish(order("ORDER-02"));
+        orderEventExecutor.stop();
+
+        verify(orderProducerService).sendMessageAsync(order("ORDER-01"));
+        verify(orderProducerService).sendMessageAsync(order("ORDER-02"));
+    }
+
+    @Test
+    void stop_whenEventsAreStillQueuedAfterTheTimeout_shouldSpillThem() throws Exception {
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(blockedSend);
+        orderEventExecutor.start();
+
+        publishUntilQueueIsFull();
+        orderEventExecutor.stop();
+
+        assertThat(spilled())
+                .hasSize(3)
+                .anySatisfy(json -> assertThat(json).contains("ORDER-01"))
+                .anySatisfy(json -> assertThat(json).contains("ORDER-03"));
+    }
+
+    @Test
+    void publish_afterStop_shouldSpillInsteadOfRunningOnTheCaller() throws Exception {
+        orderEventExecutor.start();
+        orderEventExecutor.stop();
+
+        orderEventExecutor.publish(order("ORDER-01"));
+
+        verifyNoInteractions(orderProducerService);
+        assertThat(spilled()).singleElement().asString().contains("ORDER-01");
+    }
+
+    private List<String> spilled() throws IOException {
+        List<String> events = new ArrayList<>();
+        new OrderEventSpillFile(spillDirectory).drain(events::add);
+        return events;
+    }
+
+    private void publishUntilQueueIsFull() {
+        orderEventExecutor.publish(order("ORDER-01"));
+        verify(orderProducerService, timeout(2000)).sendMessageAsync(order("ORDER-01"));
+        orderEventExecutor.publish(order("ORDER-02"));
+        orderEventExecutor.publish(order("ORDER-03"));
+    }
+
+    private static OrderDTO order(String orderNumber) {
+        return OrderDTO.builder().orderNumber(orderNumber).build();
+    }
+}
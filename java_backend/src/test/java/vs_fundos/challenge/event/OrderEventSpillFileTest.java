@@ -0,0 +1,54 @@
+package vs_fundos.challenge.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderEventSpillFileTest {
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void drain_shouldHandOverTheEventsInOrder_andDeleteTheFile() throws Exception {
+        OrderEventSpillFile spillFile = new OrderEventSpillFile(spillDirectory);
+        spillFile.append("event-1");
+        spillFile.append("event-2");
+        List<String> events = new ArrayList<>();
+
+        assertEquals(2, spillFile.drain(events::add));
+
+        assertEquals(List.of("event-1", "event-2"), events);
+        assertEquals(0, spillFile.drain(events::add));
+        assertThat(spillDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void drain_whenTheReplayerFails_shouldKeepTheEventsItDidNotTake() throws Exception {
+        OrderEventSpillFile spillFile = new OrderEventSpillFile(spillDirectory);
+        spillFile.append("event-1");
+        spillFile.append("event-2");
+        spillFile.append("event-3");
+        List<String> taken = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> spillFile.drain(event -> {
+            if (event.equals("event-2")) {
+                throw new IllegalStateException("executor stopped");
+            }
+            taken.add(event);
+        }));
+        spillFile.append("event-4");
+        List<String> replayed = new ArrayList<>();
+        spillFile.drain(replayed::add);
+        spillFile.drain(replayed::add);
+
+        assertEquals(List.of("event-1"), taken);
+        assertEquals(List.of("event-2", "event-3", "event-4"), replayed);
+    }
+}
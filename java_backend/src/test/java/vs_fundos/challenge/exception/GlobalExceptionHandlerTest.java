@@ -82,4 +82,54 @@ public class GlobalExceptionHandlerTest {
         assertThat(body.get("timestamp")).isNotNull();
     }
 
+    @Test
+    void handleInvalidOrderQueryException_shouldReturnBadRequest() {
+        InvalidOrderQueryException exception = new InvalidOrderQueryException("limit must be at least 1");
+
+        ResponseEntity<Object> responseEntity = globalExceptionHandler.handleInvalidOrderQueryException(exception);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Map<String, Object> body = (Map<String, Object>) responseEntity.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.get("error")).isEqualTo("Bad Request");
+        assertThat(body.get("message")).isEqualTo("limit must be at least 1");
+    }
+
+    @Test
+    void handleOrderUpdateConflictException_shouldReturnConflict() {
+        OrderUpdateConflictException exception = new OrderUpdateConflictException(7L);
+
+        ResponseEntity<Object> responseEntity = globalExceptionHandler.handleOrderUpdateConflictException(exception);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        Map<String, Object> body = (Map<String, Object>) responseEntity.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.get("error")).isEqualTo("Conflict");
+        assertThat(body.get("message")).isEqualTo("Order 7 was modified concurrently, reload it and retry the update");
+    }
+
+    @Test
+    void handleIdempotencyKeyReuseException_shouldReturnUnprocessableEntity() {
+        IdempotencyKeyReuseException exception = new IdempotencyKeyReuseException("Idempotency-Key key-1 was already used for a different request");
+
+        ResponseEntity<Object> responseEntity = globalExceptionHandler.handleIdempotencyKeyReuseException(exception);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        Map<String, Object> body = (Map<String, Object>) responseEntity.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.get("error")).isEqualTo("Unprocessable Entity");
+        assertThat(body.get("message")).isEqualTo("Idempotency-Key key-1 was already used for a different request");
+    }
+
+    @Test
+    void handleOrderExportException_shouldReturnInternalServerError() {
+        OrderExportException exception = new OrderExportException("Failed to export orders after 10 rows", new RuntimeException());
+
+        ResponseEntity<Object> responseEntity = globalExceptionHandler.handleOrderExportException(exception);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        Map<String, Object> body = (Map<String, Object>) responseEntity.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.get("message")).isEqualTo("Failed to export orders after 10 rows");
+    }
 }
@@ -0,0 +1,131 @@
+package vs_fundos.challenge.generator;
+
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.generator.impl.SnowflakeOrderNumberGenerator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnowflakeOrderNumberGeneratorTest {
+    private static final int NODE_SHIFT = SnowflakeOrderNumberGenerator.SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SnowflakeOrderNumberGenerator.NODE_BITS + SnowflakeOrderNumberGenerator.SEQUENCE_BITS;
+
+    @Test
+    void nextId_shouldEncodeTimestampNodeAndSequence() {
+        Instant now = Instant.parse("2025-06-01T12:00:00Z");
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator("ORDER-", 42, Clock.fixed(now, ZoneOffset.UTC));
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertThat(first >>> TIMESTAMP_SHIFT).isEqualTo(now.toEpochMilli() - SnowflakeOrderNumberGenerator.EPOCH);
+        assertThat((first >>> NODE_SHIFT) & SnowflakeOrderNumberGenerator.MAX_NODE_ID).isEqualTo(42);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    void nextId_shouldBorrowTheNextMillisecond_whenSequenceIsExhaustedOrClockStepsBack() {
+        AtomicLong millis = new AtomicLong(Instant.parse("2025-06-01T12:00:00Z").toEpochMilli());
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator("ORDER-", 1, clock);
+        long previous = generator.nextId();
+
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                millis.addAndGet(-1_000);
+            }
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextOrderNumber_shouldUsePrefixAndSortInGenerationOrder() {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator("PO-", 3, Clock.systemUTC());
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            orderNumbers.add(generator.nextOrderNumber());
+        }
+
+        assertThat(orderNumbers).allMatch(orderNumber -> orderNumber.matches("PO-[0-9A-HJKMNP-TV-Z]{13}"));
+        assertThat(orderNumbers).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void nextOrderNumber_shouldNotCollideAcrossNodes() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+        SnowflakeOrderNumberGenerator nodeA = new SnowflakeOrderNumberGenerator("ORDER-", 1, clock);
+        SnowflakeOrderNumberGenerator nodeB = new SnowflakeOrderNumberGenerator("ORDER-", 2, clock);
+
+        assertThat(nodeA.nextOrderNumber()).isNotEqualTo(nodeB.nextOrderNumber());
+    }
+
+    @Test
+    void constructor_shouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeOrderNumberGenerator("ORDER-", -1, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeOrderNumberGenerator("ORDER-", SnowflakeOrderNumberGenerator.MAX_NODE_ID + 1, Clock.systemUTC()));
+        assertThat(SnowflakeOrderNumberGenerator.defaultNodeId()).isBetween(0, SnowflakeOrderNumberGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void nextId_shouldStayUniqueAndOrderedPerThread_underConcurrentCallers() throws Exception {
+        int threads = 8;
+        int idsPerThread = 50_000;
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator("ORDER-", 7, Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[idsPerThread];
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> unique = new HashSet<>(threads * idsPerThread * 2);
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                    unique.add(ids[i]);
+                }
+            }
+            assertThat(unique).hasSize(threads * idsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
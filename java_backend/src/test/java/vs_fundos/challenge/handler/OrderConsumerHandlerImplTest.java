@@ -2,20 +2,31 @@ package vs_fundos.challenge.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.cache.RecentlyProcessedOrders;
+import vs_fundos.challenge.dto.OrderBatchOutcome;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderBusinessFailurePolicy;
+import vs_fundos.challenge.enums.ProcessingOutcome;
 import vs_fundos.challenge.exception.*;
 import vs_fundos.challenge.handler.impl.OrderConsumerHandlerImpl;
 import vs_fundos.challenge.service.impl.OrderProcessingServiceImpl;
 import vs_fundos.challenge.service.notification.NotificationDispatcherService;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +37,8 @@ public class OrderConsumerHandlerImplTest {
     private ObjectMapper objectMapper;
     @Mock
     private NotificationDispatcherService notificationDispatcherService;
+    @Mock
+    private RecentlyProcessedOrders recentlyProcessedOrders;
     @InjectMocks
     private OrderConsumerHandlerImpl orderConsumerHandler;
 
@@ -71,8 +84,8 @@ public class OrderConsumerHandlerImplTest {
         KafkaProcessingException thrown = assertThrows(KafkaProcessingException.class, () -> {
             orderConsumerHandler.handleMessage(testMessage);
         });
-        System.out.println("Mensagem: " + thrown.getMessage());
-        assertTrue(thrown.getMessage().contains("Failed to process order due to a business rule."));
+
+        assertTrue(thrown.getMessage().contains("Failed to update order, retrying."));
         assertInstanceOf(OrderProcessingException.class, thrown.getCause());
         verify(orderProcessingService, times(1)).processOrder("ORDER-123");
     }
@@ -89,4 +102,202 @@ public class OrderConsumerHandlerImplTest {
         assertInstanceOf(RuntimeException.class, thrown.getCause());
         verify(orderProcessingService, times(1)).processOrder("ORDER-123");
     }
+
+    @Test
+    void handleMessage_whenPolicyIsDrop_shouldSwallowBusinessFailures() {
+        ReflectionTestUtils.setField(orderConsumerHandler, "businessFailurePolicy", OrderBusinessFailurePolicy.DROP);
+        doThrow(new OrderNotFoundException("ORDER-123")).when(orderProcessingService).processOrder("ORDER-123");
+
+        assertDoesNotThrow(() -> orderConsumerHandler.handleMessage(testMessage));
+
+        verifyNoInteractions(notificationDispatcherService);
+    }
+
+    @Test
+    void handleMessage_whenPolicyIsDrop_shouldStillRethrowTransientFailures() {
+        ReflectionTestUtils.setField(orderConsumerHandler, "businessFailurePolicy", OrderBusinessFailurePolicy.DROP);
+        doThrow(new OrderProcessingException("DB error", new RuntimeException())).when(orderProcessingService).processOrder("ORDER-123");
+
+        assertThrows(KafkaProcessingException.class, () -> orderConsumerHandler.handleMessage(testMessage));
+    }
+
+    @Test
+    void handleMessage_whenNotificationFails_shouldNotRethrowForAnAlreadyProcessedOrder() {
+        OrderDTO message = OrderDTO.builder().orderNumber("ORDER-123").notificationType(NotificationType.SMS).build();
+        doThrow(new RuntimeException("SMS gateway down")).when(notificationDispatcherService).dispatch(eq(NotificationType.SMS), anyString(), anyString());
+
+        assertDoesNotThrow(() -> orderConsumerHandler.handleMessage(message));
+
+        verify(orderProcessingService, times(1)).processOrder("ORDER-123");
+    }
+
+    @Test
+    void handleBatch_shouldReturnProcessedAndAlreadyProcessedOrders_butNotifyOnlyProcessedOnes() {
+        OrderDTO processed = OrderDTO.builder().orderNumber("ORDER-1").notificationType(NotificationType.EMAIL).build();
+        OrderDTO missing = OrderDTO.builder().orderNumber("ORDER-2").notificationType(NotificationType.SMS).build();
+        OrderDTO duplicate = OrderDTO.builder().orderNumber("ORDER-1").notificationType(NotificationType.EMAIL).build();
+        OrderDTO alreadyProcessed = OrderDTO.builder().orderNumber("ORDER-3").notificationType(NotificationType.SMS).build();
+        when(orderProcessingService.processOrders(List.of("ORDER-1", "ORDER-2", "ORDER-1", "ORDER-3"))).thenReturn(Map.of(
+                "ORDER-1", ProcessingOutcome.PROCESSED,
+                "ORDER-2", ProcessingOutcome.NOT_FOUND,
+                "ORDER-3", ProcessingOutcome.ALREADY_PROCESSED));
+
+        OrderBatchOutcome result = orderConsumerHandler.handleBatch(List.of(processed, missing, duplicate, alreadyProcessed));
+
+        assertEquals(List.of(processed, alreadyProcessed), result.processed());
+        verify(notificationDispatcherService, times(1)).dispatch(eq(NotificationType.EMAIL), eq("ORDER-1"), contains("ORDER-1"));
+        verifyNoMoreInteractions(notificationDispatcherService);
+        verify(orderProcessingService, never()).processOrder(anyString());
+    }
+
+    @Test
+    void handleBatch_shouldRejectUnknownAndAlreadyProcessedOrders_likeHandleMessage() {
+        OrderDTO processed = OrderDTO.builder().orderNumber("ORDER-1").build();
+        OrderDTO missing = OrderDTO.builder().orderNumber("ORDER-2").build();
+        OrderDTO duplicate = OrderDTO.builder().orderNumber("ORDER-1").build();
+        OrderDTO alreadyProcessed = OrderDTO.builder().orderNumber("ORDER-3").build();
+        when(orderProcessingService.processOrders(List.of("ORDER-1", "ORDER-2", "ORDER-1", "ORDER-3"))).thenReturn(Map.of(
+                "ORDER-1", ProcessingOutcome.PROCESSED,
+                "ORDER-2", ProcessingOutcome.NOT_FOUND,
+                "ORDER-3", ProcessingOutcome.ALREADY_PROCESSED));
+
+        OrderBatchOutcome result = orderConsumerHandler.handleBatch(List.of(processed, missing, duplicate, alreadyProcessed));
+
+        List<OrderBatchOutcome.Rejected> rejected = result.rejected();
+        assertEquals(3, rejected.size());
+        assertSame(missing, rejected.get(0).order());
+        assertInstanceOf(OrderNotFoundException.class, rejected.get(0).failure().getCause());
+        assertSame(duplicate, rejected.get(1).order());
+        assertInstanceOf(OrderAlreadyProcessedException.class, rejected.get(1).failure().getCause());
+        assertSame(alreadyProcessed, rejected.get(2).order());
+        assertTrue(rejected.get(0).failure().getMessage().contains("Failed to process order due to a business rule."));
+    }
+
+    @Test
+    void handleBatch_whenPolicyIsDrop_shouldNotRejectBusinessFailures() {
+        ReflectionTestUtils.setField(orderConsumerHandler, "businessFailurePolicy", OrderBusinessFailurePolicy.DROP);
+        OrderDTO missing = OrderDTO.builder().orderNumber("ORDER-2").build();
+        when(orderProcessingService.processOrders(List.of("ORDER-2"))).thenReturn(Map.of("ORDER-2", ProcessingOutcome.NOT_FOUND));
+
+        OrderBatchOutcome result = orderConsumerHandler.handleBatch(List.of(missing));
+
+        assertTrue(result.processed().isEmpty());
+        assertTrue(result.rejected().isEmpty());
+    }
+
+    @Test
+    void handleBatch_shouldThrowKafkaProcessingException_whenBatchUpdateFails() {
+        when(orderProcessingService.processOrders(List.of("ORDER-123")))
+                .thenThrow(new OrderProcessingException("DB error", new RuntimeException()));
+
+        KafkaProcessingException thrown = assertThrows(KafkaProcessingException.class, () -> {
+            orderConsumerHandler.handleBatch(List.of(testMessage));
+        });
+
+        assertTrue(thrown.getMessage().contains("An unexpected error occurred during batch processing."));
+        verifyNoInteractions(notificationDispatcherService);
+    }
+
+    @Test
+    void handleBatch_shouldKeepNotifyingOthers_whenOneNotificationFails() {
+        OrderDTO first = OrderDTO.builder().orderNumber("ORDER-1").notificationType(NotificationType.SMS).build();
+        OrderDTO second = OrderDTO.builder().orderNumber("ORDER-2").notificationType(NotificationType.EMAIL).build();
+        when(orderProcessingService.processOrders(List.of("ORDER-1", "ORDER-2"))).thenReturn(Map.of(
+                "ORDER-1", ProcessingOutcome.PROCESSED,
+                "ORDER-2", ProcessingOutcome.PROCESSED));
+        doThrow(new RuntimeException("SMS gateway down")).when(notificationDispatcherService).dispatch(eq(NotificationType.SMS), anyString(), anyString());
+
+        OrderBatchOutcome result = assertDoesNotThrow(() -> orderConsumerHandler.handleBatch(List.of(first, second)));
+
+        assertEquals(List.of(first, second), result.processed());
+        verify(notificationDispatcherService, times(1)).dispatch(eq(NotificationType.EMAIL), eq("ORDER-2"), contains("ORDER-2"));
+    }
+
+    private SimpleMeterRegistry enableDedup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        recentlyProcessedOrders = new RecentlyProcessedOrders(registry);
+        ReflectionTestUtils.setField(recentlyProcessedOrders, "enabled", true);
+        recentlyProcessedOrders.start();
+        ReflectionTestUtils.setField(orderConsumerHandler, "recentlyProcessedOrders", recentlyProcessedOrders);
+        return registry;
+    }
+
+    @Test
+    void handleMessage_shouldSkipTheDatabaseForARecentlyProcessedOrder() {
+        SimpleMeterRegistry registry = enableDedup();
+
+        orderConsumerHandler.handleMessage(testMessage);
+        assertDoesNotThrow(() -> orderConsumerHandler.handleMessage(testMessage));
+
+        verify(orderProcessingService, times(1)).processOrder("ORDER-123");
+        assertEquals(1, registry.get(RecentlyProcessedOrders.DEDUP).tag("result", "miss").counter().count());
+        assertEquals(1, registry.get(RecentlyProcessedOrders.DEDUP).tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void handleMessage_shouldRememberAnOrderTheDatabaseReportsAsAlreadyProcessed() {
+        enableDedup();
+        doThrow(new OrderAlreadyProcessedException("ORDER-123")).when(orderProcessingService).processOrder("ORDER-123");
+
+        assertThrows(KafkaProcessingException.class, () -> orderConsumerHandler.handleMessage(testMessage));
+        assertDoesNotThrow(() -> orderConsumerHandler.handleMessage(testMessage));
+
+        verify(orderProcessingService, times(1)).processOrder("ORDER-123");
+    }
+
+    @Test
+    void handleMessage_shouldSendAForgottenOrderToTheDatabaseAgain() {
+        enableDedup();
+        orderConsumerHandler.handleMessage(testMessage);
+
+        recentlyProcessedOrders.forget("ORDER-123");
+        orderConsumerHandler.handleMessage(testMessage);
+
+        verify(orderProcessingService, times(2)).processOrder("ORDER-123");
+    }
+
+    @Test
+    void handleMessage_shouldNotRememberAnOrderThatFailed() {
+        enableDedup();
+        doThrow(new OrderProcessingException("DB error", new RuntimeException()))
+                .doNothing()
+                .when(orderProcessingService).processOrder("ORDER-123");
+
+        assertThrows(KafkaProcessingException.class, () -> orderConsumerHandler.handleMessage(testMessage));
+        orderConsumerHandler.handleMessage(testMessage);
+
+        verify(orderProcessingService, times(2)).processOrder("ORDER-123");
+    }
+
+    @Test
+    void handleBatch_shouldOnlySendOrdersNotRecentlyProcessedToTheDatabase_butStillReturnThem() {
+        enableDedup();
+        OrderDTO first = OrderDTO.builder().orderNumber("ORDER-1").build();
+        OrderDTO second = OrderDTO.builder().orderNumber("ORDER-2").build();
+        when(orderProcessingService.processOrders(List.of("ORDER-1"))).thenReturn(Map.of("ORDER-1", ProcessingOutcome.PROCESSED));
+        when(orderProcessingService.processOrders(List.of("ORDER-2"))).thenReturn(Map.of("ORDER-2", ProcessingOutcome.PROCESSED));
+        orderConsumerHandler.handleBatch(List.of(first));
+
+        OrderBatchOutcome result = orderConsumerHandler.handleBatch(List.of(first, second));
+
+        assertEquals(List.of(first, second), result.processed());
+        assertEquals(List.of(first, second), orderConsumerHandler.handleBatch(List.of(first, second)).processed());
+        verify(orderProcessingService, times(1)).processOrders(List.of("ORDER-1"));
+        verify(orderProcessingService, times(1)).processOrders(List.of("ORDER-2"));
+    }
+
+    @Test
+    void handleBatch_shouldReturnARedeliveredOrderOnce_withoutNotifyingItAgain() {
+        enableDedup();
+        OrderDTO order = OrderDTO.builder().orderNumber("ORDER-1").notificationType(NotificationType.EMAIL).build();
+        when(orderProcessingService.processOrders(List.of("ORDER-1"))).thenReturn(Map.of("ORDER-1", ProcessingOutcome.PROCESSED));
+        orderConsumerHandler.handleBatch(List.of(order));
+
+        // Redelivered after the Kafka transaction holding its processed event aborted
+        OrderBatchOutcome result = orderConsumerHandler.handleBatch(List.of(order, order));
+
+        assertEquals(List.of(order), result.processed());
+        verify(orderProcessingService, times(1)).processOrders(anyCollection());
+        verify(notificationDispatcherService, times(1)).dispatch(eq(NotificationType.EMAIL), eq("ORDER-1"), contains("ORDER-1"));
+    }
 }
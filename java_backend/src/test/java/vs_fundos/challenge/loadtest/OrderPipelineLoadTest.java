@@ -0,0 +1,284 @@
+package vs_fundos.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.service.notification.NotificationService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedKafka(partitions = 3, topics = {"${kafka.topic.name}"})
+public class OrderPipelineLoadTest {
+    private static final Logger logger = LogManager.getLogger(OrderPipelineLoadTest.class);
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Duration[] HISTOGRAM_BUCKETS = Arrays.stream(new long[]{1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000})
+            .mapToObj(Duration::ofMillis)
+            .toArray(Duration[]::new);
+
+    @TestConfiguration
+    static class LoadTestConfig {
+        @Bean
+        public static ProcessedOrderRecorder processedOrderRecorder() {
+            return new ProcessedOrderRecorder();
+        }
+    }
+
+    // Wraps the notification strategies so "processed" is stamped when the notification is delivered, not when it is queued.
+    static class ProcessedOrderRecorder implements BeanPostProcessor {
+        private static final Pattern ORDER_NUMBER = Pattern.compile("number: (\\S+) has");
+        private final ConcurrentMap<String, Long> processedAt = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof NotificationService delegate) {
+                return new NotificationService() {
+                    @Override
+                    public void send(String message) {
+                        delegate.send(message);
+                        record(message);
+                    }
+
+                    @Override
+                    public void sendBatch(List<String> messages) {
+                        delegate.sendBatch(messages);
+                        messages.forEach(ProcessedOrderRecorder.this::record);
+                    }
+
+                    @Override
+                    public NotificationType getStrategy() {
+                        return delegate.getStrategy();
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private void record(String message) {
+            Matcher matcher = ORDER_NUMBER.matcher(message);
+            if (matcher.find()) {
+                processedAt.putIfAbsent(matcher.group(1), System.nanoTime());
+            }
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ProcessedOrderRecorder recorder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${loadtest.rate}")
+    private int rate;
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+    @Value("${loadtest.drain-timeout-seconds}")
+    private int drainTimeoutSeconds;
+    @Value("${loadtest.results-dir}")
+    private String resultsDir;
+    @Value("${loadtest.baseline:}")
+    private String baseline;
+    @Value("${loadtest.max-regression}")
+    private double maxRegression;
+    @Value("${order.outbox.enabled:true}")
+    private boolean outboxEnabled;
+    @Value("${kafka.consumer.batch.enabled:false}")
+    private boolean batchConsumerEnabled;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void createToProcessed_underConstantArrivalRate() throws IOException {
+        runPhase("warmup", warmupSeconds, new SimpleMeterRegistry());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Phase phase = runPhase("run", durationSeconds, registry);
+        await().atMost(drainTimeoutSeconds, TimeUnit.SECONDS).pollInterval(Duration.ofMillis(100))
+                .until(() -> phase.created.keySet().stream().allMatch(recorder.processedAt::containsKey));
+
+        Timer lag = timer(registry, "order.create_to_processed");
+        long lastProcessed = phase.startNanos;
+        for (Map.Entry<String, Long> created : phase.created.entrySet()) {
+            long processedAt = recorder.processedAt.get(created.getKey());
+            lag.record(processedAt - created.getValue(), TimeUnit.NANOSECONDS);
+            lastProcessed = Math.max(lastProcessed, processedAt);
+        }
+        Map<String, Object> report = report(phase, registry.get("order.http.create").timer(), lag, lastProcessed);
+        writeReport(report);
+
+        assertThat(phase.failures).hasValue(0);
+        assertThat(phase.created).hasSize(phase.sent);
+        if (!baseline.isBlank()) {
+            assertNoRegression(report, objectMapper.readTree(Path.of(baseline).toFile()));
+        }
+    }
+
+    private Phase runPhase(String name, int seconds, SimpleMeterRegistry registry) {
+        Timer httpLatency = timer(registry, "order.http.create");
+        Phase phase = new Phase(rate * seconds);
+        String prefix = "LT-" + name + "-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(phase.sent);
+        for (int i = 0; i < phase.sent; i++) {
+            long intended = phase.startNanos + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String orderNumber = prefix + i;
+            // Latency is measured from the scheduled send time so a stalled server is not hidden by a stalled client.
+            inFlight.add(httpClient.sendAsync(createRequest(orderNumber), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        httpLatency.record(System.nanoTime() - intended, TimeUnit.NANOSECONDS);
+                        if (error == null && response.statusCode() == 201) {
+                            phase.created.put(orderNumber, intended);
+                        } else {
+                            phase.failures.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).handle((result, error) -> null).join();
+        phase.endNanos = System.nanoTime();
+        return phase;
+    }
+
+    private HttpRequest createRequest(String orderNumber) {
+        String body = "{\"orderNumber\":\"" + orderNumber + "\",\"totalValue\":10.00,\"status\":\"UNPROCESSED\",\"notificationType\":\"EMAIL\"}";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/order/"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Timer timer(SimpleMeterRegistry registry, String name) {
+        return Timer.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .serviceLevelObjectives(HISTOGRAM_BUCKETS)
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+
+    private Map<String, Object> report(Phase phase, Timer httpLatency, Timer lag, long lastProcessed) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rate", rate);
+        config.put("durationSeconds", durationSeconds);
+        config.put("outboxEnabled", outboxEnabled);
+        config.put("batchConsumerEnabled", batchConsumerEnabled);
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("config", config);
+        report.put("sent", phase.sent);
+        report.put("created", phase.created.size());
+        report.put("failed", phase.failures.get());
+        report.put("createThroughputPerSecond", perSecond(phase.created.size(), phase.endNanos - phase.startNanos));
+        report.put("processedThroughputPerSecond", perSecond(phase.created.size(), lastProcessed - phase.startNanos));
+        report.put("httpLatencyMs", summary(httpLatency));
+        report.put("createToProcessedLagMs", summary(lag));
+        return report;
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    private static Map<String, Object> summary(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put("p" + String.valueOf(percentile.percentile() * 100).replaceAll("\\.?0+$", ""), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        summary.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        Map<String, Double> histogram = new LinkedHashMap<>();
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            histogram.put("le_" + (long) bucket.bucket(TimeUnit.MILLISECONDS), bucket.count());
+        }
+        summary.put("histogram", histogram);
+        return summary;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        Path directory = Files.createDirectories(Path.of(resultsDir));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        byte[] json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(report);
+        Path reportFile = directory.resolve("loadtest-" + timestamp + ".json");
+        Files.write(reportFile, json);
+        Files.write(directory.resolve("loadtest-latest.json"), json);
+        logger.info("Load test report written to {}", reportFile.toAbsolutePath());
+    }
+
+    private void assertNoRegression(Map<String, Object> report, JsonNode baselineReport) {
+        JsonNode current = objectMapper.valueToTree(report);
+        double baselineP99 = baselineReport.at("/httpLatencyMs/p99").asDouble();
+        double baselineLagP99 = baselineReport.at("/createToProcessedLagMs/p99").asDouble();
+        double baselineThroughput = baselineReport.at("/processedThroughputPerSecond").asDouble();
+        assertThat(current.at("/httpLatencyMs/p99").asDouble())
+                .as("HTTP p99 latency vs baseline %s", baseline)
+                .isLessThanOrEqualTo(baselineP99 * (1 + maxRegression));
+        assertThat(current.at("/createToProcessedLagMs/p99").asDouble())
+                .as("create-to-processed p99 lag vs baseline %s", baseline)
+                .isLessThanOrEqualTo(baselineLagP99 * (1 + maxRegression));
+        assertThat(current.at("/processedThroughputPerSecond").asDouble())
+                .as("processed throughput vs baseline %s", baseline)
+                .isGreaterThanOrEqualTo(baselineThroughput * (1 - maxRegression));
+    }
+
+    private static class Phase {
+        private final int sent;
+        private final long startNanos = System.nanoTime();
+        private final ConcurrentMap<String, Long> created = new ConcurrentHashMap<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private long endNanos;
+
+        Phase(int sent) {
+            this.sent = sent;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package vs_fundos.challenge.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.enums.NotificationType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderMetricsTest {
+    private SimpleMeterRegistry registry;
+    private OrderMetrics orderMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        orderMetrics = new OrderMetrics(registry);
+    }
+
+    @Test
+    void constructor_shouldRegisterAllPipelineMetersUpFront() {
+        assertThat(registry.find(OrderMetrics.PRODUCER_SEND).timers()).hasSize(2);
+        assertThat(registry.find(OrderMetrics.CONSUMER_PROCESS).timers()).hasSize(2);
+        assertThat(registry.find(OrderMetrics.CONSUMER_LAG).timer()).isNotNull();
+        assertThat(registry.find(OrderMetrics.NOTIFICATION_SEND).timers()).hasSize(NotificationType.values().length);
+    }
+
+    @Test
+    void recordProducerSend_shouldTagByOutcome() {
+        orderMetrics.recordProducerSend(System.nanoTime(), true);
+        orderMetrics.recordProducerSend(System.nanoTime(), false);
+        orderMetrics.recordProducerSend(System.nanoTime(), false);
+
+        assertThat(registry.get(OrderMetrics.PRODUCER_SEND).tag("outcome", "acked").timer().count()).isEqualTo(1);
+        assertThat(registry.get(OrderMetrics.PRODUCER_SEND).tag("outcome", "failed").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void recordConsumerLag_shouldIgnoreTimestampsFromTheFuture() {
+        orderMetrics.recordConsumerLag(System.currentTimeMillis() - 50);
+        orderMetrics.recordConsumerLag(System.currentTimeMillis() + 60_000);
+
+        assertThat(registry.get(OrderMetrics.CONSUMER_LAG).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordNotificationSend_shouldTagByStrategy_andIgnoreUnknownStrategy() {
+        orderMetrics.recordNotificationSend(NotificationType.SMS, System.nanoTime());
+        orderMetrics.recordNotificationSend(null, System.nanoTime());
+
+        assertThat(registry.get(OrderMetrics.NOTIFICATION_SEND).tag("strategy", "SMS").timer().count()).isEqualTo(1);
+        assertThat(registry.get(OrderMetrics.NOTIFICATION_SEND).tag("strategy", "EMAIL").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package vs_fundos.challenge.producer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderProcessedEventDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.producer.impl.KafkaOrderProcessedProducerServiceImpl;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaOrderProcessedProducerServiceImplTest {
+    @Mock
+    private KafkaProperties kafkaProperties;
+    @Mock
+    private KafkaTemplate<String, OrderProcessedEventDTO> kafkaTemplate;
+    @InjectMocks
+    private KafkaOrderProcessedProducerServiceImpl orderProcessedProducerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderProcessedProducerService, "topicName", "second_topic");
+        ReflectionTestUtils.setField(orderProcessedProducerService, "kafkaTemplate", kafkaTemplate);
+    }
+
+    @Test
+    void publishProcessed_shouldSendOneEventPerOrderKeyedByOrderNumber() {
+        OrderDTO first = OrderDTO.builder().orderNumber("ORDER-1").totalValue(new BigDecimal("10.50")).notificationType(NotificationType.EMAIL).build();
+        OrderDTO second = OrderDTO.builder().orderNumber("ORDER-2").build();
+
+        orderProcessedProducerService.publishProcessed(List.of(first, second));
+
+        ArgumentCaptor<OrderProcessedEventDTO> event = ArgumentCaptor.forClass(OrderProcessedEventDTO.class);
+        verify(kafkaTemplate).send(eq("second_topic"), eq("ORDER-1"), event.capture());
+        verify(kafkaTemplate).send(eq("second_topic"), eq("ORDER-2"), any(OrderProcessedEventDTO.class));
+        assertEquals("ORDER-1", event.getValue().getOrderNumber());
+        assertEquals(new BigDecimal("10.50"), event.getValue().getTotalValue());
+        assertEquals(NotificationType.EMAIL, event.getValue().getNotificationType());
+        assertNotNull(event.getValue().getProcessedAt());
+    }
+
+    @Test
+    void start_shouldFailWithoutTheBatchConsumer() {
+        ReflectionTestUtils.setField(orderProcessedProducerService, "batchEnabled", false);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> orderProcessedProducerService.start());
+
+        assertTrue(thrown.getMessage().contains("kafka.consumer.batch.enabled=true"));
+        verifyNoInteractions(kafkaProperties);
+    }
+}
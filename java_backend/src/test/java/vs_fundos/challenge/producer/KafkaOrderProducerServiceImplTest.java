@@ -12,11 +12,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.metrics.OrderMetrics;
 import vs_fundos.challenge.producer.impl.KafkaOrderProducerServiceImpl;
 
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -25,6 +27,8 @@ import static org.mockito.Mockito.*;
 public class KafkaOrderProducerServiceImplTest {
     @Mock
     private KafkaTemplate<String, OrderDTO> kafkaTemplate;
+    @Mock
+    private OrderMetrics orderMetrics;
     @InjectMocks
     private KafkaOrderProducerServiceImpl kafkaOrderProducerServiceImpl;
     private final String TEST_TOPIC_NAME = "test-topic";
@@ -56,9 +60,10 @@ public class KafkaOrderProducerServiceImplTest {
         SendResult<String, OrderDTO> sendResult = new SendResult<>(producerRecord, recordMetadata);
         // No contexto do Kafka, o método 'send' do KafkaTemplate retorna um CompletableFuture que será completado com o SendResult.
         CompletableFuture<SendResult<String, OrderDTO>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), any(OrderDTO.class))).thenReturn(future);
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderDTO.class))).thenReturn(future);
         assertDoesNotThrow(() -> kafkaOrderProducerServiceImpl.sendMessage(message));
-        verify(kafkaTemplate, times(1)).send(TEST_TOPIC_NAME, message);
+        verify(kafkaTemplate, times(1)).send(TEST_TOPIC_NAME, "ORDER-123", message);
+        verify(orderMetrics, times(1)).recordProducerSend(anyLong(), eq(true));
     }
 
     @Test
@@ -67,8 +72,36 @@ public class KafkaOrderProducerServiceImplTest {
         String errorMessage = "Failed to send message";
         CompletableFuture<SendResult<String, OrderDTO>> future = new CompletableFuture<>();
         future.completeExceptionally(new RuntimeException(errorMessage));
-        when(kafkaTemplate.send(anyString(), any(OrderDTO.class))).thenReturn(future);
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderDTO.class))).thenReturn(future);
         assertDoesNotThrow(() -> kafkaOrderProducerServiceImpl.sendMessage(message));
-        verify(kafkaTemplate, times(1)).send(TEST_TOPIC_NAME, message);
+        verify(kafkaTemplate, times(1)).send(TEST_TOPIC_NAME, "ORDER-123", message);
+        verify(orderMetrics, times(1)).recordProducerSend(anyLong(), eq(false));
+    }
+
+    @Test
+    void sendMessageAsync_shouldCompleteWhenBrokerAcknowledges() {
+        OrderDTO message = OrderDTO.builder().orderNumber("ORDER-123").build();
+        RecordMetadata recordMetadata = new RecordMetadata(new TopicPartition(TEST_TOPIC_NAME, 0), 1L, 0, System.currentTimeMillis(), 0, 0);
+        SendResult<String, OrderDTO> sendResult = new SendResult<>(new ProducerRecord<>(TEST_TOPIC_NAME, message), recordMetadata);
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderDTO.class))).thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        CompletableFuture<Void> ack = kafkaOrderProducerServiceImpl.sendMessageAsync(message);
+
+        assertTrue(ack.isDone());
+        assertDoesNotThrow(() -> ack.join());
+        verify(kafkaTemplate, times(1)).send(TEST_TOPIC_NAME, "ORDER-123", message);
+    }
+
+    @Test
+    void sendMessageAsync_shouldCompleteExceptionally_whenSendFails() {
+        OrderDTO message = OrderDTO.builder().orderNumber("ORDER-123").build();
+        CompletableFuture<SendResult<String, OrderDTO>> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException("Failed to send message"));
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderDTO.class))).thenReturn(future);
+
+        CompletableFuture<Void> ack = kafkaOrderProducerServiceImpl.sendMessageAsync(message);
+
+        assertTrue(ack.isCompletedExceptionally());
+        verify(orderMetrics, times(1)).recordProducerSend(anyLong(), eq(false));
     }
 }
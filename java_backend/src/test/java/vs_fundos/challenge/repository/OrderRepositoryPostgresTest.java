@@ -0,0 +1,74 @@
+package vs_fundos.challenge.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The batch markProcessed is native Postgres (UPDATE ... RETURNING), so it runs against a real Postgres; skipped when
+// Docker is not available
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class OrderRepositoryPostgresTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(order("ORDER-1", OrderStatus.UNPROCESSED));
+        entityManager.persist(order("ORDER-2", OrderStatus.PROCESSED));
+        entityManager.persist(order("ORDER-3", null));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Order order(String orderNumber, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setTotalValue(new BigDecimal("10.00"));
+        order.setStatus(status);
+        order.setOrderDateCreated(CREATED);
+        order.setOrderDateUpdated(CREATED);
+        return order;
+    }
+
+    @Test
+    void markProcessed_shouldReturnOnlyTheOrdersItMovedToProcessed_andBumpTheirVersion() {
+        LocalDateTime now = CREATED.plusHours(1);
+
+        List<String> processed = orderRepository.markProcessed(List.of("ORDER-1", "ORDER-2", "ORDER-3", "ORDER-404"), now);
+
+        assertThat(processed).containsExactlyInAnyOrder("ORDER-1", "ORDER-3");
+        assertThat(orderRepository.markProcessed(List.of("ORDER-1", "ORDER-3"), now)).isEmpty();
+        entityManager.clear();
+        Order order = orderRepository.findByOrderNumber("ORDER-1");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PROCESSED);
+        assertThat(order.getOrderDateUpdated()).isEqualTo(now);
+        assertThat(order.getVersion()).isEqualTo(1);
+        assertThat(orderRepository.findByOrderNumber("ORDER-2").getVersion()).isZero();
+    }
+}
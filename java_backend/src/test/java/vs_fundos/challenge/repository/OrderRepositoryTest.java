@@ -0,0 +1,86 @@
+package vs_fundos.challenge.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+public class OrderRepositoryTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long unprocessedId;
+
+    @BeforeEach
+    void setUp() {
+        unprocessedId = entityManager.persistAndGetId(order("ORDER-1", OrderStatus.UNPROCESSED), Long.class);
+        entityManager.persist(order("ORDER-2", OrderStatus.PROCESSED));
+        entityManager.persist(order("ORDER-3", null));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Order order(String orderNumber, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setTotalValue(new BigDecimal("10.00"));
+        order.setStatus(status);
+        order.setOrderDateCreated(CREATED);
+        order.setOrderDateUpdated(CREATED);
+        return order;
+    }
+
+    @Test
+    void markProcessed_shouldUpdateOnlyOrdersNotYetProcessed_andBumpVersion() {
+        LocalDateTime now = CREATED.plusHours(1);
+
+        assertThat(orderRepository.markProcessed("ORDER-1", now)).isEqualTo(1);
+        assertThat(orderRepository.markProcessed("ORDER-1", now)).isZero();
+        assertThat(orderRepository.markProcessed("ORDER-2", now)).isZero();
+        assertThat(orderRepository.markProcessed("ORDER-3", now)).isEqualTo(1);
+        assertThat(orderRepository.markProcessed("ORDER-404", now)).isZero();
+
+        entityManager.clear();
+        Order processed = orderRepository.findByOrderNumber("ORDER-1");
+        assertThat(processed.getStatus()).isEqualTo(OrderStatus.PROCESSED);
+        assertThat(processed.getOrderDateUpdated()).isEqualTo(now);
+        assertThat(processed.getVersion()).isEqualTo(1);
+        assertThat(orderRepository.existsByOrderNumber("ORDER-2")).isTrue();
+        assertThat(orderRepository.existsByOrderNumber("ORDER-404")).isFalse();
+    }
+
+    @Test
+    void save_shouldRejectStaleCopy_whenStatusChangedSinceItWasRead() {
+        Order stale = orderRepository.findById(unprocessedId).orElseThrow();
+        entityManager.detach(stale);
+        orderRepository.markProcessed("ORDER-1", CREATED.plusHours(1));
+        entityManager.clear();
+
+        stale.setTotalValue(new BigDecimal("20.00"));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> orderRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void saveAndFlush_shouldRejectADuplicateOrderNumberRightAway() {
+        // Sequence ids let save() defer the INSERT to the flush; saveAndFlush surfaces the duplicate at the call
+        assertThrows(DataIntegrityViolationException.class, () -> orderRepository.saveAndFlush(order("ORDER-1", OrderStatus.UNPROCESSED)));
+    }
+}
@@ -0,0 +1,130 @@
+package vs_fundos.challenge.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.model.Order;
+import vs_fundos.challenge.util.OrderCursor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class OrderSearchRepositoryImplTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Order order = new Order();
+            order.setOrderNumber("ORDER-" + i);
+            order.setTotalValue(new BigDecimal(100 + (i % 3)));
+            order.setStatus(i % 2 == 0 ? OrderStatus.PROCESSED : OrderStatus.UNPROCESSED);
+            order.setNotificationType(i < 5 ? NotificationType.EMAIL : NotificationType.SMS);
+            // Pairs of orders share a creation time, so the id tie-breaker is exercised.
+            order.setOrderDateCreated(BASE.plusMinutes(i / 2));
+            order.setOrderDateUpdated(BASE.plusMinutes(i));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<String> readAll(OrderFilterDTO filter, OrderSortField sort, Sort.Direction direction, int limit) {
+        List<String> orderNumbers = new ArrayList<>();
+        OrderCursor after = null;
+        do {
+            OrderPageDTO page = orderRepository.search(filter, sort, direction, after, limit);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(limit);
+            page.getItems().forEach(order -> orderNumbers.add(order.getOrderNumber()));
+            after = page.getNextCursor() == null ? null : OrderCursor.decode(page.getNextCursor());
+        } while (after != null);
+        return orderNumbers;
+    }
+
+    @Test
+    void search_shouldWalkEveryOrderOnceByIdAcrossPages() {
+        List<String> orderNumbers = readAll(new OrderFilterDTO(), OrderSortField.ID, Sort.Direction.ASC, 3);
+
+        assertThat(orderNumbers).containsExactly(
+                "ORDER-0", "ORDER-1", "ORDER-2", "ORDER-3", "ORDER-4", "ORDER-5", "ORDER-6", "ORDER-7", "ORDER-8", "ORDER-9");
+    }
+
+    @Test
+    void search_shouldBreakSortKeyTiesById_whenSortingByCreationDate() {
+        List<String> descending = readAll(new OrderFilterDTO(), OrderSortField.ORDER_DATE_CREATED, Sort.Direction.DESC, 3);
+
+        assertThat(descending).containsExactly(
+                "ORDER-9", "ORDER-8", "ORDER-7", "ORDER-6", "ORDER-5", "ORDER-4", "ORDER-3", "ORDER-2", "ORDER-1", "ORDER-0");
+    }
+
+    @Test
+    void search_shouldPageThroughDuplicateTotalValuesWithoutSkippingRows() {
+        List<String> orderNumbers = readAll(new OrderFilterDTO(), OrderSortField.TOTAL_VALUE, Sort.Direction.ASC, 2);
+
+        assertThat(orderNumbers).containsExactly(
+                "ORDER-0", "ORDER-3", "ORDER-6", "ORDER-9", "ORDER-1", "ORDER-4", "ORDER-7", "ORDER-2", "ORDER-5", "ORDER-8");
+    }
+
+    @Test
+    void search_shouldApplyEveryFilter() {
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(OrderStatus.PROCESSED)
+                .notificationType(NotificationType.EMAIL)
+                .createdFrom(BASE)
+                .createdTo(BASE.plusMinutes(2))
+                .updatedFrom(BASE.plusMinutes(1))
+                .minTotalValue(new BigDecimal("101"))
+                .maxTotalValue(new BigDecimal("102"))
+                .build();
+
+        List<String> orderNumbers = readAll(filter, OrderSortField.ORDER_DATE_UPDATED, Sort.Direction.ASC, 10);
+
+        assertThat(orderNumbers).containsExactly("ORDER-2");
+    }
+
+    @Test
+    void search_shouldProjectAllFieldsAndOmitCursorOnLastPage() {
+        OrderPageDTO page = orderRepository.search(OrderFilterDTO.builder().status(OrderStatus.UNPROCESSED).build(),
+                OrderSortField.ID, Sort.Direction.ASC, null, 5);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getItems()).hasSize(5);
+        OrderDTO first = page.getItems().get(0);
+        assertThat(first.getOrderNumber()).isEqualTo("ORDER-1");
+        assertThat(first.getTotalValue()).isEqualByComparingTo("101");
+        assertThat(first.getStatus()).isEqualTo(OrderStatus.UNPROCESSED);
+        assertThat(first.getNotificationType()).isEqualTo(NotificationType.EMAIL);
+        assertThat(first.getOrderDateCreated()).isEqualTo(BASE);
+        assertThat(first.getOrderDateUpdated()).isEqualTo(BASE.plusMinutes(1));
+    }
+
+    @Test
+    void streamOrders_shouldStreamEveryMatchingOrderById() {
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PROCESSED).createdFrom(BASE.plusMinutes(1)).build();
+
+        try (Stream<OrderDTO> orders = orderRepository.streamOrders(filter, 2)) {
+            assertThat(orders.map(OrderDTO::getOrderNumber)).containsExactly("ORDER-2", "ORDER-4", "ORDER-6", "ORDER-8");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package vs_fundos.challenge.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderBinaryCodecTest {
+
+    private static OrderDTO order() {
+        return OrderDTO.builder()
+                .orderNumber("ORDER-0C8N2R5W6XAZ4")
+                .totalValue(new BigDecimal("57.42"))
+                .status(OrderStatus.UNPROCESSED)
+                .notificationType(NotificationType.SMS)
+                .orderDateCreated(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_000_000))
+                .orderDateUpdated(LocalDateTime.of(2025, 6, 1, 12, 31, 0))
+                .build();
+    }
+
+    @Test
+    void encode_thenDecode_shouldRoundTripEveryField() {
+        byte[] encoded = OrderBinaryCodec.encode(order());
+
+        assertThat(encoded[0]).isEqualTo(OrderBinaryCodec.VERSION);
+        assertThat(OrderBinaryCodec.decode(encoded)).isEqualTo(order());
+    }
+
+    @Test
+    void encode_shouldBeMuchSmallerThanJson() {
+        assertThat(OrderBinaryCodec.encode(order())).hasSizeLessThan(50);
+    }
+
+    @Test
+    void encode_thenDecode_shouldKeepNullFieldsNull() {
+        OrderDTO partial = OrderDTO.builder().orderNumber("ORDER-1").status(OrderStatus.PROCESSED).build();
+
+        assertThat(OrderBinaryCodec.decode(OrderBinaryCodec.encode(partial))).isEqualTo(partial);
+        assertThat(OrderBinaryCodec.decode(OrderBinaryCodec.encode(new OrderDTO()))).isEqualTo(new OrderDTO());
+    }
+
+    @Test
+    void encode_thenDecode_shouldKeepScaleSignAndLargeValues() {
+        for (String value : new String[]{"0", "-0.01", "1E+3", "123456789012345678901234567890.123456789"}) {
+            OrderDTO order = OrderDTO.builder().totalValue(new BigDecimal(value)).build();
+
+            assertThat(OrderBinaryCodec.decode(OrderBinaryCodec.encode(order)).getTotalValue()).isEqualTo(new BigDecimal(value));
+        }
+    }
+
+    @Test
+    void encode_thenDecode_shouldKeepDatesBeforeTheEpoch() {
+        OrderDTO order = OrderDTO.builder().orderDateCreated(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000)).build();
+
+        assertThat(OrderBinaryCodec.decode(OrderBinaryCodec.encode(order))).isEqualTo(order);
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedPayloads() {
+        byte[] encoded = OrderBinaryCodec.encode(order());
+
+        assertThatThrownBy(() -> OrderBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void decode_shouldRejectUnknownVersionsAndEnumOrdinals() {
+        byte[] encoded = OrderBinaryCodec.encode(OrderDTO.builder().status(OrderStatus.PROCESSED).build());
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = 2;
+        byte[] unknownStatus = encoded.clone();
+        unknownStatus[2] = 9;
+
+        assertThatThrownBy(() -> OrderBinaryCodec.decode(unknownVersion)).isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> OrderBinaryCodec.decode(unknownStatus)).isInstanceOf(SerializationException.class)
+                .hasMessageContaining("OrderStatus");
+    }
+}
@@ -0,0 +1,84 @@
+package vs_fundos.challenge.serialization;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderDTOSerdeTest {
+    private static final String TOPIC = "first_topic";
+    private final OrderDTO order = OrderDTO.builder()
+            .orderNumber("ORDER-0C8N2R5W6XAZ4")
+            .totalValue(new BigDecimal("57.42"))
+            .status(OrderStatus.UNPROCESSED)
+            .notificationType(NotificationType.EMAIL)
+            .orderDateCreated(LocalDateTime.of(2025, 6, 1, 12, 30, 15))
+            .orderDateUpdated(LocalDateTime.of(2025, 6, 1, 12, 30, 15))
+            .build();
+
+    private static OrderDTOSerializer serializer(String wireFormat) {
+        OrderDTOSerializer serializer = new OrderDTOSerializer();
+        serializer.configure(Map.of(OrderDTOSerializer.WIRE_FORMAT_CONFIG, wireFormat), false);
+        return serializer;
+    }
+
+    @Test
+    void serialize_shouldDefaultToJson() {
+        RecordHeaders headers = new RecordHeaders();
+        RecordHeaders jsonHeaders = new RecordHeaders();
+
+        byte[] payload = new OrderDTOSerializer().serialize(TOPIC, headers, order);
+
+        assertThat(payload).isEqualTo(serializer("json").serialize(TOPIC, jsonHeaders, order));
+        assertThat(headers.toArray()).isEqualTo(jsonHeaders.toArray());
+    }
+
+    @Test
+    void serialize_whenWireFormatIsBinary_shouldUseTheCodecWithoutTypeHeaders() {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serializer("binary").serialize(TOPIC, headers, order);
+
+        assertThat(payload[0]).isEqualTo(OrderBinaryCodec.VERSION);
+        assertThat(headers.toArray()).isEmpty();
+        assertThat(new OrderDTODeserializer().deserialize(TOPIC, headers, payload)).isEqualTo(order);
+    }
+
+    @Test
+    void serialize_whenWireFormatIsJson_shouldMatchJsonSerializer() {
+        RecordHeaders headers = new RecordHeaders();
+        RecordHeaders expectedHeaders = new RecordHeaders();
+
+        byte[] payload = serializer("json").serialize(TOPIC, headers, order);
+
+        assertThat(payload).isEqualTo(new JsonSerializer<OrderDTO>().serialize(TOPIC, expectedHeaders, order));
+        assertThat(headers).isEqualTo(expectedHeaders);
+        assertThat(new String(payload, StandardCharsets.UTF_8)).contains("\"orderDateCreated\":\"2025-06-01 12:30:15\"");
+    }
+
+    @Test
+    void deserialize_shouldReadJsonPayloads_soBothFormatsCoexistOnATopic() {
+        byte[] json = serializer("JSON").serialize(TOPIC, new RecordHeaders(), order);
+        byte[] binary = serializer("BINARY").serialize(TOPIC, new RecordHeaders(), order);
+        OrderDTODeserializer deserializer = new OrderDTODeserializer();
+
+        assertThat(deserializer.deserialize(TOPIC, json)).isEqualTo(order);
+        assertThat(deserializer.deserialize(TOPIC, binary)).isEqualTo(order);
+        assertThat(binary.length).isLessThan(json.length / 3);
+    }
+
+    @Test
+    void nullPayloads_shouldMapToNull() {
+        assertThat(new OrderDTOSerializer().serialize(TOPIC, null)).isNull();
+        assertThat(new OrderDTODeserializer().deserialize(TOPIC, null)).isNull();
+    }
+}
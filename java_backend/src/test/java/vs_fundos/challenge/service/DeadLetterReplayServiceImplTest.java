@@ -0,0 +1,152 @@
+package vs_fundos.challenge.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.dto.DeadLetterReplayResultDTO;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.consumer.DeadLetterMetrics;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.service.impl.DeadLetterReplayServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadLetterReplayServiceImplTest {
+    private static final String DLT = "first_topic-dlt";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(DLT, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(DLT, 1);
+    @Mock
+    private ConsumerFactory<Object, Object> consumerFactory;
+    @Mock
+    private OrderProducerService orderProducerService;
+    @Mock
+    private DeadLetterMetrics deadLetterMetrics;
+    private MockConsumer<Object, Object> consumer;
+    private DeadLetterReplayServiceImpl deadLetterReplayService;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterReplayService = new DeadLetterReplayServiceImpl(consumerFactory, orderProducerService, deadLetterMetrics);
+        ReflectionTestUtils.setField(deadLetterReplayService, "topicName", "first_topic");
+        ReflectionTestUtils.setField(deadLetterReplayService, "pollTimeoutMs", 10L);
+        ReflectionTestUtils.setField(deadLetterReplayService, "joinTimeoutMs", 100L);
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null), new PartitionInfo(DLT, 1, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+    }
+
+    private void deadLetters(int onPartition0, int onPartition1) {
+        consumer.updateEndOffsets(Map.of(PARTITION_0, (long) onPartition0, PARTITION_1, (long) onPartition1));
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+            for (int offset = 0; offset < onPartition0; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(DLT, 0, offset, "ORDER-0" + offset, order("ORDER-0" + offset)));
+            }
+            for (int offset = 0; offset < onPartition1; offset++) {
+                consumer.addRecord(new ConsumerRecord<>(DLT, 1, offset, "ORDER-1" + offset, order("ORDER-1" + offset)));
+            }
+        });
+        when(consumerFactory.createConsumer(eq("order-dlt-replay"), isNull(), eq("-replay"), any(Properties.class))).thenReturn(consumer);
+    }
+
+    private static OrderDTO order(String orderNumber) {
+        return OrderDTO.builder().orderNumber(orderNumber).build();
+    }
+
+    @Test
+    void replay_shouldResendUpToLimitAndCommitOnlyWhatWasSent() {
+        deadLetters(3, 0);
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        DeadLetterReplayResultDTO result = deadLetterReplayService.replay(2);
+
+        assertThat(result).isEqualTo(DeadLetterReplayResultDTO.builder().topic(DLT).replayed(2).failed(0).remaining(1).build());
+        verify(orderProducerService).sendMessageAsync(order("ORDER-00"));
+        verify(orderProducerService).sendMessageAsync(order("ORDER-01"));
+        verify(orderProducerService, never()).sendMessageAsync(order("ORDER-02"));
+        verify(deadLetterMetrics).recordDeadLettersReplayed(2);
+        assertThat(consumer.closed()).isTrue();
+    }
+
+    @Test
+    void replay_whenASendFails_shouldNotCommitPastItOnThatPartition() {
+        deadLetters(2, 1);
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(orderProducerService.sendMessageAsync(order("ORDER-00"))).thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        DeadLetterReplayResultDTO result = deadLetterReplayService.replay(10);
+
+        assertThat(result.getReplayed()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getRemaining()).isEqualTo(2);
+    }
+
+    @Test
+    void replay_shouldSkipAndCommitPastRecordsThatAreNotOrders() {
+        consumer.updateEndOffsets(Map.of(PARTITION_0, 3L, PARTITION_1, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 0, "ORDER-00", order("ORDER-00")));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 1, "ORDER-01", "not an order"));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 2, "ORDER-02", order("ORDER-02")));
+        });
+        when(consumerFactory.createConsumer(eq("order-dlt-replay"), isNull(), eq("-replay"), any(Properties.class))).thenReturn(consumer);
+        when(orderProducerService.sendMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        DeadLetterReplayResultDTO result = deadLetterReplayService.replay(10);
+
+        assertThat(result).isEqualTo(DeadLetterReplayResultDTO.builder().topic(DLT).replayed(2).failed(0).skipped(1).remaining(0).build());
+        verify(orderProducerService, times(2)).sendMessageAsync(any());
+        verify(deadLetterMetrics).recordDeadLettersReplayed(2);
+    }
+
+    @Test
+    void replay_whenAnotherReplayOwnsEveryPartition_shouldReplayNothing() {
+        consumer.updateEndOffsets(Map.of(PARTITION_0, 1L, PARTITION_1, 0L));
+        when(consumerFactory.createConsumer(eq("order-dlt-replay"), isNull(), eq("-replay"), any(Properties.class))).thenReturn(consumer);
+
+        DeadLetterReplayResultDTO result = deadLetterReplayService.replay(10);
+
+        assertThat(result).isEqualTo(DeadLetterReplayResultDTO.builder().topic(DLT).replayed(0).failed(0).remaining(1).build());
+        assertThat(consumer.subscription()).containsExactly(DLT);
+        verifyNoInteractions(orderProducerService);
+    }
+
+    @Test
+    void replay_whenTheDeadLetterTopicDoesNotExist_shouldReplayNothing() {
+        ReflectionTestUtils.setField(deadLetterReplayService, "topicName", "other_topic");
+        when(consumerFactory.createConsumer(any(), any(), any(), any(Properties.class))).thenReturn(consumer);
+
+        DeadLetterReplayResultDTO result = deadLetterReplayService.replay(10);
+
+        assertThat(result.getReplayed()).isZero();
+        assertThat(result.getTopic()).isEqualTo("other_topic-dlt");
+        verifyNoInteractions(orderProducerService);
+    }
+
+    @Test
+    void replay_shouldRejectLimitsBelowOne() {
+        assertThrows(InvalidOrderQueryException.class, () -> deadLetterReplayService.replay(0));
+
+        verifyNoInteractions(consumerFactory);
+    }
+}
@@ -0,0 +1,243 @@
+package vs_fundos.challenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.IdempotentResult;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.exception.IdempotencyKeyReuseException;
+import vs_fundos.challenge.exception.InvalidIdempotencyKeyException;
+import vs_fundos.challenge.model.IdempotencyRecord;
+import vs_fundos.challenge.repository.IdempotencyRecordRepository;
+import vs_fundos.challenge.service.impl.IdempotencyServiceImpl;
+import vs_fundos.challenge.util.Convert;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceImplTest {
+    private static final String OPERATION = "POST /order/";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry registry;
+    private IdempotencyServiceImpl idempotencyService;
+    private OrderDTO request;
+    private OrderDTO created;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Convert convert = new Convert(new ObjectMapper().registerModule(new JavaTimeModule()));
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, transactionTemplate, convert, registry);
+        ReflectionTestUtils.setField(idempotencyService, "expectedKeys", 1_000L);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        idempotencyService.init();
+        request = OrderDTO.builder().orderNumber("ORDER-1").totalValue(new BigDecimal("10.00")).build();
+        created = OrderDTO.builder()
+                .orderNumber("ORDER-1")
+                .totalValue(new BigDecimal("10.00"))
+                .status(OrderStatus.UNPROCESSED)
+                .orderDateCreated(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+    }
+
+    @Test
+    void execute_shouldRunActionWithoutStoring_whenNoKeyIsGiven() {
+        IdempotentResult<OrderDTO> result = idempotencyService.execute(null, OPERATION, request, OrderDTO.class, () -> created);
+
+        assertThat(result.body()).isSameAs(created);
+        assertThat(result.replayed()).isFalse();
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void execute_shouldSkipLookupAndStoreResponse_whenKeyIsNew() {
+        IdempotentResult<OrderDTO> result = idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        assertThat(result.body()).isSameAs(created);
+        assertThat(result.replayed()).isFalse();
+        IdempotencyRecord stored = storedRecord();
+        assertThat(stored.getIdempotencyKey()).isEqualTo("key-1");
+        assertThat(stored.isNew()).isTrue();
+        assertThat(stored.getResponseBody()).contains("\"orderNumber\":\"ORDER-1\"");
+        assertThat(stored.getExpiresAt()).isAfter(LocalDateTime.now().plusHours(23));
+        verify(idempotencyRecordRepository, never()).findById(any());
+        assertThat(registry.get(IdempotencyServiceImpl.LOOKUPS).tag("result", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldReplayStoredResponseWithoutRunningAction_whenKeyIsRepeated() {
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        IdempotencyRecord stored = storedRecord();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(stored));
+        Supplier<OrderDTO> action = mock();
+
+        IdempotentResult<OrderDTO> result = idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, action);
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.body()).isEqualTo(created);
+        verifyNoInteractions(action);
+        verify(idempotencyRecordRepository, times(1)).save(any());
+        assertThat(registry.get(IdempotencyServiceImpl.LOOKUPS).tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldThrowIdempotencyKeyReuseException_whenKeyIsRepeatedWithAnotherPayload() {
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        IdempotencyRecord stored = storedRecord();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(stored));
+        OrderDTO otherRequest = request.toBuilder().totalValue(new BigDecimal("99.00")).build();
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute("key-1", OPERATION, otherRequest, OrderDTO.class, () -> created));
+    }
+
+    @Test
+    void execute_shouldReplayTheWinner_whenAConcurrentRequestStoredTheKeyFirst() {
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        IdempotencyRecord winner = storedRecord();
+        IdempotencyServiceImpl otherInstance = new IdempotencyServiceImpl(idempotencyRecordRepository, transactionTemplate,
+                new Convert(new ObjectMapper().registerModule(new JavaTimeModule())), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(otherInstance, "expectedKeys", 1_000L);
+        otherInstance.init();
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(transactionTemplate).execute(any());
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(winner));
+
+        IdempotentResult<OrderDTO> result = otherInstance.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.body()).isEqualTo(created);
+    }
+
+    @Test
+    void execute_shouldRethrowAndStoreNothing_whenActionFails() {
+        RuntimeException failure = new RuntimeException("Failed to save");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> { throw failure; }));
+
+        assertThat(thrown).isSameAs(failure);
+        verify(idempotencyRecordRepository, never()).save(any());
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    void execute_shouldRethrow_whenTheConstraintViolationIsNotAboutTheKey() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate order number");
+        doThrow(violation).when(transactionTemplate).execute(any());
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created));
+
+        assertThat(thrown).isSameAs(violation);
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void execute_shouldDeleteTheExpiredRowAndStoreAgain_whenTheInsertCollidesWithIt() {
+        IdempotencyRecord expired = new IdempotencyRecord();
+        expired.setIdempotencyKey("key-1");
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(expired));
+
+        IdempotentResult<OrderDTO> result = idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.body()).isSameAs(created);
+        verify(idempotencyRecordRepository).deleteIfExpired(eq("key-1"), any());
+        assertThat(storedRecord().getIdempotencyKey()).isEqualTo("key-1");
+    }
+
+    @Test
+    void execute_shouldDeleteExpiredRecordAndRunActionAgain() {
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        IdempotencyRecord expired = storedRecord();
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(expired));
+
+        IdempotentResult<OrderDTO> result = idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        assertThat(result.replayed()).isFalse();
+        verify(idempotencyRecordRepository).deleteIfExpired(eq("key-1"), any());
+        verify(idempotencyRecordRepository, times(2)).save(any());
+    }
+
+    @Test
+    void execute_shouldRejectBlankAndOversizedKeys() {
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyService.execute(" ", OPERATION, request, OrderDTO.class, () -> created));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyService.execute("k".repeat(256), OPERATION, request, OrderDTO.class, () -> created));
+    }
+
+    @Test
+    void init_shouldLoadStoredKeysIntoTheFilter() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(idempotencyRecordRepository.streamActiveKeys(any())).thenReturn(Stream.of("key-1"));
+        idempotencyService.init();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        verify(idempotencyRecordRepository).findById("key-1");
+        assertThat(registry.get(IdempotencyServiceImpl.LOOKUPS).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteExpiredRows_andForgetKeysAfterTwoRotations() {
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ZERO);
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+
+        idempotencyService.purgeExpired();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+
+        idempotencyService.purgeExpired();
+        idempotencyService.purgeExpired();
+        idempotencyService.execute("key-1", OPERATION, request, OrderDTO.class, () -> created);
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(any());
+    }
+
+    private IdempotencyRecord storedRecord() {
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,235 @@
+package vs_fundos.challenge.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vs_fundos.challenge.enums.NotificationOverflowPolicy;
+import vs_fundos.challenge.enums.NotificationRoutingMode;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.metrics.OrderMetrics;
+import vs_fundos.challenge.service.notification.NotificationService;
+import vs_fundos.challenge.service.notification.impl.NotificationChannel;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class NotificationChannelTest {
+    private SimpleMeterRegistry registry;
+    private OrderMetrics orderMetrics;
+    private RecordingNotificationService notificationService;
+    private NotificationChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        orderMetrics = new OrderMetrics(registry);
+        notificationService = new RecordingNotificationService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdown(1000);
+        }
+    }
+
+    private NotificationChannel channel(int capacity, NotificationOverflowPolicy policy, int batchSize, int maxAttempts) {
+        return channel(List.of(notificationService), NotificationRoutingMode.FAILOVER, capacity, policy, batchSize, maxAttempts);
+    }
+
+    private NotificationChannel channel(List<NotificationService> providers, NotificationRoutingMode routingMode, int capacity,
+                                        NotificationOverflowPolicy policy, int batchSize, int maxAttempts) {
+        channel = new NotificationChannel(NotificationType.EMAIL, providers, routingMode, capacity, policy, 10, batchSize, 0, maxAttempts, 1, orderMetrics, registry);
+        return channel;
+    }
+
+    private double dropped(String reason) {
+        return registry.get(NotificationChannel.DROPPED).tag("strategy", "EMAIL").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void enqueue_shouldDeliverQueuedMessagesInBatchesOnWorkerThread() {
+        NotificationChannel channel = channel(100, NotificationOverflowPolicy.BLOCK, 3, 1);
+        for (int i = 0; i < 7; i++) {
+            channel.enqueue("ORDER-" + i, "message-" + i);
+        }
+
+        channel.start();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> notificationService.delivered.size() == 7);
+        assertThat(notificationService.batchSizes).containsExactly(3, 3, 1);
+        assertThat(notificationService.delivered).containsExactly(
+                "message-0", "message-1", "message-2", "message-3", "message-4", "message-5", "message-6");
+        assertThat(notificationService.threads).allMatch(name -> name.equals("notification-email"));
+        assertThat(registry.get(NotificationChannel.BATCH_SIZE).tag("strategy", "EMAIL").summary().totalAmount()).isEqualTo(7);
+    }
+
+    @Test
+    void deliver_shouldRetryFailedBatch_andSucceed() {
+        notificationService.failuresLeft.set(2);
+        NotificationChannel channel = channel(100, NotificationOverflowPolicy.BLOCK, 10, 3);
+        channel.start();
+
+        channel.enqueue("ORDER-1", "message");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> notificationService.delivered.size() == 1);
+        assertThat(registry.get(NotificationChannel.RETRIES).tag("strategy", "EMAIL").counter().count()).isEqualTo(2);
+        assertThat(dropped("failed")).isZero();
+    }
+
+    @Test
+    void deliver_shouldDropBatch_whenAttemptsAreExhausted() {
+        notificationService.failuresLeft.set(Integer.MAX_VALUE);
+        NotificationChannel channel = channel(100, NotificationOverflowPolicy.BLOCK, 10, 2);
+        channel.start();
+
+        channel.enqueue("ORDER-1", "message");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dropped("failed") == 1);
+        assertThat(notificationService.delivered).isEmpty();
+    }
+
+    @Test
+    void deliver_shouldFailOverToNextProvider_whenPrimaryExhaustsAttempts() {
+        notificationService.failuresLeft.set(Integer.MAX_VALUE);
+        RecordingNotificationService secondary = new RecordingNotificationService();
+        NotificationChannel channel = channel(List.of(notificationService, secondary), NotificationRoutingMode.FAILOVER,
+                100, NotificationOverflowPolicy.BLOCK, 10, 2);
+        channel.start();
+
+        channel.enqueue("ORDER-1", "message");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> secondary.delivered.size() == 1);
+        assertThat(notificationService.delivered).isEmpty();
+        assertThat(registry.get(NotificationChannel.FAILOVERS).tag("strategy", "EMAIL").counter().count()).isEqualTo(1);
+        assertThat(dropped("failed")).isZero();
+    }
+
+    @Test
+    void deliver_shouldDeliverToEveryProvider_whenFanningOut() {
+        RecordingNotificationService failing = new RecordingNotificationService();
+        failing.failuresLeft.set(Integer.MAX_VALUE);
+        RecordingNotificationService secondary = new RecordingNotificationService();
+        NotificationChannel channel = channel(List.of(notificationService, failing, secondary), NotificationRoutingMode.FAN_OUT,
+                100, NotificationOverflowPolicy.BLOCK, 10, 1);
+        channel.start();
+
+        channel.enqueue("ORDER-1", "message");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> secondary.delivered.size() == 1);
+        assertThat(notificationService.delivered).containsExactly("message");
+        assertThat(dropped("failed")).isEqualTo(1);
+        assertThat(registry.get(NotificationChannel.FAILOVERS).tag("strategy", "EMAIL").counter().count()).isZero();
+    }
+
+    @Test
+    void enqueue_shouldDropNewestMessage_whenQueueIsFull() {
+        NotificationChannel channel = channel(2, NotificationOverflowPolicy.DROP_NEWEST, 10, 1);
+
+        channel.enqueue("ORDER-1", "message-1");
+        channel.enqueue("ORDER-2", "message-2");
+        channel.enqueue("ORDER-3", "message-3");
+        channel.start();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> notificationService.delivered.size() == 2);
+        assertThat(notificationService.delivered).containsExactly("message-1", "message-2");
+        assertThat(dropped("overflow")).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_shouldEvictOldestMessage_whenQueueIsFull() {
+        NotificationChannel channel = channel(2, NotificationOverflowPolicy.DROP_OLDEST, 10, 1);
+
+        channel.enqueue("ORDER-1", "message-1");
+        channel.enqueue("ORDER-2", "message-2");
+        channel.enqueue("ORDER-3", "message-3");
+        channel.start();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> notificationService.delivered.size() == 2);
+        assertThat(notificationService.delivered).containsExactly("message-2", "message-3");
+        assertThat(dropped("overflow")).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_shouldDropAfterOfferTimeout_whenBlockingAndQueueStaysFull() {
+        NotificationChannel channel = channel(1, NotificationOverflowPolicy.BLOCK, 10, 1);
+
+        channel.enqueue("ORDER-1", "message-1");
+        channel.enqueue("ORDER-2", "message-2");
+
+        assertThat(channel.depth()).isEqualTo(1);
+        assertThat(dropped("overflow")).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_shouldCountEveryDrop_whenTheQueueStaysFull() {
+        NotificationChannel channel = channel(1, NotificationOverflowPolicy.DROP_NEWEST, 10, 1);
+
+        channel.enqueue("ORDER-0", "message-0");
+        for (int i = 1; i <= 1_000; i++) {
+            channel.enqueue("ORDER-" + i, "message-" + i);
+        }
+
+        assertThat(channel.depth()).isEqualTo(1);
+        assertThat(dropped("overflow")).isEqualTo(1_000);
+    }
+
+    @Test
+    void enqueue_shouldSendOnCallerThread_whenCallerRunsAndQueueIsFull() {
+        NotificationChannel channel = channel(1, NotificationOverflowPolicy.CALLER_RUNS, 10, 1);
+
+        channel.enqueue("ORDER-1", "message-1");
+        channel.enqueue("ORDER-2", "message-2");
+
+        assertThat(notificationService.delivered).containsExactly("message-2");
+        assertThat(notificationService.threads).containsExactly(Thread.currentThread().getName());
+        assertThat(channel.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdown_shouldDeliverMessagesStillQueued() {
+        NotificationChannel channel = channel(100, NotificationOverflowPolicy.BLOCK, 10, 1);
+        channel.start();
+        for (int i = 0; i < 5; i++) {
+            channel.enqueue("ORDER-" + i, "message-" + i);
+        }
+
+        channel.shutdown(5000);
+
+        assertThat(notificationService.delivered).hasSize(5);
+        assertThat(channel.depth()).isZero();
+    }
+
+    private static class RecordingNotificationService implements NotificationService {
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public void send(String message) {
+            sendBatch(List.of(message));
+        }
+
+        @Override
+        public void sendBatch(List<String> messages) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("gateway unavailable");
+            }
+            batchSizes.add(messages.size());
+            threads.add(Thread.currentThread().getName());
+            delivered.addAll(messages);
+        }
+
+        @Override
+        public NotificationType getStrategy() {
+            return NotificationType.EMAIL;
+        }
+    }
+}
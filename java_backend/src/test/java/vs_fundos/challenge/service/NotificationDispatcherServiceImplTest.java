@@ -1,18 +1,23 @@
 package vs_fundos.challenge.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.enums.NotificationOverflowPolicy;
+import vs_fundos.challenge.enums.NotificationRoutingMode;
 import vs_fundos.challenge.enums.NotificationType;
 import vs_fundos.challenge.exception.StrategyNotFoundException;
+import vs_fundos.challenge.metrics.OrderMetrics;
 import vs_fundos.challenge.service.notification.NotificationService;
 import vs_fundos.challenge.service.notification.impl.NotificationDispatcherServiceImpl;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +28,9 @@ public class NotificationDispatcherServiceImplTest {
     @Mock
     private NotificationService smsServiceMock;
 
+    @Mock
+    private OrderMetrics orderMetrics;
+
     private NotificationDispatcherServiceImpl notificationDispatcher;
 
     @BeforeEach
@@ -31,24 +39,26 @@ public class NotificationDispatcherServiceImplTest {
         lenient().when(smsServiceMock.getStrategy()).thenReturn(NotificationType.SMS);
 
         List<NotificationService> services = List.of(emailServiceMock, smsServiceMock);
-        notificationDispatcher = new NotificationDispatcherServiceImpl(services);
+        notificationDispatcher = new NotificationDispatcherServiceImpl(services, orderMetrics, new SimpleMeterRegistry());
     }
 
     @Test
     void dispatch_whenTypeIsAll_shouldCallAllServices() {
         String message = "Message for all";
 
-        notificationDispatcher.dispatch(NotificationType.ALL, message);
+        notificationDispatcher.dispatch(NotificationType.ALL, "ORDER-1", message);
 
         verify(emailServiceMock, times(1)).send(message);
         verify(smsServiceMock, times(1)).send(message);
+        verify(orderMetrics, times(1)).recordNotificationSend(eq(NotificationType.EMAIL), anyLong());
+        verify(orderMetrics, times(1)).recordNotificationSend(eq(NotificationType.SMS), anyLong());
     }
 
         @Test
         void dispatch_whenTypeIsEmail_shouldCallOnlyEmailService() {
             String message = "E-mail message";
 
-            notificationDispatcher.dispatch(NotificationType.EMAIL, message);
+            notificationDispatcher.dispatch(NotificationType.EMAIL, "ORDER-1", message);
 
             verify(emailServiceMock, times(1)).send(message);
             verify(smsServiceMock, never()).send(anyString());
@@ -58,23 +68,104 @@ public class NotificationDispatcherServiceImplTest {
         void dispatch_whenTypeIsSms_shouldCallOnlySmsService() {
             String message = "SMS Message";
 
-            notificationDispatcher.dispatch(NotificationType.SMS, message);
+            notificationDispatcher.dispatch(NotificationType.SMS, "ORDER-1", message);
 
             verify(smsServiceMock, times(1)).send(message);
             verify(emailServiceMock, never()).send(anyString());
         }
 
         @Test
-        void dispatch_whenStrategyNotFound_shouldThrowException() {
+        void constructor_whenChannelHasNoProvider_shouldFailAtStartup() {
             List<NotificationService> incompleteServices = List.of(emailServiceMock);
-            NotificationDispatcherServiceImpl dispatcherWithMissingStrategy = new NotificationDispatcherServiceImpl(incompleteServices);
-            String message = "Should not be send message";
 
-            assertThrows(StrategyNotFoundException.class, () -> {
-                dispatcherWithMissingStrategy.dispatch(NotificationType.SMS, message);
-            });
+            StrategyNotFoundException exception = assertThrows(StrategyNotFoundException.class,
+                    () -> new NotificationDispatcherServiceImpl(incompleteServices, orderMetrics, new SimpleMeterRegistry()));
+
+            assertTrue(exception.getMessage().contains("SMS"));
+        }
+
+        @Test
+        void constructor_whenProviderDeclaresAll_shouldFailAtStartup() {
+            NotificationService allProvider = mock(NotificationService.class);
+            when(allProvider.getStrategy()).thenReturn(NotificationType.ALL);
+
+            assertThrows(IllegalStateException.class,
+                    () -> new NotificationDispatcherServiceImpl(List.of(emailServiceMock, smsServiceMock, allProvider), orderMetrics, new SimpleMeterRegistry()));
+        }
+
+        @Test
+        void dispatch_whenTypeIsNull_shouldSkipNotification() {
+            notificationDispatcher.dispatch(null, "ORDER-1", "No channel");
 
             verify(emailServiceMock, never()).send(anyString());
             verify(smsServiceMock, never()).send(anyString());
         }
+
+        @Test
+        void dispatch_whenPrimaryProviderFails_shouldFailOverToNextProvider() {
+            NotificationService backupEmailServiceMock = mock(NotificationService.class);
+            when(backupEmailServiceMock.getStrategy()).thenReturn(NotificationType.EMAIL);
+            doThrow(new IllegalStateException("gateway unavailable")).when(emailServiceMock).send("E-mail message");
+            NotificationDispatcherServiceImpl dispatcher = new NotificationDispatcherServiceImpl(
+                    List.of(emailServiceMock, backupEmailServiceMock, smsServiceMock), orderMetrics, new SimpleMeterRegistry());
+
+            dispatcher.dispatch(NotificationType.EMAIL, "ORDER-1", "E-mail message");
+
+            verify(backupEmailServiceMock, times(1)).send("E-mail message");
+            verify(smsServiceMock, never()).send(anyString());
+        }
+
+        @Test
+        void dispatch_whenEveryProviderFails_shouldThrowLastFailure() {
+            NotificationService backupEmailServiceMock = mock(NotificationService.class);
+            when(backupEmailServiceMock.getStrategy()).thenReturn(NotificationType.EMAIL);
+            doThrow(new IllegalStateException("primary down")).when(emailServiceMock).send(anyString());
+            doThrow(new IllegalStateException("backup down")).when(backupEmailServiceMock).send(anyString());
+            NotificationDispatcherServiceImpl dispatcher = new NotificationDispatcherServiceImpl(
+                    List.of(emailServiceMock, backupEmailServiceMock, smsServiceMock), orderMetrics, new SimpleMeterRegistry());
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> dispatcher.dispatch(NotificationType.EMAIL, "ORDER-1", "E-mail message"));
+
+            assertEquals("primary down", exception.getMessage());
+            assertEquals(1, exception.getSuppressed().length);
+        }
+
+        @Test
+        void dispatch_whenFanningOut_shouldSendThroughEveryProviderOfTheChannel() {
+            NotificationService pushEmailServiceMock = mock(NotificationService.class);
+            when(pushEmailServiceMock.getStrategy()).thenReturn(NotificationType.EMAIL);
+            NotificationDispatcherServiceImpl dispatcher = new NotificationDispatcherServiceImpl(
+                    List.of(emailServiceMock, pushEmailServiceMock, smsServiceMock), orderMetrics, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(dispatcher, "routingMode", NotificationRoutingMode.FAN_OUT);
+
+            dispatcher.dispatch(NotificationType.EMAIL, "ORDER-1", "E-mail message");
+
+            verify(emailServiceMock, times(1)).send("E-mail message");
+            verify(pushEmailServiceMock, times(1)).send("E-mail message");
+            verify(orderMetrics, times(2)).recordNotificationSend(eq(NotificationType.EMAIL), anyLong());
+        }
+
+        @Test
+        void dispatch_whenAsyncEnabled_shouldQueueAndDeliverInBatchesOffCallerThread() {
+            NotificationDispatcherServiceImpl asyncDispatcher = new NotificationDispatcherServiceImpl(List.of(emailServiceMock, smsServiceMock), orderMetrics, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(asyncDispatcher, "asyncEnabled", true);
+            ReflectionTestUtils.setField(asyncDispatcher, "queueCapacity", 100);
+            ReflectionTestUtils.setField(asyncDispatcher, "overflowPolicy", NotificationOverflowPolicy.BLOCK);
+            ReflectionTestUtils.setField(asyncDispatcher, "batchSize", 10);
+            ReflectionTestUtils.setField(asyncDispatcher, "maxAttempts", 1);
+            ReflectionTestUtils.setField(asyncDispatcher, "shutdownTimeoutMs", 1000L);
+            asyncDispatcher.start();
+
+            try {
+                asyncDispatcher.dispatch(NotificationType.ALL, "ORDER-1", "Message for all");
+
+                verify(emailServiceMock, timeout(2000)).sendBatch(List.of("Message for all"));
+                verify(smsServiceMock, timeout(2000)).sendBatch(List.of("Message for all"));
+                verify(emailServiceMock, never()).send(anyString());
+                verify(orderMetrics, timeout(2000)).recordNotificationSend(eq(NotificationType.EMAIL), anyLong());
+            } finally {
+                asyncDispatcher.stop();
+            }
+        }
     }
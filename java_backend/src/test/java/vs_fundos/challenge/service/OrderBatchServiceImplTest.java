@@ -0,0 +1,149 @@
+package vs_fundos.challenge.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.OrderBatchItemResultDTO;
+import vs_fundos.challenge.dto.OrderBatchResultDTO;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.event.OrderCreatedEvent;
+import vs_fundos.challenge.model.Order;
+import vs_fundos.challenge.repository.OrderRepository;
+import vs_fundos.challenge.service.impl.OrderBatchServiceImpl;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderBatchServiceImplTest {
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private OrderBatchServiceImpl orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderBatchService, "chunkSize", 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private static OrderDTO order(String orderNumber) {
+        return OrderDTO.builder()
+                .orderNumber(orderNumber)
+                .totalValue(new BigDecimal("10.00"))
+                .status(OrderStatus.UNPROCESSED)
+                .build();
+    }
+
+    @Test
+    void createOrders_shouldPersistInChunksAndPublishEvents() {
+        when(orderRepository.findExistingOrderNumbers(anyCollection())).thenReturn(List.of());
+        List<OrderDTO> orders = List.of(order("ORDER-1"), order("ORDER-2"), order("ORDER-3"));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders.iterator());
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(3);
+        assertThat(result.getFailed()).isZero();
+        ArgumentCaptor<List<Order>> chunkCaptor = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository, times(2)).saveAll(chunkCaptor.capture());
+        assertThat(chunkCaptor.getAllValues().get(0)).hasSize(2);
+        assertThat(chunkCaptor.getAllValues().get(1)).hasSize(1);
+        assertThat(chunkCaptor.getAllValues().get(0).get(0).getOrderDateCreated()).isNotNull();
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher, times(3)).publishEvent(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void createOrders_shouldReportInvalidDuplicatedAndExistingOrders() {
+        when(orderRepository.findExistingOrderNumbers(anyCollection())).thenReturn(List.of("ORDER-EXISTING"));
+        List<OrderDTO> orders = List.of(order("ORDER-1"), order("ORDER-1"), order(null), order("ORDER-EXISTING"));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders.iterator());
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(OrderBatchItemResultDTO::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(result.getItems()).extracting(OrderBatchItemResultDTO::isSuccess).containsExactly(true, false, false, false);
+        assertThat(result.getItems().get(1).getError()).contains("Duplicate order number");
+        assertThat(result.getItems().get(2).getError()).isEqualTo("Order number is required");
+        assertThat(result.getItems().get(3).getError()).contains("Order already exists");
+        verify(eventPublisher, times(1)).publishEvent(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void createOrders_shouldFallBackToSingleInserts_whenChunkFails() {
+        when(orderRepository.findExistingOrderNumbers(anyCollection())).thenReturn(List.of());
+        when(orderRepository.saveAll(anyCollection())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        List<OrderDTO> orders = List.of(order("ORDER-1"), order("ORDER-2"));
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders.iterator());
+
+        assertThat(result.getItems()).extracting(OrderBatchItemResultDTO::isSuccess).containsExactly(true, false);
+        assertThat(result.getItems().get(1).getError()).isEqualTo("Failed to save order: ORDER-2");
+        verify(orderRepository, times(2)).saveAndFlush(any(Order.class));
+        verify(eventPublisher, times(1)).publishEvent(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void createOrders_shouldKeepPersistedItemsAndStop_whenStreamIsMalformed() {
+        when(orderRepository.findExistingOrderNumbers(anyCollection())).thenReturn(List.of());
+        Iterator<OrderDTO> orders = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public OrderDTO next() {
+                if (read++ == 0) {
+                    return order("ORDER-1");
+                }
+                throw new NoSuchElementException("Unexpected character");
+            }
+        };
+
+        OrderBatchResultDTO result = orderBatchService.createOrders(orders);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getItems().get(0).isSuccess()).isTrue();
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getError()).contains("Malformed order payload");
+        verify(orderRepository, times(1)).saveAll(anyCollection());
+    }
+
+    @Test
+    void createOrders_shouldReturnEmptyResult_whenNoOrdersAreSent() {
+        OrderBatchResultDTO result = orderBatchService.createOrders(List.<OrderDTO>of().iterator());
+
+        assertThat(result.getTotal()).isZero();
+        verifyNoInteractions(orderRepository, transactionTemplate, eventPublisher);
+    }
+}
@@ -0,0 +1,138 @@
+package vs_fundos.challenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.enums.NotificationType;
+import vs_fundos.challenge.enums.OrderExportFormat;
+import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+import vs_fundos.challenge.exception.OrderExportException;
+import vs_fundos.challenge.repository.OrderRepository;
+import vs_fundos.challenge.service.impl.OrderExportServiceImpl;
+import vs_fundos.challenge.util.Cryptography;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExportServiceImplTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private Cryptography cryptography;
+
+    private OrderExportServiceImpl orderExportService;
+    private OrderFilterDTO filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        orderExportService = new OrderExportServiceImpl(orderRepository, objectMapper, cryptography);
+        filter = OrderFilterDTO.builder().status(OrderStatus.PROCESSED).build();
+        lenient().when(cryptography.encrypt(anyString())).thenAnswer(invocation -> "enc(" + invocation.getArgument(0) + ")");
+    }
+
+    private static OrderDTO order(String orderNumber, String totalValue) {
+        return OrderDTO.builder()
+                .orderNumber(orderNumber)
+                .totalValue(new BigDecimal(totalValue))
+                .status(OrderStatus.PROCESSED)
+                .notificationType(NotificationType.SMS)
+                .orderDateCreated(CREATED)
+                .orderDateUpdated(CREATED.plusHours(1))
+                .build();
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLineWithEncryptedOrderNumbers() {
+        when(orderRepository.streamOrders(filter, 1000)).thenReturn(Stream.of(order("ORDER-1", "10.50"), order("ORDER-2", "7")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = orderExportService.export(filter, OrderExportFormat.NDJSON, false, out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"orderNumber\":\"enc(ORDER-1)\",\"totalValue\":10.50,\"status\":\"PROCESSED\",\"notificationType\":\"SMS\","
+                        + "\"orderDateCreated\":\"2025-01-02 03:04:05\",\"orderDateUpdated\":\"2025-01-02 04:04:05\"}\n"
+                        + "{\"orderNumber\":\"enc(ORDER-2)\",\"totalValue\":7,\"status\":\"PROCESSED\",\"notificationType\":\"SMS\","
+                        + "\"orderDateCreated\":\"2025-01-02 03:04:05\",\"orderDateUpdated\":\"2025-01-02 04:04:05\"}\n");
+    }
+
+    @Test
+    void export_shouldWriteCsvWithHeaderAndQuoteFieldsThatNeedIt() throws Exception {
+        when(cryptography.encrypt("ORDER-1")).thenReturn("a,\"b\"");
+        OrderDTO sparse = OrderDTO.builder().orderNumber("ORDER-2").totalValue(BigDecimal.ONE).build();
+        when(orderRepository.streamOrders(filter, 1000)).thenReturn(Stream.of(order("ORDER-1", "10.50"), sparse));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderExportService.export(filter, OrderExportFormat.CSV, false, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "order_number,total_value,status,notification_type,order_date_created,order_date_updated",
+                "\"a,\"\"b\"\"\",10.50,PROCESSED,SMS,2025-01-02 03:04:05,2025-01-02 04:04:05",
+                "enc(ORDER-2),1,,,,");
+    }
+
+    @Test
+    void export_shouldGzipOutput_andCloseTheRowStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamOrders(filter, 1000)).thenReturn(Stream.of(order("ORDER-1", "1")).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderExportService.export(filter, OrderExportFormat.CSV, true, out);
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("order_number,").contains("enc(ORDER-1),1,PROCESSED");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void export_shouldRejectInvertedRangeBeforeQuerying() {
+        OrderFilterDTO inverted = OrderFilterDTO.builder().createdFrom(CREATED).createdTo(CREATED.minusDays(1)).build();
+
+        assertThrows(InvalidOrderQueryException.class,
+                () -> orderExportService.export(inverted, OrderExportFormat.NDJSON, false, new ByteArrayOutputStream()));
+
+        verify(orderRepository, never()).streamOrders(any(), anyInt());
+    }
+
+    @Test
+    void export_shouldWrapWriteFailures() {
+        when(orderRepository.streamOrders(filter, 1000)).thenReturn(Stream.of(order("ORDER-1", "1")));
+        OutputStream brokenClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        OrderExportException thrown = assertThrows(OrderExportException.class,
+                () -> orderExportService.export(filter, OrderExportFormat.CSV, false, brokenClient));
+
+        assertThat(thrown.getCause()).hasMessage("Broken pipe");
+    }
+}
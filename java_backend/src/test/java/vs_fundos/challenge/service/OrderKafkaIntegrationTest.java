@@ -12,9 +12,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
 import vs_fundos.challenge.consumer.OrderConsumerService;
 import vs_fundos.challenge.dto.OrderDTO;
 import vs_fundos.challenge.exception.JsonConvertionException;
+import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.exception.OrderProcessingException;
 import vs_fundos.challenge.producer.OrderProducerService;
 import vs_fundos.challenge.service.notification.NotificationDispatcherService;
 import vs_fundos.challenge.util.Convert;
@@ -26,11 +29,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 
+@ActiveProfiles("test")
 @SpringBootTest(properties = {
         "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
         "kafka.topic.name=test_topic",
         "spring.kafka.consumer.auto-offset-reset=earliest",
-        "spring.kafka.consumer.group-id=test-group-${random.uuid}"
+        "spring.kafka.consumer.group-id=test-group-${random.uuid}",
+        "kafka.retry.backoff.delay-ms=100",
+        "kafka.dlt.replay.group-id=test-replay-${random.uuid}"
 })
 @EmbeddedKafka(
         partitions = 1,
@@ -57,6 +63,8 @@ public class OrderKafkaIntegrationTest {
     private NotificationDispatcherService notificationDispatcherService;
     @Autowired
     private OrderConsumerService orderConsumerService;
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
 
     @BeforeEach
     void setUp() { Mockito.reset(orderProcessingService); }
@@ -82,4 +90,28 @@ public class OrderKafkaIntegrationTest {
             verify(orderProcessingService, times(1)).processOrder(orderNumber);
         });
     }
+
+    @Test
+    void transientFailure_shouldBeRetriedThroughTheRetryTopics() {
+        doThrow(new OrderProcessingException("DB error", new RuntimeException()))
+                .doNothing()
+                .when(orderProcessingService).processOrder("ORDER-RETRY");
+
+        producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-RETRY").build());
+
+        verify(orderProcessingService, timeout(15000).times(2)).processOrder("ORDER-RETRY");
+    }
+
+    @Test
+    void businessFailure_shouldSkipRetriesToTheDeadLetterTopic_andBeReplayable() {
+        doThrow(new OrderNotFoundException("ORDER-DLT"))
+                .doNothing()
+                .when(orderProcessingService).processOrder("ORDER-DLT");
+
+        producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-DLT").build());
+
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() ->
+                assertEquals(1, deadLetterReplayService.replay(10).getReplayed()));
+        verify(orderProcessingService, timeout(15000).times(2)).processOrder("ORDER-DLT");
+    }
 }
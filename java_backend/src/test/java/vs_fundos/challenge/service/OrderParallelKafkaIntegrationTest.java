@@ -0,0 +1,103 @@
+package vs_fundos.challenge.service;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.producer.OrderProducerService;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "kafka.topic.name=test_parallel_topic",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.group-id=test-parallel-group",
+        "kafka.consumer.parallel.enabled=true",
+        "kafka.consumer.parallel.workers=8",
+        "kafka.retry.backoff.delay-ms=100",
+        "kafka.dlt.replay.group-id=test-parallel-replay"
+})
+@EmbeddedKafka(
+        partitions = 2,
+        topics = {"${kafka.topic.name}"},
+        brokerProperties = { "listeners=PLAINTEXT://localhost:9095", "port=9095" }
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class OrderParallelKafkaIntegrationTest {
+    private static final String TOPIC = "test_parallel_topic";
+
+    @TestConfiguration
+    static class KafkaTestConfig {
+        @Bean
+        @Primary
+        public OrderProcessingService orderProcessingService() {
+            return Mockito.mock(OrderProcessingService.class);
+        }
+    }
+    @Autowired
+    private OrderProducerService producerService;
+    @Autowired
+    private OrderProcessingService orderProcessingService;
+    @Autowired
+    private ConsumerFactory<Object, Object> consumerFactory;
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @BeforeEach
+    void setUp() { Mockito.reset(orderProcessingService); }
+
+    private long committed() {
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer()) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = consumer.committed(Set.of(new TopicPartition(TOPIC, 0), new TopicPartition(TOPIC, 1)));
+            return offsets.values().stream().filter(Objects::nonNull).mapToLong(OffsetAndMetadata::offset).sum();
+        }
+    }
+
+    @Test
+    void shouldProcessEveryRecordAndCommitThemAll() {
+        for (int i = 0; i < 100; i++) {
+            producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-" + i).build());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            verify(orderProcessingService, timeout(15000)).processOrder("ORDER-" + i);
+        }
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(100, committed()));
+    }
+
+    @Test
+    void businessFailure_shouldGoToTheDeadLetterTopicAndStillBeCommitted() {
+        doThrow(new OrderNotFoundException("ORDER-DLT"))
+                .doNothing()
+                .when(orderProcessingService).processOrder("ORDER-DLT");
+
+        producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-DLT").build());
+
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, committed()));
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() ->
+                assertEquals(1, deadLetterReplayService.replay(10).getReplayed()));
+        verify(orderProcessingService, timeout(15000).times(2)).processOrder("ORDER-DLT");
+    }
+}
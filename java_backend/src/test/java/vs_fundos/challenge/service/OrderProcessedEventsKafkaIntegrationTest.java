@@ -0,0 +1,166 @@
+package vs_fundos.challenge.service;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.ProcessingOutcome;
+import vs_fundos.challenge.producer.OrderProcessedProducerService;
+import vs_fundos.challenge.producer.OrderProducerService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "kafka.topic.name=test_batch_topic",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.group-id=test-processed-group",
+        "kafka.consumer.batch.enabled=true",
+        "kafka.processed-events.enabled=true",
+        "kafka.processed-events.topic=test_processed_topic",
+        "kafka.retry.backoff.delay-ms=100",
+        // Redeliveries reach processOrders instead of being answered by the recent set
+        "kafka.consumer.dedup.enabled=false"
+})
+@EmbeddedKafka(
+        partitions = 1,
+        topics = {"test_batch_topic", "test_processed_topic"},
+        brokerProperties = {
+                "listeners=PLAINTEXT://localhost:9096", "port=9096",
+                "transaction.state.log.replication.factor=1", "transaction.state.log.min.isr=1"
+        }
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class OrderProcessedEventsKafkaIntegrationTest {
+    private static final String TOPIC = "test_batch_topic";
+    private static final String PROCESSED_TOPIC = "test_processed_topic";
+
+    @TestConfiguration
+    static class KafkaTestConfig {
+        @Bean
+        @Primary
+        public OrderProcessingService orderProcessingService() {
+            return Mockito.mock(OrderProcessingService.class);
+        }
+    }
+    @Autowired
+    private OrderProducerService producerService;
+    @Autowired
+    private OrderProcessingService orderProcessingService;
+    @MockitoSpyBean
+    private OrderProcessedProducerService orderProcessedProducer;
+    @Autowired
+    private ConsumerFactory<Object, Object> consumerFactory;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+    private Consumer<String, String> processedConsumer;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(orderProcessingService);
+        when(orderProcessingService.processOrders(anyCollection())).thenAnswer(invocation -> {
+            Map<String, ProcessingOutcome> outcomes = new HashMap<>();
+            invocation.<Collection<String>>getArgument(0).forEach(orderNumber -> outcomes.put(orderNumber, ProcessingOutcome.PROCESSED));
+            return outcomes;
+        });
+        Map<String, Object> properties = KafkaTestUtils.consumerProps("processed-reader-" + System.nanoTime(), "false", embeddedKafka);
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        processedConsumer = new DefaultKafkaConsumerFactory<>(properties, new StringDeserializer(), new StringDeserializer()).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(processedConsumer, PROCESSED_TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processedConsumer.close();
+    }
+
+    private List<ConsumerRecord<String, String>> processedEvents(int expected) {
+        List<ConsumerRecord<String, String>> events = new ArrayList<>();
+        await().atMost(20, TimeUnit.SECONDS).until(() -> {
+            processedConsumer.poll(Duration.ofMillis(200)).forEach(events::add);
+            return events.size() >= expected;
+        });
+        // Anything beyond the expected events would be a duplicate
+        processedConsumer.poll(Duration.ofSeconds(1)).forEach(events::add);
+        return events;
+    }
+
+    private long committed() {
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer()) {
+            OffsetAndMetadata offset = consumer.committed(Set.of(new TopicPartition(TOPIC, 0))).get(new TopicPartition(TOPIC, 0));
+            return offset == null ? 0 : offset.offset();
+        }
+    }
+
+    @Test
+    void processedOrders_shouldBePublishedOnceWithTheOffsetsCommitted() {
+        for (int i = 0; i < 3; i++) {
+            producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-" + i).build());
+        }
+
+        List<ConsumerRecord<String, String>> events = processedEvents(3);
+
+        assertEquals(Set.of("ORDER-0", "ORDER-1", "ORDER-2"), Set.copyOf(events.stream().map(ConsumerRecord::key).toList()));
+        assertEquals(3, events.size());
+        assertTrue(events.get(0).value().contains("\"orderNumber\":\"ORDER-"));
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, committed()));
+    }
+
+    // The status UPDATE commits before the Kafka transaction: when the transaction aborts after the events were sent,
+    // the redelivery finds the order already processed and must publish its event again
+    @Test
+    void failedBatch_shouldBeRolledBackAndRetried_publishingTheEventOfTheAlreadyProcessedOrderOnce() {
+        when(orderProcessingService.processOrders(anyCollection()))
+                .thenReturn(Map.of("ORDER-ABORT", ProcessingOutcome.PROCESSED))
+                .thenReturn(Map.of("ORDER-ABORT", ProcessingOutcome.ALREADY_PROCESSED));
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new IllegalStateException("Transaction aborted after send");
+        }).doCallRealMethod().when(orderProcessedProducer).publishProcessed(anyList());
+
+        producerService.sendMessage(OrderDTO.builder().orderNumber("ORDER-ABORT").build());
+
+        List<ConsumerRecord<String, String>> events = processedEvents(1);
+
+        assertEquals(1, events.size());
+        assertEquals("ORDER-ABORT", events.get(0).key());
+        verify(orderProcessingService, times(2)).processOrders(anyCollection());
+        verify(orderProcessedProducer, times(2)).publishProcessed(anyList());
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, committed()));
+    }
+}
@@ -4,17 +4,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.cache.impl.NoOpOrderCache;
+import vs_fundos.challenge.enums.ProcessingOutcome;
 import vs_fundos.challenge.exception.OrderAlreadyProcessedException;
 import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.exception.OrderProcessingException;
 import vs_fundos.challenge.model.Order;
 import vs_fundos.challenge.repository.OrderRepository;
 import vs_fundos.challenge.service.impl.OrderProcessingServiceImpl;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -22,51 +34,105 @@ import static org.mockito.Mockito.times;
 public class OrderProcessingServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
+    @Spy
+    private OrderCache orderCache = new NoOpOrderCache();
     @InjectMocks
     private OrderProcessingServiceImpl orderProcessingService;
 
     @Test
     void processOrder_shouldThrowOrderNotFoundException_whenOrderDoesNotExist() {
         String orderNumber = "NON-EXISTENT-ORDER";
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(null);
+        when(orderRepository.markProcessed(eq(orderNumber), any(LocalDateTime.class))).thenReturn(0);
+        when(orderRepository.existsByOrderNumber(orderNumber)).thenReturn(false);
 
         OrderNotFoundException thrown = assertThrows(OrderNotFoundException.class, () -> {
             orderProcessingService.processOrder(orderNumber);
         });
 
         assertEquals("Order not found with number: " + orderNumber, thrown.getMessage());
-        verify(orderRepository, times(1)).findByOrderNumber(orderNumber);
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderCache);
     }
     @Test
     void processOrder_shouldThrowOrderAlreadyProcessedException_whenOrderIsAlreadyProcessed() {
         String orderNumber = "ALREADY-PROCESSED-ORDER";
-        Order order = new Order();
-        order.setOrderNumber(orderNumber);
-        order.setStatus(OrderStatus.PROCESSED);
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(order);
+        when(orderRepository.markProcessed(eq(orderNumber), any(LocalDateTime.class))).thenReturn(0);
+        when(orderRepository.existsByOrderNumber(orderNumber)).thenReturn(true);
 
         OrderAlreadyProcessedException thrown = assertThrows(OrderAlreadyProcessedException.class, () -> {
             orderProcessingService.processOrder(orderNumber);
         });
 
         assertEquals("Order already processed: " + orderNumber, thrown.getMessage());
-        verify(orderRepository, times(1)).findByOrderNumber(orderNumber);
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderCache);
     }
     @Test
-    void processOrder_shouldProcessOrderSuccessfully_whenStatusIsUnprocessed() {
+    void processOrder_shouldProcessOrderWithSingleConditionalUpdate_whenStatusIsUnprocessed() {
         String orderNumber = "ORD-001";
-        Order order = new Order();
-        order.setOrderNumber(orderNumber);
-        order.setStatus(OrderStatus.UNPROCESSED);
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(order);
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderRepository.markProcessed(eq(orderNumber), any(LocalDateTime.class))).thenReturn(1);
 
         orderProcessingService.processOrder(orderNumber);
 
-        verify(orderRepository, times(1)).findByOrderNumber(orderNumber);
-        assertEquals(OrderStatus.PROCESSED, order.getStatus());
-        verify(orderRepository, times(1)).save(order);
+        verify(orderRepository, times(1)).markProcessed(eq(orderNumber), any(LocalDateTime.class));
+        verify(orderRepository, never()).findByOrderNumber(any());
+        verify(orderRepository, never()).existsByOrderNumber(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderCache, times(1)).evictByOrderNumber(orderNumber);
+    }
+
+    @Test
+    void processOrder_shouldThrowOrderProcessingException_whenUpdateFails() {
+        String orderNumber = "ORD-001";
+        when(orderRepository.markProcessed(eq(orderNumber), any(LocalDateTime.class))).thenThrow(new RuntimeException("connection reset"));
+
+        assertThrows(OrderProcessingException.class, () -> orderProcessingService.processOrder(orderNumber));
+        verifyNoInteractions(orderCache);
+    }
+
+    @Test
+    void processOrders_shouldMarkAllOrdersWithSingleUpdate_whenAllAreUnprocessed() {
+        when(orderRepository.markProcessed(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of("ORD-1", "ORD-2"));
+
+        Map<String, ProcessingOutcome> outcomes = orderProcessingService.processOrders(List.of("ORD-1", "ORD-2"));
+
+        assertThat(outcomes).containsOnly(
+                Map.entry("ORD-1", ProcessingOutcome.PROCESSED),
+                Map.entry("ORD-2", ProcessingOutcome.PROCESSED));
+        verify(orderRepository, times(1)).markProcessed(eq(Set.of("ORD-1", "ORD-2")), any(LocalDateTime.class));
+        verify(orderRepository, never()).findExistingOrderNumbers(anyCollection());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderCache, times(1)).evictByOrderNumber("ORD-1");
+        verify(orderCache, times(1)).evictByOrderNumber("ORD-2");
+    }
+
+    @Test
+    void processOrders_shouldClassifySkippedOrders_whenSomeAreMissingOrAlreadyProcessed() {
+        when(orderRepository.markProcessed(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of("ORD-1"));
+        when(orderRepository.findExistingOrderNumbers(Set.of("ORD-2", "ORD-3"))).thenReturn(List.of("ORD-2"));
+
+        Map<String, ProcessingOutcome> outcomes = orderProcessingService.processOrders(List.of("ORD-1", "ORD-2", "ORD-3", "ORD-1"));
+
+        assertThat(outcomes).containsOnly(
+                Map.entry("ORD-1", ProcessingOutcome.PROCESSED),
+                Map.entry("ORD-2", ProcessingOutcome.ALREADY_PROCESSED),
+                Map.entry("ORD-3", ProcessingOutcome.NOT_FOUND));
+        verify(orderCache, times(1)).evictByOrderNumber("ORD-1");
+        verifyNoMoreInteractions(orderCache);
+    }
+
+    @Test
+    void processOrders_shouldThrowOrderProcessingException_whenUpdateFails() {
+        when(orderRepository.markProcessed(anyCollection(), any(LocalDateTime.class))).thenThrow(new RuntimeException("DB down"));
+
+        assertThrows(OrderProcessingException.class, () -> orderProcessingService.processOrders(List.of("ORD-1")));
+    }
+
+    @Test
+    void processOrders_shouldNotTouchDatabase_whenBatchIsEmpty() {
+        Map<String, ProcessingOutcome> outcomes = orderProcessingService.processOrders(List.of());
+
+        assertThat(outcomes).isEmpty();
+        verifyNoInteractions(orderRepository);
     }
 }
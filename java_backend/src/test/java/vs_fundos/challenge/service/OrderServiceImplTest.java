@@ -5,21 +5,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import vs_fundos.challenge.cache.OrderCache;
+import vs_fundos.challenge.cache.RecentlyProcessedOrders;
+import vs_fundos.challenge.cache.impl.NoOpOrderCache;
 import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.dto.OrderFilterDTO;
+import vs_fundos.challenge.dto.OrderPageDTO;
+import vs_fundos.challenge.enums.OrderSortField;
 import vs_fundos.challenge.enums.OrderStatus;
 import vs_fundos.challenge.event.OrderCreatedEvent;
 import vs_fundos.challenge.exception.OrderCreationException;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
 import vs_fundos.challenge.exception.OrderNotFoundException;
+import vs_fundos.challenge.exception.OrderUpdateConflictException;
 import vs_fundos.challenge.model.Order;
 import vs_fundos.challenge.repository.OrderRepository;
 import vs_fundos.challenge.service.impl.OrderServiceImpl;
 import vs_fundos.challenge.util.Convert;
+import vs_fundos.challenge.util.OrderCursor;
 import vs_fundos.challenge.util.OrderFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -36,6 +51,10 @@ public class OrderServiceImplTest {
     private OrderFactory orderFactory;
     @Mock
     private Convert convert;
+    @Spy
+    private OrderCache orderCache = new NoOpOrderCache();
+    @Mock
+    private RecentlyProcessedOrders recentlyProcessedOrders;
     @InjectMocks
     private OrderServiceImpl orderServiceImpl;
 
@@ -50,6 +69,7 @@ public class OrderServiceImplTest {
 
         OrderDTO resultDTO = orderServiceImpl.getOrderById(orderId);
 
+        verify(orderCache, times(1)).get(eq(orderId), any());
         verify(orderRepository, times(1)).findById(orderId);
         verify(convert, times(1)).orderModelToDTO(mockedOrder);
         assertEquals(resultDTO, mockedDTO);
@@ -79,7 +99,7 @@ public class OrderServiceImplTest {
         OrderDTO resultDTO = orderServiceImpl.createOrder(inputDto);
 
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository, times(1)).save(orderCaptor.capture());
+        verify(orderRepository, times(1)).saveAndFlush(orderCaptor.capture());
         Order savedOrder = orderCaptor.getValue();
         assertThat(savedOrder.getOrderNumber()).isEqualTo(inputDto.getOrderNumber());
         assertThat(savedOrder.getTotalValue()).isEqualTo(inputDto.getTotalValue());
@@ -95,7 +115,7 @@ public class OrderServiceImplTest {
     @Test
     void createOrder_shouldThrowException_whenSavingFailsOnCreateOrder() {
         OrderDTO inputDto = OrderDTO.builder().orderNumber("ORD-FAIL").build();
-        when(orderRepository.save(any(Order.class))).thenThrow(new RuntimeException("Database connection failed"));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenThrow(new RuntimeException("Database connection failed"));
 
         assertThrows(RuntimeException.class, () -> {
             orderServiceImpl.createOrder(inputDto);
@@ -104,6 +124,19 @@ public class OrderServiceImplTest {
         verify(eventPublisher, never()).publishEvent(any());
     }
 
+    @Test
+    void createOrder_shouldThrowOrderCreationException_whenTheOrderNumberIsTaken() {
+        OrderDTO inputDto = OrderDTO.builder().orderNumber("ORD-DUP").build();
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        OrderCreationException thrown = assertThrows(OrderCreationException.class, () -> orderServiceImpl.createOrder(inputDto));
+
+        assertTrue(thrown.getMessage().contains("ORD-DUP"));
+        assertInstanceOf(DataIntegrityViolationException.class, thrown.getCause());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void updateById_shouldUpdateOrderSuccessfully() {
         Long orderId = 1L;
@@ -138,6 +171,8 @@ public class OrderServiceImplTest {
         assertThat(savedOrder.getStatus()).isEqualTo(orderDetailsDto.getStatus());
         assertThat(savedOrder.getOrderDateUpdated()).isAfter(savedOrder.getOrderDateCreated());
         verify(convert, times(1)).orderModelToDTO(savedOrder);
+        verify(orderCache, times(1)).evict(orderId);
+        verify(recentlyProcessedOrders, times(1)).forget("ORD-EXISTING");
         assertThat(resultDto).isEqualTo(finalDto);
     }
 
@@ -155,6 +190,22 @@ public class OrderServiceImplTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void updateById_shouldThrowOrderUpdateConflictException_whenOrderWasChangedConcurrently() {
+        Long orderId = 1L;
+        Order existingOrder = new Order();
+        existingOrder.setId(orderId);
+        existingOrder.setVersion(3L);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.save(existingOrder)).thenThrow(new ObjectOptimisticLockingFailureException(Order.class, orderId));
+
+        OrderUpdateConflictException thrown = assertThrows(OrderUpdateConflictException.class,
+                () -> orderServiceImpl.updateById(orderId, OrderDTO.builder().status(OrderStatus.PROCESSED).build()));
+
+        assertThat(thrown.getMessage()).contains("was modified concurrently");
+        verify(orderCache, never()).evict(any());
+    }
+
     @Test
     void createRandomOrder_shouldCreateRandomOrderSuccessfullyAndPublishEvent() {
         OrderDTO orderMockDTO = OrderDTO.builder()
@@ -165,12 +216,12 @@ public class OrderServiceImplTest {
                 .orderDateUpdated(LocalDateTime.now())
                 .build();
         when(orderFactory.createRandomOrder()).thenReturn(orderMockDTO);
-        when(orderRepository.save(any(Order.class))).thenReturn(new Order());
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(new Order());
 
         OrderDTO resultDTO = orderServiceImpl.createRandomOrder();
 
         assertEquals(orderMockDTO, resultDTO);
-        verify(orderRepository,  times(1)).save(any(Order.class));
+        verify(orderRepository,  times(1)).saveAndFlush(any(Order.class));
         ArgumentCaptor<OrderCreatedEvent> eventCaptor = ArgumentCaptor.forClass(OrderCreatedEvent.class);
         verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
         OrderCreatedEvent capturedEvent = eventCaptor.getValue();
@@ -183,7 +234,7 @@ public class OrderServiceImplTest {
         mockOrderDTO.setOrderNumber(fixedOrderNumber);
         mockOrderDTO.setStatus(OrderStatus.UNPROCESSED);
         when(orderFactory.createRandomOrder()).thenReturn(mockOrderDTO);
-        when(orderRepository.save(any(Order.class))).thenThrow(new OrderCreationException("Database error during save", new Exception()));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenThrow(new OrderCreationException("Database error during save", new Exception()));
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
             orderServiceImpl.createRandomOrder();
@@ -191,7 +242,42 @@ public class OrderServiceImplTest {
 
         assertTrue(thrown.getMessage().contains("Failed to save random order"));
         verify(orderFactory, times(1)).createRandomOrder();
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
         verify(eventPublisher, never()).publishEvent(any(OrderCreatedEvent.class));
     }
+
+    @Test
+    void listOrders_shouldCapLimitAtMaxPageSize_andDecodeCursor() {
+        ReflectionTestUtils.setField(orderServiceImpl, "maxPageSize", 100);
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PROCESSED).build();
+        OrderCursor cursor = new OrderCursor(OrderSortField.ID, Sort.Direction.ASC, 42L, "");
+        OrderPageDTO page = OrderPageDTO.builder().items(List.of()).build();
+        when(orderRepository.search(filter, OrderSortField.ID, Sort.Direction.ASC, cursor, 100)).thenReturn(page);
+
+        OrderPageDTO result = orderServiceImpl.listOrders(filter, OrderSortField.ID, Sort.Direction.ASC, cursor.encode(), 1000);
+
+        assertSame(page, result);
+    }
+
+    @Test
+    void listOrders_shouldRejectCursorIssuedForAnotherSort() {
+        String cursor = new OrderCursor(OrderSortField.ID, Sort.Direction.ASC, 42L, "").encode();
+
+        assertThrows(InvalidOrderQueryException.class, () -> orderServiceImpl.listOrders(new OrderFilterDTO(),
+                OrderSortField.ORDER_DATE_CREATED, Sort.Direction.ASC, cursor, 10));
+
+        verify(orderRepository, never()).search(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void listOrders_shouldRejectInvalidLimitAndInvertedRanges() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderFilterDTO invertedDates = OrderFilterDTO.builder().createdFrom(now).createdTo(now.minusDays(1)).build();
+        OrderFilterDTO invertedValues = OrderFilterDTO.builder().minTotalValue(BigDecimal.TEN).maxTotalValue(BigDecimal.ONE).build();
+
+        assertThrows(InvalidOrderQueryException.class, () -> orderServiceImpl.listOrders(new OrderFilterDTO(), OrderSortField.ID, Sort.Direction.ASC, null, 0));
+        assertThrows(InvalidOrderQueryException.class, () -> orderServiceImpl.listOrders(invertedDates, OrderSortField.ID, Sort.Direction.ASC, null, 10));
+        assertThrows(InvalidOrderQueryException.class, () -> orderServiceImpl.listOrders(invertedValues, OrderSortField.ID, Sort.Direction.ASC, null, 10));
+        verify(orderRepository, never()).search(any(), any(), any(), any(), anyInt());
+    }
 }
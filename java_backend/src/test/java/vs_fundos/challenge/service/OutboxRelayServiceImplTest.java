@@ -0,0 +1,167 @@
+package vs_fundos.challenge.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.model.OutboxEvent;
+import vs_fundos.challenge.producer.OrderProducerService;
+import vs_fundos.challenge.repository.OutboxEventRepository;
+import vs_fundos.challenge.service.impl.OutboxRelayServiceImpl;
+import vs_fundos.challenge.util.Convert;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayServiceImplTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OrderProducerService orderProducerService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private Convert convert;
+    private SimpleMeterRegistry registry;
+    private OutboxRelayServiceImpl outboxRelayService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        outboxRelayService = new OutboxRelayServiceImpl(outboxEventRepository, orderProducerService, transactionTemplate, convert, registry);
+        ReflectionTestUtils.setField(outboxRelayService, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelayService, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelayService, "claimTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(outboxRelayService, "maxAttempts", 10);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private OutboxEvent outboxEvent(long id, String orderNumber) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setOrderNumber(orderNumber);
+        event.setPayload("{\"orderNumber\":\"" + orderNumber + "\"}");
+        event.setCreatedAt(LocalDateTime.now());
+        OrderDTO orderDTO = OrderDTO.builder().orderNumber(orderNumber).build();
+        lenient().when(convert.jsonToObject(event.getPayload(), OrderDTO.class)).thenReturn(orderDTO);
+        return event;
+    }
+
+    @Test
+    void relayBatch_shouldDeleteAckedRowsAndCountFailedAttempts() {
+        OutboxEvent acked = outboxEvent(1L, "ORDER-1");
+        OutboxEvent rejected = outboxEvent(2L, "ORDER-2");
+        when(outboxEventRepository.lockNextBatch(eq(10), any(), eq(2))).thenReturn(List.of(acked, rejected));
+        when(orderProducerService.sendMessageAsync(OrderDTO.builder().orderNumber("ORDER-1").build()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(orderProducerService.sendMessageAsync(OrderDTO.builder().orderNumber("ORDER-2").build()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        int relayed = outboxRelayService.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository, times(1)).incrementAttempts(List.of(2L));
+        assertNull(registry.find(OutboxRelayServiceImpl.EXHAUSTED).counter());
+    }
+
+    @Test
+    void relayBatch_shouldClaimTheBatchAndWaitForAcksOutsideAnyTransaction() {
+        AtomicInteger transactionsBeforeAck = new AtomicInteger();
+        OutboxEvent event = outboxEvent(1L, "ORDER-1");
+        when(outboxEventRepository.lockNextBatch(eq(10), any(), eq(2))).thenReturn(List.of(event));
+        when(orderProducerService.sendMessageAsync(any(OrderDTO.class))).thenAnswer(invocation -> {
+            transactionsBeforeAck.set(mockingDetails(transactionTemplate).getInvocations().size());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        outboxRelayService.relayBatch();
+
+        // Only the claim transaction had run (and committed) while the send was in flight
+        assertEquals(1, transactionsBeforeAck.get());
+
+        ArgumentCaptor<LocalDateTime> claimedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).claim(eq(List.of(1L)), claimedUntil.capture());
+        assertTrue(claimedUntil.getValue().isAfter(LocalDateTime.now().plusSeconds(2)));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relayBatch_shouldCountRowsThatUsedTheirLastAttempt() {
+        OutboxEvent lastAttempt = outboxEvent(1L, "ORDER-1");
+        lastAttempt.setAttempts(9);
+        OutboxEvent earlyAttempt = outboxEvent(2L, "ORDER-2");
+        when(outboxEventRepository.lockNextBatch(eq(10), any(), eq(2))).thenReturn(List.of(lastAttempt, earlyAttempt));
+        when(orderProducerService.sendMessageAsync(any(OrderDTO.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        outboxRelayService.relayBatch();
+
+        verify(outboxEventRepository).incrementAttempts(List.of(1L, 2L));
+        assertEquals(1, registry.get(OutboxRelayServiceImpl.EXHAUSTED).counter().count());
+    }
+
+    @Test
+    void relayBatch_shouldSendWholeBatchBeforeWaitingForAcks() {
+        CompletableFuture<Void> firstAck = new CompletableFuture<>();
+        List<OutboxEvent> batch = List.of(outboxEvent(1L, "ORDER-1"), outboxEvent(2L, "ORDER-2"));
+        when(outboxEventRepository.lockNextBatch(eq(10), any(), eq(2))).thenReturn(batch);
+        when(orderProducerService.sendMessageAsync(any(OrderDTO.class))).thenAnswer(invocation -> {
+            OrderDTO orderDTO = invocation.getArgument(0);
+            if (orderDTO.getOrderNumber().equals("ORDER-2")) {
+                firstAck.complete(null);
+                return CompletableFuture.completedFuture(null);
+            }
+            return firstAck;
+        });
+
+        int relayed = outboxRelayService.relayBatch();
+
+        assertEquals(2, relayed);
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+    }
+
+    @Test
+    void relayBatch_shouldReturnZero_whenOutboxIsEmpty() {
+        when(outboxEventRepository.lockNextBatch(eq(10), any(), eq(2))).thenReturn(List.of());
+
+        int relayed = outboxRelayService.relayBatch();
+
+        assertEquals(0, relayed);
+        verifyNoInteractions(orderProducerService);
+    }
+
+    @Test
+    void drain_shouldKeepRelaying_whileBatchesAreFull() {
+        List<OutboxEvent> fullBatch = List.of(outboxEvent(1L, "ORDER-1"), outboxEvent(2L, "ORDER-2"));
+        List<OutboxEvent> lastBatch = List.of(outboxEvent(3L, "ORDER-3"));
+        when(outboxEventRepository.lockNextBatch(anyInt(), any(), anyInt())).thenReturn(fullBatch).thenReturn(lastBatch);
+        when(orderProducerService.sendMessageAsync(any(OrderDTO.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelayService.drain();
+
+        verify(outboxEventRepository, times(2)).lockNextBatch(eq(10), any(LocalDateTime.class), eq(2));
+        verify(orderProducerService, times(3)).sendMessageAsync(any(OrderDTO.class));
+    }
+}
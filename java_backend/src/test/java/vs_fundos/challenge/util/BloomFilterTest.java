@@ -0,0 +1,51 @@
+package vs_fundos.challenge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BloomFilterTest {
+
+    @Test
+    void mightContain_shouldNeverReturnFalseForInsertedKeys() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] keys = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String key : keys) {
+            filter.put(key);
+        }
+
+        for (String key : keys) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_shouldKeepFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("stored-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("absent-" + i)).count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void constructor_shouldSizeBitsAndHashesFromExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        assertThat(filter.bitCount()).isBetween(9_585_000L, 9_586_000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(filter.mightContain("anything")).isFalse();
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
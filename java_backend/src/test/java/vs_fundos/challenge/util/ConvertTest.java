@@ -56,6 +56,32 @@ public class ConvertTest {
         verify(objectMapper, times(1)).writeValueAsString(dto);
     }
 
+    @Test
+    void jsonToObject_shouldReturnObject_whenConversionIsSuccessful() throws JsonProcessingException {
+        String json = "{\"orderNumber\":\"ORDER-1\"}";
+        OrderDTO expectedDTO = OrderDTO.builder().orderNumber("ORDER-1").build();
+        when(objectMapper.readValue(json, OrderDTO.class)).thenReturn(expectedDTO);
+
+        OrderDTO actualDTO = convert.jsonToObject(json, OrderDTO.class);
+
+        assertEquals(expectedDTO, actualDTO);
+    }
+
+    @Test
+    void jsonToObject_shouldThrowJsonConvertionException_whenConversionFails() throws JsonProcessingException {
+        String json = "{invalid";
+        JsonProcessingException rootException = new JsonProcessingException("Parse error") {};
+        when(objectMapper.readValue(json, OrderDTO.class)).thenThrow(rootException);
+
+        JsonConvertionException thrown = assertThrows(
+                JsonConvertionException.class,
+                () -> convert.jsonToObject(json, OrderDTO.class)
+        );
+
+        assertEquals("Error converting JSON to Object", thrown.getMessage());
+        assertEquals(rootException, thrown.getCause());
+    }
+
     @Test
     void orderModelToDTO_shouldMapAllFieldsCorrectly() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,45 @@
+package vs_fundos.challenge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CryptographyKeyManagerTest {
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[16]);
+
+    @Test
+    void constructor_shouldUseSingleConfiguredKey_whenActiveKeyIdIsBlank() {
+        CryptographyKeyManager keyManager = new CryptographyKeyManager("k1:" + KEY, "");
+
+        assertEquals("k1", keyManager.getActiveKeyId());
+        assertNotNull(keyManager.getKey("k1"));
+    }
+
+    @Test
+    void constructor_shouldGenerateEphemeralKey_whenNoKeysAreConfigured() {
+        CryptographyKeyManager keyManager = new CryptographyKeyManager("", "");
+
+        assertEquals(32, keyManager.getKey(keyManager.getActiveKeyId()).getEncoded().length);
+    }
+
+    @Test
+    void constructor_shouldRequireActiveKeyId_whenSeveralKeysAreConfigured() {
+        assertThrows(IllegalStateException.class, () -> new CryptographyKeyManager("k1:" + KEY + ",k2:" + KEY, ""));
+    }
+
+    @Test
+    void constructor_shouldFail_whenActiveKeyIsNotConfigured() {
+        assertThrows(IllegalStateException.class, () -> new CryptographyKeyManager("k1:" + KEY, "k2"));
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidKeys() {
+        String shortKey = Base64.getEncoder().encodeToString(new byte[10]);
+
+        assertThrows(IllegalStateException.class, () -> new CryptographyKeyManager("k1:" + shortKey, "k1"));
+        assertThrows(IllegalStateException.class, () -> new CryptographyKeyManager(KEY, ""));
+        assertThrows(IllegalStateException.class, () -> new CryptographyKeyManager("k1:" + KEY + ",k1:" + KEY, "k1"));
+    }
+}
@@ -0,0 +1,84 @@
+package vs_fundos.challenge.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.AEADBadTagException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CryptographyTest {
+    private static final String KEY_1 = Base64.getEncoder().encodeToString(new byte[16]);
+    private static final String KEY_2 = Base64.getEncoder().encodeToString(new byte[32]);
+    private final Cryptography cryptography = new Cryptography(new CryptographyKeyManager("k1:" + KEY_1, "k1"));
+
+    @Test
+    void encrypt_shouldRoundTripThroughDecrypt() throws GeneralSecurityException {
+        String encrypted = cryptography.encrypt("ORDER-001");
+
+        assertNotEquals("ORDER-001", encrypted);
+        assertEquals("ORDER-001", cryptography.decrypt(encrypted));
+    }
+
+    @Test
+    void encrypt_shouldUseFreshNonceForEveryCall() throws GeneralSecurityException {
+        assertNotEquals(cryptography.encrypt("ORDER-001"), cryptography.encrypt("ORDER-001"));
+    }
+
+    @Test
+    void decrypt_shouldRejectTamperedCiphertext() throws GeneralSecurityException {
+        byte[] encrypted = Base64.getDecoder().decode(cryptography.encrypt("ORDER-001"));
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThrows(AEADBadTagException.class, () -> cryptography.decrypt(Base64.getEncoder().encodeToString(encrypted)));
+    }
+
+    @Test
+    void decrypt_shouldRejectMalformedInput() {
+        assertThrows(GeneralSecurityException.class, () -> cryptography.decrypt("not base64!"));
+        assertThrows(GeneralSecurityException.class, () -> cryptography.decrypt(Base64.getEncoder().encodeToString(new byte[]{2, 'k', '1'})));
+    }
+
+    @Test
+    void decrypt_shouldAcceptValuesEncryptedWithRetiredKey_afterRotation() throws GeneralSecurityException {
+        String encryptedWithOldKey = cryptography.encrypt("ORDER-001");
+        Cryptography rotated = new Cryptography(new CryptographyKeyManager("k1:" + KEY_1 + ",k2:" + KEY_2, "k2"));
+
+        assertEquals("ORDER-001", rotated.decrypt(encryptedWithOldKey));
+        assertEquals("ORDER-002", rotated.decrypt(rotated.encrypt("ORDER-002")));
+    }
+
+    @Test
+    void decrypt_shouldFail_whenKeyIsNoLongerConfigured() throws GeneralSecurityException {
+        String encrypted = cryptography.encrypt("ORDER-001");
+        Cryptography other = new Cryptography(new CryptographyKeyManager("k2:" + KEY_2, ""));
+
+        GeneralSecurityException thrown = assertThrows(GeneralSecurityException.class, () -> other.decrypt(encrypted));
+
+        assertEquals("Unknown cryptography key: k1", thrown.getMessage());
+    }
+
+    @Test
+    void encrypt_shouldRoundTripFromManyShortLivedThreads() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String orderNumber = "ORDER-" + i;
+                results.add(executor.submit(() -> cryptography.decrypt(cryptography.encrypt(orderNumber))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("ORDER-" + i, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package vs_fundos.challenge.util;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSamplerTest {
+
+    @Test
+    void next_shouldReturnInfoForTheFirstCallAndEveryRateThOneAfterIt() {
+        LogSampler sampler = new LogSampler();
+
+        List<Level> levels = IntStream.range(0, 7).mapToObj(i -> sampler.next(3)).toList();
+
+        assertThat(levels).containsExactly(Level.INFO, Level.DEBUG, Level.DEBUG, Level.INFO, Level.DEBUG, Level.DEBUG, Level.INFO);
+        assertThat(sampler.calls()).isEqualTo(7);
+    }
+
+    @Test
+    void next_shouldReturnInfoForEveryCall_whenRateIsOne() {
+        LogSampler sampler = new LogSampler();
+
+        assertThat(IntStream.range(0, 5).mapToObj(i -> sampler.next(1))).containsOnly(Level.INFO);
+    }
+
+    @Test
+    void next_shouldReturnDebugForEveryCall_whenRateIsNotPositive() {
+        LogSampler sampler = new LogSampler();
+
+        assertThat(sampler.next(0)).isEqualTo(Level.DEBUG);
+        assertThat(sampler.next(-1)).isEqualTo(Level.DEBUG);
+    }
+}
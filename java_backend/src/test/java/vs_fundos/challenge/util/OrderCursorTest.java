@@ -0,0 +1,43 @@
+package vs_fundos.challenge.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import vs_fundos.challenge.dto.OrderDTO;
+import vs_fundos.challenge.enums.OrderSortField;
+import vs_fundos.challenge.exception.InvalidOrderQueryException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderCursorTest {
+
+    @Test
+    void after_shouldCaptureSortKeyOfLastRow_andRoundTripThroughEncoding() {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 4, 5, 6, 7, 123_456_000);
+        OrderDTO last = OrderDTO.builder().orderDateCreated(created).totalValue(new BigDecimal("10.50")).build();
+
+        OrderCursor byCreated = OrderCursor.decode(OrderCursor.after(OrderSortField.ORDER_DATE_CREATED, Sort.Direction.DESC, 7L, last).encode());
+        OrderCursor byValue = OrderCursor.decode(OrderCursor.after(OrderSortField.TOTAL_VALUE, Sort.Direction.ASC, 8L, last).encode());
+
+        assertThat(byCreated.sort()).isEqualTo(OrderSortField.ORDER_DATE_CREATED);
+        assertThat(byCreated.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(byCreated.id()).isEqualTo(7L);
+        assertThat(byCreated.dateTimeValue()).isEqualTo(created);
+        assertThat(byValue.decimalValue()).isEqualTo(new BigDecimal("10.50"));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedCursors() {
+        String badValue = Base64.getUrlEncoder().encodeToString("ORDER_DATE_CREATED:ASC:1:yesterday".getBytes(StandardCharsets.UTF_8));
+        String badSort = Base64.getUrlEncoder().encodeToString("NAME:ASC:1:".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidOrderQueryException.class, () -> OrderCursor.decode("not base64!"));
+        assertThrows(InvalidOrderQueryException.class, () -> OrderCursor.decode(badValue));
+        assertThrows(InvalidOrderQueryException.class, () -> OrderCursor.decode(badSort));
+    }
+}
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import vs_fundos.challenge.dto.OrderDTO;
 import vs_fundos.challenge.enums.OrderStatus;
+import vs_fundos.challenge.generator.impl.SnowflakeOrderNumberGenerator;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -18,7 +20,7 @@ public class OrderFactoryTest {
 
     @BeforeEach
     void setUp() {
-        orderFactory = new OrderFactory();
+        orderFactory = new OrderFactory(new SnowflakeOrderNumberGenerator("ORDER-", 1, Clock.systemUTC()));
     }
 
     @Test
@@ -40,9 +42,17 @@ public class OrderFactoryTest {
         OrderDTO createdOrder = orderFactory.createRandomOrder();
 
         assertThat(createdOrder.getStatus()).isEqualTo(OrderStatus.UNPROCESSED);
-        assertThat(createdOrder.getOrderNumber()).matches("ORDER-\\d{6}");
+        assertThat(createdOrder.getOrderNumber()).matches("ORDER-[0-9A-HJKMNP-TV-Z]{13}");
         assertThat(createdOrder.getTotalValue()).isBetween(new BigDecimal("1.00"), new BigDecimal("101.00"));
         assertThat(createdOrder.getTotalValue().scale()).isEqualTo(2);
         assertThat(createdOrder.getOrderDateCreated()).isAfterOrEqualTo(testStartTime);
     }
+
+    @Test
+    void createRandomOrder_shouldNotRepeatOrderNumbers() {
+        String first = orderFactory.createRandomOrder().getOrderNumber();
+        String second = orderFactory.createRandomOrder().getOrderNumber();
+
+        assertThat(second).isNotEqualTo(first).isGreaterThan(first);
+    }
 }
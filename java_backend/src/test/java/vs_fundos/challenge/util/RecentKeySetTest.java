@@ -0,0 +1,118 @@
+package vs_fundos.challenge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RecentKeySetTest {
+
+    @Test
+    void contains_shouldFindAddedKeysOnly() {
+        RecentKeySet keys = new RecentKeySet(10_000, 4, 60_000);
+        IntStream.range(0, 5_000).forEach(i -> keys.add("ORDER-" + i));
+
+        assertThat(IntStream.range(0, 5_000).allMatch(i -> keys.contains("ORDER-" + i))).isTrue();
+        assertThat(IntStream.range(5_000, 50_000).noneMatch(i -> keys.contains("ORDER-" + i))).isTrue();
+        assertThat(keys.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    void add_shouldIgnoreKeysAlreadyInTheCurrentGeneration() {
+        RecentKeySet keys = new RecentKeySet(100, 1, 60_000);
+
+        keys.add("ORDER-1");
+        keys.add("ORDER-1");
+
+        assertThat(keys.size()).isEqualTo(1);
+    }
+
+    @Test
+    void add_shouldForgetTheOldestGenerationOnceCapacityIsExceeded() {
+        RecentKeySet keys = new RecentKeySet(100, 1, 60_000);
+        IntStream.range(0, 300).forEach(i -> keys.add("ORDER-" + i));
+
+        assertThat(keys.contains("ORDER-0")).isFalse();
+        assertThat(keys.contains("ORDER-299")).isTrue();
+        assertThat(keys.size()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void add_shouldForgetKeysOlderThanTheWindow() throws InterruptedException {
+        RecentKeySet keys = new RecentKeySet(100, 1, 100);
+        keys.add("ORDER-OLD");
+
+        Thread.sleep(60);
+        keys.add("ORDER-1");
+        Thread.sleep(60);
+        keys.add("ORDER-2");
+
+        assertThat(keys.contains("ORDER-OLD")).isFalse();
+        assertThat(keys.contains("ORDER-2")).isTrue();
+    }
+
+    @Test
+    void contains_shouldForgetKeysOlderThanTheWindow_evenWithoutFurtherAdds() throws InterruptedException {
+        RecentKeySet keys = new RecentKeySet(100, 1, 100);
+        keys.add("ORDER-OLD");
+
+        Thread.sleep(150);
+
+        assertThat(keys.contains("ORDER-OLD")).isFalse();
+        assertThat(keys.size()).isZero();
+    }
+
+    @Test
+    void remove_shouldForgetTheKey_andKeepTheOthersFindable() {
+        RecentKeySet keys = new RecentKeySet(1_000, 1, 60_000);
+        IntStream.range(0, 1_000).forEach(i -> keys.add("ORDER-" + i));
+
+        IntStream.range(0, 1_000).filter(i -> i % 2 == 0).forEach(i -> keys.remove("ORDER-" + i));
+
+        assertThat(IntStream.range(0, 1_000).filter(i -> i % 2 == 0).noneMatch(i -> keys.contains("ORDER-" + i))).isTrue();
+        assertThat(IntStream.range(0, 1_000).filter(i -> i % 2 == 1).allMatch(i -> keys.contains("ORDER-" + i))).isTrue();
+        assertThat(keys.size()).isEqualTo(500);
+    }
+
+    @Test
+    void remove_shouldForgetTheKeyInThePreviousGeneration() {
+        RecentKeySet keys = new RecentKeySet(100, 1, 60_000);
+        IntStream.range(0, 150).forEach(i -> keys.add("ORDER-" + i));
+
+        keys.remove("ORDER-0");
+
+        assertThat(keys.contains("ORDER-0")).isFalse();
+        assertThat(keys.contains("ORDER-1")).isTrue();
+    }
+
+    @Test
+    void memoryBytes_shouldReflectTwoGenerationsOfFingerprintSlots() {
+        RecentKeySet keys = new RecentKeySet(1_000, 4, 60_000);
+
+        // 250 keys per stripe at 50% load -> 512 slots, times 4 stripes and 2 generations
+        assertThat(keys.memoryBytes()).isEqualTo(512L * 4 * 2 * Long.BYTES);
+    }
+
+    @Test
+    void add_shouldBeSafeUnderConcurrentWriters() {
+        RecentKeySet keys = new RecentKeySet(100_000, 8, 60_000);
+
+        CompletableFuture.allOf(IntStream.range(0, 4)
+                .mapToObj(writer -> CompletableFuture.runAsync(() ->
+                        IntStream.range(0, 10_000).forEach(i -> keys.add("ORDER-" + writer + "-" + i))))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(keys.size()).isEqualTo(40_000);
+        assertThat(List.of("ORDER-0-0", "ORDER-3-9999")).allMatch(keys::contains);
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new RecentKeySet(0, 1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RecentKeySet(10, 0, 1000));
+    }
+}